@@ -0,0 +1,59 @@
+package com.etnetera.hr.benchmark;
+
+import com.etnetera.hr.domain.HypeLevelEnum;
+import com.etnetera.hr.dto.CreateJavaScriptFrameworkDto;
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+
+import java.util.*;
+
+/**
+ * Deterministic frameworks for benchmarks, the same seed gives the same data in every run
+ *
+ * @author Marketa Halikova
+ */
+final class BenchmarkData {
+
+    private static final long SEED = 42;
+
+    private BenchmarkData() {
+    }
+
+    static Set<String> versions(Random random, int count) {
+        Set<String> versions = new HashSet<>();
+        while (versions.size() < count) {
+            versions.add(random.nextInt(20) + "." + random.nextInt(20) + "." + random.nextInt(50));
+        }
+        return versions;
+    }
+
+    static List<CreateJavaScriptFrameworkDto> createDtos(int count) {
+        Random random = new Random(SEED);
+        List<CreateJavaScriptFrameworkDto> frameworks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            frameworks.add(CreateJavaScriptFrameworkDto.builder()
+                    .name("Framework" + i)
+                    .hypeLevel(HypeLevelEnum.values()[random.nextInt(HypeLevelEnum.values().length)])
+                    .versions(versions(random, 1 + random.nextInt(5)))
+                    .deprecationDate(random.nextBoolean() ? null : new Date(1_500_000_000_000L + random.nextInt(Integer.MAX_VALUE) * 100L))
+                    .build());
+        }
+        return frameworks;
+    }
+
+    static List<JavaScriptFrameworkDto> dtos(int count) {
+        List<CreateJavaScriptFrameworkDto> created = createDtos(count);
+        List<JavaScriptFrameworkDto> frameworks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CreateJavaScriptFrameworkDto framework = created.get(i);
+            frameworks.add(JavaScriptFrameworkDto.builder()
+                    .id((long) i + 1)
+                    .name(framework.getName())
+                    .hypeLevel(framework.getHypeLevel())
+                    .versions(framework.getVersions())
+                    .deprecationDate(framework.getDeprecationDate())
+                    .revision(0L)
+                    .build());
+        }
+        return frameworks;
+    }
+}
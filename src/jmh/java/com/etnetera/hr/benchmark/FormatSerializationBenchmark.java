@@ -0,0 +1,64 @@
+package com.etnetera.hr.benchmark;
+
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Framework lists written in every format the list endpoints negotiate, with and without gzip the way
+ * server.compression applies it. Payload size of every combination is printed once per trial.
+ *
+ * @author Marketa Halikova
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class FormatSerializationBenchmark {
+
+    @Param({"500", "10000"})
+    private int size;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private ObjectWriter writer;
+    private List<JavaScriptFrameworkDto> frameworks;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                // as Spring Boot configures it
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (format.equals("smile")) {
+            builder.factory(new SmileFactory());
+        } else if (format.equals("cbor")) {
+            builder.factory(new CBORFactory());
+        }
+        writer = builder.build().writerFor(List.class);
+        frameworks = BenchmarkData.dtos(size);
+        System.out.println(format + (gzip ? "+gzip" : "") + " of " + size + " frameworks: " + serialize().length + " B");
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream output = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            writer.writeValue(output, frameworks);
+        }
+        return bytes.toByteArray();
+    }
+}
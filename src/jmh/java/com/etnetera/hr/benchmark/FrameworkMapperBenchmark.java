@@ -0,0 +1,60 @@
+package com.etnetera.hr.benchmark;
+
+import com.etnetera.hr.domain.HypeLevelEnum;
+import com.etnetera.hr.domain.JavaScriptFramework;
+import com.etnetera.hr.dto.CreateJavaScriptFrameworkDto;
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.etnetera.hr.mapper.FrameworkMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping between entity and DTOs, done for every framework of every response
+ *
+ * @author Marketa Halikova
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class FrameworkMapperBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int versionCount;
+
+    private FrameworkMapper mapper;
+    private JavaScriptFramework entity;
+    private CreateJavaScriptFrameworkDto createDto;
+
+    @Setup
+    public void setUp() {
+        mapper = Mappers.getMapper(FrameworkMapper.class);
+        Random random = new Random(42);
+        entity = JavaScriptFramework.builder()
+                .id(1L)
+                .name("jQuery")
+                .hypeLevel(HypeLevelEnum.LETDOWN)
+                .deprecationDate(new Date(1_600_000_000_000L))
+                .versions(BenchmarkData.versions(random, versionCount))
+                .build();
+        createDto = CreateJavaScriptFrameworkDto.builder()
+                .name("jQuery")
+                .hypeLevel(HypeLevelEnum.LETDOWN)
+                .deprecationDate(new Date(1_600_000_000_000L))
+                .versions(BenchmarkData.versions(random, versionCount))
+                .build();
+    }
+
+    @Benchmark
+    public JavaScriptFrameworkDto entityToDto() {
+        return mapper.entityToDto(entity);
+    }
+
+    @Benchmark
+    public JavaScriptFramework createDtoToEntity() {
+        return mapper.createDtoToEntity(createDto);
+    }
+}
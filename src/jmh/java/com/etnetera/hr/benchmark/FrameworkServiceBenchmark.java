@@ -0,0 +1,117 @@
+package com.etnetera.hr.benchmark;
+
+import com.etnetera.hr.Application;
+import com.etnetera.hr.dto.BatchItemResultDto;
+import com.etnetera.hr.dto.CreateJavaScriptFrameworkDto;
+import com.etnetera.hr.dto.FrameworkFieldEnum;
+import com.etnetera.hr.dto.FrameworkPageDto;
+import com.etnetera.hr.dto.FrameworkSearchCriteriaDto;
+import com.etnetera.hr.dto.FrameworkStatisticsDto;
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.etnetera.hr.service.FrameworkSearchService;
+import com.etnetera.hr.service.FrameworkStatisticsService;
+import com.etnetera.hr.service.JavaScriptFrameworkService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JavaScriptFrameworkService operations on the real application context with in-memory H2 seeded
+ * by the same frameworks in every run. Reads go through the second level cache and in-memory
+ * indexes exactly as requests do.
+ *
+ * @author Marketa Halikova
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class FrameworkServiceBenchmark {
+
+    private static final int SEED_CHUNK = 1000;
+
+    @Param({"1000", "10000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private JavaScriptFrameworkService frameworkService;
+    private FrameworkSearchService searchService;
+    private FrameworkStatisticsService statisticsService;
+    private long[] ids;
+    private Random random;
+    private FrameworkSearchCriteriaDto criteria;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark", "logging.level.root=WARN")
+                .run();
+        frameworkService = context.getBean(JavaScriptFrameworkService.class);
+        searchService = context.getBean(FrameworkSearchService.class);
+        statisticsService = context.getBean(FrameworkStatisticsService.class);
+
+        List<CreateJavaScriptFrameworkDto> frameworks = BenchmarkData.createDtos(catalogSize);
+        ids = new long[catalogSize];
+        for (int from = 0; from < catalogSize; from += SEED_CHUNK) {
+            List<BatchItemResultDto> results = frameworkService.saveFrameworks(frameworks.subList(from, Math.min(from + SEED_CHUNK, catalogSize)));
+            for (BatchItemResultDto result : results) {
+                ids[from + result.getIndex()] = result.getId();
+            }
+        }
+        random = new Random(42);
+        criteria = FrameworkSearchCriteriaDto.builder()
+                .name("ork12")
+                .hypeLevels(List.of("GREAT", "SENSATIONAL"))
+                .versionRange(">=3.0.0 <10")
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<JavaScriptFrameworkDto> findFrameworkById() {
+        return frameworkService.findFrameworkById(ids[random.nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public Optional<FrameworkPageDto> getFirstPageByName() {
+        return frameworkService.getFrameworksPage("name", null, 50, null);
+    }
+
+    @Benchmark
+    public Iterable<JavaScriptFrameworkDto> getFrameworksByHype() {
+        return frameworkService.getFrameworksByHype("GREAT", null);
+    }
+
+    @Benchmark
+    public Iterable<JavaScriptFrameworkDto> getFrameworksByHype_idAndName() {
+        return frameworkService.getFrameworksByHype("GREAT", EnumSet.of(FrameworkFieldEnum.ID, FrameworkFieldEnum.NAME));
+    }
+
+    @Benchmark
+    public Optional<List<JavaScriptFrameworkDto>> searchFrameworks() {
+        return searchService.searchFrameworks(criteria);
+    }
+
+    @Benchmark
+    public FrameworkStatisticsDto getStatistics() {
+        return statisticsService.getStatistics();
+    }
+
+    @Benchmark
+    public Optional<JavaScriptFrameworkDto> updateFramework() {
+        JavaScriptFrameworkDto framework = frameworkService.findFrameworkById(ids[random.nextInt(ids.length)]).get();
+        framework.setVersions(BenchmarkData.versions(random, 1 + random.nextInt(5)));
+        return frameworkService.updateFramework(framework);
+    }
+}
@@ -0,0 +1,47 @@
+package com.etnetera.hr.benchmark;
+
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of framework lists as written by the list endpoints, with the object mapper
+ * configured the way Spring MVC configures it
+ *
+ * @author Marketa Halikova
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"1", "50", "500", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter listWriter;
+    private List<JavaScriptFrameworkDto> frameworks;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, JavaScriptFrameworkDto.class));
+        frameworks = BenchmarkData.dtos(size);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(frameworks);
+    }
+
+    @Benchmark
+    public byte[] serializeListWithTypedWriter() throws JsonProcessingException {
+        return listWriter.writeValueAsBytes(frameworks);
+    }
+}
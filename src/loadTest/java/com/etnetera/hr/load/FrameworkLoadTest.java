@@ -0,0 +1,290 @@
+package com.etnetera.hr.load;
+
+import com.etnetera.hr.domain.HypeLevelEnum;
+import com.etnetera.hr.dto.CreateJavaScriptFrameworkDto;
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.etnetera.hr.load.LoadTestSettings.Operation;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * HTTP load test of the framework endpoints. Starts the application on a random port, seeds synthetic
+ * frameworks, drives the configured operation mix from concurrent clients and reports throughput and
+ * latency percentiles per endpoint to the console and to build/reports/loadtest/results.json.
+ * Not part of the regular build, run it with ./gradlew loadTest, settings are in LoadTestSettings.
+ *
+ * @author Marketa Halikova
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "logging.level.root=WARN")
+public class FrameworkLoadTest {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final double[] PERCENTILES = {50, 95, 99, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p95", "p99", "p999"};
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final LoadTestSettings settings = new LoadTestSettings();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final IdPool ids = new IdPool();
+    private final AtomicLong names = new AtomicLong();
+
+    @Test
+    @DisplayName("Driving operation mix from concurrent clients. Should stay within configured thresholds")
+    void testLoad() throws Exception {
+        System.out.println("Load test settings: " + settings);
+        seed();
+        run(settings.warmupSeconds);
+        long start = System.nanoTime();
+        Map<Operation, LatencyRecorder> results = run(settings.durationSeconds);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        report(results, seconds);
+        assertThat(violations(results, seconds)).as("Exceeded load test thresholds").isEmpty();
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        Random random = new Random(settings.seed);
+        for (int from = 0; from < settings.frameworks; from += SEED_BATCH_SIZE) {
+            List<CreateJavaScriptFrameworkDto> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(from + SEED_BATCH_SIZE, settings.frameworks); i++) {
+                batch.add(framework("Seed" + i, random));
+            }
+            HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/frameworks/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(batch))));
+            assertThat(response.statusCode()).as("Seeding frameworks").isEqualTo(200);
+            for (JsonNode item : objectMapper.readTree(response.body())) {
+                if (item.hasNonNull("id")) {
+                    ids.add(item.get("id").asLong());
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs all clients for the given time and merges their recorders
+     */
+    private Map<Operation, LatencyRecorder> run(int seconds) throws InterruptedException, ExecutionException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(settings.clients);
+        try {
+            List<Future<Map<Operation, LatencyRecorder>>> clients = new ArrayList<>();
+            for (int i = 0; i < settings.clients; i++) {
+                Random random = new Random(settings.seed + i);
+                clients.add(executor.submit(() -> drive(random, deadline)));
+            }
+            Map<Operation, LatencyRecorder> merged = new EnumMap<>(Operation.class);
+            for (Future<Map<Operation, LatencyRecorder>> recorders : clients) {
+                recorders.get().forEach((operation, recorder) -> merged.computeIfAbsent(operation, key -> new LatencyRecorder()).merge(recorder));
+            }
+            return merged;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<Operation, LatencyRecorder> drive(Random random, long deadline) {
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        int totalWeight = settings.mix.values().stream().mapToInt(Integer::intValue).sum();
+        while (System.nanoTime() < deadline) {
+            Operation operation = pick(random.nextInt(totalWeight));
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = execute(operation, random);
+            } catch (IOException e) {
+                status = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            recorders.computeIfAbsent(operation, key -> new LatencyRecorder()).record(System.nanoTime() - start, status);
+        }
+        return recorders;
+    }
+
+    private Operation pick(int point) {
+        for (Map.Entry<Operation, Integer> weight : settings.mix.entrySet()) {
+            point -= weight.getValue();
+            if (point < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("Operation mix is empty");
+    }
+
+    private int execute(Operation operation, Random random) throws IOException, InterruptedException {
+        switch (operation) {
+            case LIST:
+                return send(HttpRequest.newBuilder(uri("/frameworks?sort=name&limit=50")).GET()).statusCode();
+            case GET:
+                return send(HttpRequest.newBuilder(uri("/frameworks/" + ids.random(random))).GET()).statusCode();
+            case POST: {
+                HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/frameworks"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(framework("Load" + names.incrementAndGet(), random)))));
+                if (response.statusCode() == 200) {
+                    ids.add(objectMapper.readTree(response.body()).get("id").asLong());
+                }
+                return response.statusCode();
+            }
+            case PUT: {
+                JavaScriptFrameworkDto framework = JavaScriptFrameworkDto.builder()
+                        .id(ids.random(random))
+                        .name("Renamed" + names.incrementAndGet())
+                        .hypeLevel(HypeLevelEnum.values()[random.nextInt(HypeLevelEnum.values().length)])
+                        .versions(versions(random))
+                        .build();
+                return send(HttpRequest.newBuilder(uri("/frameworks"))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(framework)))).statusCode();
+            }
+            case DELETE: {
+                Long id = ids.removeRandom(random);
+                if (id == null) {
+                    return 404;
+                }
+                return send(HttpRequest.newBuilder(uri("/frameworks/" + id)).DELETE()).statusCode();
+            }
+            default:
+                throw new IllegalArgumentException("Unknown operation " + operation);
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static CreateJavaScriptFrameworkDto framework(String name, Random random) {
+        return CreateJavaScriptFrameworkDto.builder()
+                .name(name)
+                .hypeLevel(HypeLevelEnum.values()[random.nextInt(HypeLevelEnum.values().length)])
+                .versions(versions(random))
+                .deprecationDate(random.nextBoolean() ? null : new Date(1_500_000_000_000L + random.nextInt(Integer.MAX_VALUE) * 100L))
+                .build();
+    }
+
+    private static Set<String> versions(Random random) {
+        Set<String> versions = new HashSet<>();
+        for (int i = random.nextInt(5); i >= 0; i--) {
+            versions.add(random.nextInt(20) + "." + random.nextInt(20) + "." + random.nextInt(50));
+        }
+        return versions;
+    }
+
+    private void report(Map<Operation, LatencyRecorder> results, double seconds) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("settings", settings.toString());
+        json.put("durationSeconds", seconds);
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        long total = 0;
+        System.out.println(String.format("%-26s %9s %10s %8s %8s %9s %9s %9s %9s",
+                "endpoint", "requests", "req/s", "errors", "4xx", "p50 ms", "p95 ms", "p99 ms", "p999 ms"));
+        for (Map.Entry<Operation, LatencyRecorder> result : results.entrySet()) {
+            LatencyRecorder recorder = result.getValue();
+            total += recorder.getCount();
+            System.out.println(String.format("%-26s %9d %10.1f %8d %8d %9.2f %9.2f %9.2f %9.2f",
+                    result.getKey().endpoint, recorder.getCount(), recorder.getCount() / seconds, recorder.getErrors(), recorder.getRejected(),
+                    recorder.percentileMs(PERCENTILES[0]), recorder.percentileMs(PERCENTILES[1]),
+                    recorder.percentileMs(PERCENTILES[2]), recorder.percentileMs(PERCENTILES[3])));
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("endpoint", result.getKey().endpoint);
+            endpoint.put("requests", recorder.getCount());
+            endpoint.put("throughput", recorder.getCount() / seconds);
+            endpoint.put("errors", recorder.getErrors());
+            endpoint.put("rejected", recorder.getRejected());
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                endpoint.put(PERCENTILE_NAMES[i], recorder.percentileMs(PERCENTILES[i]));
+            }
+            endpoints.add(endpoint);
+        }
+        System.out.println(String.format("total throughput %.1f req/s", total / seconds));
+        json.put("throughput", total / seconds);
+        json.put("endpoints", endpoints);
+        File file = new File("build/reports/loadtest/results.json");
+        file.getParentFile().mkdirs();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, json);
+    }
+
+    private List<String> violations(Map<Operation, LatencyRecorder> results, double seconds) {
+        List<String> violations = new ArrayList<>();
+        long total = 0;
+        for (Map.Entry<Operation, LatencyRecorder> result : results.entrySet()) {
+            String endpoint = result.getKey().endpoint;
+            LatencyRecorder recorder = result.getValue();
+            total += recorder.getCount();
+            if (settings.maxP99Ms != null && recorder.percentileMs(99) > settings.maxP99Ms) {
+                violations.add(endpoint + " p99 " + recorder.percentileMs(99) + " ms > " + settings.maxP99Ms + " ms");
+            }
+            if (settings.maxP999Ms != null && recorder.percentileMs(99.9) > settings.maxP999Ms) {
+                violations.add(endpoint + " p999 " + recorder.percentileMs(99.9) + " ms > " + settings.maxP999Ms + " ms");
+            }
+            if (settings.maxErrorRate != null && recorder.getErrorRate() > settings.maxErrorRate) {
+                violations.add(endpoint + " error rate " + recorder.getErrorRate() + " > " + settings.maxErrorRate);
+            }
+        }
+        if (settings.minThroughput != null && total / seconds < settings.minThroughput) {
+            violations.add("throughput " + total / seconds + " req/s < " + settings.minThroughput + " req/s");
+        }
+        return violations;
+    }
+
+    /**
+     * Ids of existing frameworks shared by all clients
+     */
+    private static class IdPool {
+        private final List<Long> ids = new ArrayList<>();
+
+        synchronized void add(long id) {
+            ids.add(id);
+        }
+
+        synchronized long random(Random random) {
+            return ids.isEmpty() ? 0 : ids.get(random.nextInt(ids.size()));
+        }
+
+        synchronized Long removeRandom(Random random) {
+            if (ids.isEmpty()) {
+                return null;
+            }
+            // swap with the last one, removal from the middle of a large list would dominate the client
+            int index = random.nextInt(ids.size());
+            Long id = ids.get(index);
+            ids.set(index, ids.get(ids.size() - 1));
+            ids.remove(ids.size() - 1);
+            return id;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.etnetera.hr.load;
+
+import java.util.Arrays;
+
+/**
+ * Latencies and outcomes of one operation. Every client records into its own recorder,
+ * recorders are merged after the run, so recording never contends.
+ *
+ * @author Marketa Halikova
+ */
+class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+    private long rejected;
+
+    /**
+     * @param nanos  request latency
+     * @param status HTTP status, 0 when request failed without response
+     */
+    void record(long nanos, int status) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+        if (status == 0 || status >= 500) {
+            errors++;
+        } else if (status >= 400) {
+            // e.g. delete of framework another client deleted first, expected under concurrency
+            rejected++;
+        }
+    }
+
+    void merge(LatencyRecorder other) {
+        if (count + other.count > latencies.length) {
+            latencies = Arrays.copyOf(latencies, count + other.count);
+        }
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+        errors += other.errors;
+        rejected += other.rejected;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getErrors() {
+        return errors;
+    }
+
+    long getRejected() {
+        return rejected;
+    }
+
+    double getErrorRate() {
+        return count == 0 ? 0 : (double) errors / count;
+    }
+
+    /**
+     * Nearest rank percentile in milliseconds
+     *
+     * @param percentile e.g. 99.9
+     */
+    double percentileMs(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,79 @@
+package com.etnetera.hr.load;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings of the load test read from "loadtest.*" system properties, e.g.
+ * ./gradlew loadTest -Dloadtest.clients=64 -Dloadtest.mix=get:80,put:20 -Dloadtest.max-p99-ms=50
+ *
+ * @author Marketa Halikova
+ */
+class LoadTestSettings {
+
+    /**
+     * Number of synthetic frameworks created before the measurement
+     */
+    final int frameworks = Integer.getInteger("loadtest.frameworks", 1000);
+    /**
+     * Number of concurrent clients, every client sends one request after another
+     */
+    final int clients = Integer.getInteger("loadtest.clients", 16);
+    /**
+     * Seconds of load before the measurement, not recorded
+     */
+    final int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 5);
+    /**
+     * Seconds of measured load
+     */
+    final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 20);
+    /**
+     * Seed of synthetic data and of the operation mix, the same seed sends the same requests
+     */
+    final long seed = Long.getLong("loadtest.seed", 42);
+    /**
+     * Relative weights of operations
+     */
+    final Map<Operation, Integer> mix = parseMix(System.getProperty("loadtest.mix", "list:10,get:60,post:10,put:15,delete:5"));
+    /**
+     * Optional thresholds, the run fails when any operation exceeds them
+     */
+    final Double maxP99Ms = doubleProperty("loadtest.max-p99-ms");
+    final Double maxP999Ms = doubleProperty("loadtest.max-p999-ms");
+    final Double maxErrorRate = doubleProperty("loadtest.max-error-rate");
+    final Double minThroughput = doubleProperty("loadtest.min-throughput");
+
+    private static Double doubleProperty(String name) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? null : Double.valueOf(value);
+    }
+
+    private static Map<Operation, Integer> parseMix(String text) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String part : text.split(",")) {
+            String[] weight = part.trim().split(":");
+            mix.put(Operation.valueOf(weight[0].trim().toUpperCase()), Integer.valueOf(weight[1].trim()));
+        }
+        return mix;
+    }
+
+    enum Operation {
+        LIST("GET /frameworks"),
+        GET("GET /frameworks/{id}"),
+        POST("POST /frameworks"),
+        PUT("PUT /frameworks"),
+        DELETE("DELETE /frameworks/{id}");
+
+        final String endpoint;
+
+        Operation(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "frameworks=" + frameworks + ", clients=" + clients + ", warmup=" + warmupSeconds + "s, duration=" + durationSeconds
+                + "s, seed=" + seed + ", mix=" + mix;
+    }
+}
@@ -1,5 +1,6 @@
 package com.etnetera.hr;
 
+import com.etnetera.hr.metrics.StartupTimelineListener;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
@@ -13,7 +14,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class Application {
 
 	public static void main(String[] args) {
-		SpringApplication.run(Application.class);
+		SpringApplication application = new SpringApplication(Application.class);
+		application.addListeners(new StartupTimelineListener());
+		application.run(args);
 	}
 
 }
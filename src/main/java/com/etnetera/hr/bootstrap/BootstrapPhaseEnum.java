@@ -0,0 +1,25 @@
+package com.etnetera.hr.bootstrap;
+
+/**
+ * Phases of catalog bootstrap in the order they run
+ *
+ * @author Marketa Halikova
+ */
+public enum BootstrapPhaseEnum {
+    /**
+     * Application context is not ready yet
+     */
+    WAITING,
+    RESTORING,
+    /**
+     * Skipped when the snapshot was restored, as is GENERATING
+     */
+    IMPORTING,
+    GENERATING,
+    /**
+     * In-memory views are built from the catalog
+     */
+    WARMING_UP,
+    READY,
+    FAILED;
+}
@@ -0,0 +1,45 @@
+package com.etnetera.hr.bootstrap;
+
+import com.etnetera.hr.service.FrameworkImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Readiness of the catalog for /actuator/health. Until DataBuilder finishes, the health is OUT_OF_SERVICE
+ * (HTTP 503) with the current phase and progress of running import, a failed bootstrap is DOWN.
+ *
+ * @author Marketa Halikova
+ */
+@RequiredArgsConstructor
+@Component
+public class CatalogBootstrapHealthIndicator implements HealthIndicator {
+
+    private final DataBuilder dataBuilder;
+    private final FrameworkImportService frameworkImportService;
+
+    @Override
+    public Health health() {
+        BootstrapPhaseEnum phase = dataBuilder.getPhase();
+        Health.Builder health;
+        switch (phase) {
+            case READY:
+                health = Health.up();
+                break;
+            case FAILED:
+                health = Health.down().withDetail("failure", String.valueOf(dataBuilder.getFailure()));
+                break;
+            default:
+                health = Health.outOfService();
+        }
+        health.withDetail("phase", phase).withDetail("durationsMs", dataBuilder.getDurations());
+        if (phase == BootstrapPhaseEnum.IMPORTING || phase == BootstrapPhaseEnum.GENERATING) {
+            frameworkImportService.getLastImport().ifPresent(result -> health
+                    .withDetail("linesRead", result.getLastLine())
+                    .withDetail("created", result.getCreated())
+                    .withDetail("failed", result.getFailed()));
+        }
+        return health.build();
+    }
+}
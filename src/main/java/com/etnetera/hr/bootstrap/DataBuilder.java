@@ -1,58 +1,143 @@
 package com.etnetera.hr.bootstrap;
 
-import com.etnetera.hr.domain.HypeLevelEnum;
-import com.etnetera.hr.domain.JavaScriptFramework;
-import com.etnetera.hr.repository.JavaScriptFrameworkRepository;
+import com.etnetera.hr.config.FrameworkProperties;
+import com.etnetera.hr.domain.FrameworkImportFormatEnum;
+import com.etnetera.hr.event.CatalogBootstrappedEvent;
+import com.etnetera.hr.service.FrameworkImportService;
+import com.etnetera.hr.service.FrameworkSnapshotService;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ApplicationListener;
-import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Component;
 
-import java.util.Calendar;
-import java.util.Set;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Restores the catalog from frameworks.snapshot.file once the application is ready. Without a snapshot
+ * it imports frameworks from frameworks.bulk-import.file and then frameworks.generator.count synthetic
+ * frameworks, nothing is imported when the properties are empty. Then it publishes CatalogBootstrappedEvent
+ * and in-memory views build themselves.
+ * <p>
+ * With frameworks.bootstrap.async all of it runs in its own thread, so HTTP port and health checks are up
+ * at once and CatalogBootstrapHealthIndicator keeps the application out of service until the phase is READY.
+ * It runs only once even when the ready event comes again, e.g. from a child context.
+ */
+@Slf4j
 @RequiredArgsConstructor
 @Component
-public class DataBuilder implements ApplicationListener<ContextRefreshedEvent> {
+public class DataBuilder implements ApplicationListener<ApplicationReadyEvent> {
 
-    private final JavaScriptFrameworkRepository javaScriptFrameworkRepository;
+    private final FrameworkImportService frameworkImportService;
+    private final FrameworkSnapshotService frameworkSnapshotService;
+    private final FrameworkProperties properties;
+    private final ResourceLoader resourceLoader;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicBoolean started = new AtomicBoolean();
+    @Getter
+    private volatile BootstrapPhaseEnum phase = BootstrapPhaseEnum.WAITING;
+    /**
+     * Reason why the bootstrap failed, null unless phase is FAILED
+     */
+    @Getter
+    private volatile String failure;
+    private final Map<BootstrapPhaseEnum, Long> durations = new EnumMap<>(BootstrapPhaseEnum.class);
+    private long phaseStart;
 
     @Override
-    public void onApplicationEvent(ContextRefreshedEvent event) {
-        createFrameworks();
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        if (properties.getBootstrap().isAsync()) {
+            Thread thread = new Thread(this::bootstrap, "catalog-bootstrap");
+            thread.start();
+        } else {
+            bootstrap();
+        }
+    }
+
+    /**
+     * Milliseconds every finished phase took, in the order they ran
+     */
+    public synchronized Map<BootstrapPhaseEnum, Long> getDurations() {
+        return new EnumMap<>(durations);
+    }
+
+    private void bootstrap() {
+        long start = System.nanoTime();
+        try {
+            if (!restoreFrameworks()) {
+                createFrameworks();
+                generateFrameworks();
+            }
+            long bootstrapped = System.nanoTime();
+            enter(BootstrapPhaseEnum.WARMING_UP);
+            eventPublisher.publishEvent(new CatalogBootstrappedEvent((bootstrapped - start) / 1_000_000));
+            enter(BootstrapPhaseEnum.READY);
+            log.info("Catalog ready in {} ms: {}", (System.nanoTime() - start) / 1_000_000, getDurations());
+        } catch (RuntimeException e) {
+            BootstrapPhaseEnum failed = phase;
+            failure = e.getMessage();
+            enter(BootstrapPhaseEnum.FAILED);
+            log.error("Catalog bootstrap failed in phase {}", failed, e);
+            if (!properties.getBootstrap().isAsync()) {
+                throw e;
+            }
+        }
+    }
+
+    private boolean restoreFrameworks() {
+        FrameworkProperties.Snapshot snapshot = properties.getSnapshot();
+        if (!snapshot.isRestoreOnStartup() || snapshot.getFile() == null || snapshot.getFile().isBlank()) {
+            return false;
+        }
+        enter(BootstrapPhaseEnum.RESTORING);
+        return frameworkSnapshotService.restoreSnapshot().isPresent();
     }
 
     private void createFrameworks() {
-        JavaScriptFramework framework1 = JavaScriptFramework.builder()
-                .name("jQuery")
-                .deprecationDate(new Calendar.Builder()
-                        .setDate(2020, 2, 21)
-                        .build().getTime())
-                .hypeLevel(HypeLevelEnum.LETDOWN)
-                .versions(Set.of("3.6.0", "3.5.0"))
-                .build();
-        JavaScriptFramework framework2 = JavaScriptFramework.builder()
-                .name("React")
-                .deprecationDate(new Calendar.Builder()
-                        .setDate(2021, 2, 21)
-                        .build().getTime())
-                .hypeLevel(HypeLevelEnum.SENSATIONAL)
-                .versions(Set.of("3.6.0", "3.5.0"))
-                .build();
-        JavaScriptFramework framework3 = JavaScriptFramework.builder()
-                .name("Backbone")
-                .hypeLevel(HypeLevelEnum.SOLID)
-                .versions(Set.of("1.4.1"))
-                .build();
-        JavaScriptFramework framework4 = JavaScriptFramework.builder()
-                .name("VueJs")
-                .hypeLevel(HypeLevelEnum.SENSATIONAL)
-                .versions(Set.of("3.2.0", "3.2.1"))
-                .build();
-        javaScriptFrameworkRepository.save(framework1);
-        javaScriptFrameworkRepository.save(framework2);
-        javaScriptFrameworkRepository.save(framework3);
-        javaScriptFrameworkRepository.save(framework4);
+        FrameworkProperties.BulkImport bulkImport = properties.getBulkImport();
+        if (bulkImport.getFile() == null || bulkImport.getFile().isBlank()) {
+            return;
+        }
+        enter(BootstrapPhaseEnum.IMPORTING);
+        try (InputStream input = resourceLoader.getResource(bulkImport.getFile()).getInputStream()) {
+            frameworkImportService.importFrameworks(input, FrameworkImportFormatEnum.fromFileName(bulkImport.getFile()), bulkImport.getFromLine())
+                    .ifPresent(result -> log.info("Frameworks imported from {}: {}", bulkImport.getFile(), result.getStatus()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Frameworks could not be read from " + bulkImport.getFile(), e);
+        }
+    }
+
+    private void generateFrameworks() {
+        FrameworkProperties.Generator generator = properties.getGenerator();
+        if (generator.getCount() > 0) {
+            enter(BootstrapPhaseEnum.GENERATING);
+            frameworkImportService.importFrameworks(new SyntheticFrameworkGenerator(generator.getSeed(), generator.getCount()))
+                    .ifPresent(result -> log.info("Synthetic frameworks generated with seed {}: {}, {} created",
+                            generator.getSeed(), result.getStatus(), result.getCreated()));
+        }
     }
-}
 
+    /**
+     * Finish the current phase and start the next one
+     */
+    private synchronized void enter(BootstrapPhaseEnum next) {
+        long now = System.nanoTime();
+        if (phase != BootstrapPhaseEnum.WAITING) {
+            durations.put(phase, (now - phaseStart) / 1_000_000);
+        }
+        phase = next;
+        phaseStart = now;
+    }
+}
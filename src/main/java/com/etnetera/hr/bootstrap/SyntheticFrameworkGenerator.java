@@ -0,0 +1,118 @@
+package com.etnetera.hr.bootstrap;
+
+import com.etnetera.hr.domain.HypeLevelEnum;
+import com.etnetera.hr.dto.CreateJavaScriptFrameworkDto;
+
+import java.util.*;
+
+/**
+ * Generates any number of frameworks one at a time for scale testing. The same seed and count
+ * always give the same frameworks. Distributions follow what real catalogs look like:
+ * <ul>
+ * <li>name lengths are log-normal around 7 characters, every name ends with a unique base 36 suffix</li>
+ * <li>version counts are log-normal around 4 with a long tail, versions grow mostly by patch, rarely by major</li>
+ * <li>hype levels are skewed towards SOLID and LETDOWN, few frameworks are SENSATIONAL</li>
+ * <li>a quarter of frameworks has deprecation date between 2012 and 2030, part of them in the future</li>
+ * </ul>
+ *
+ * @author Marketa Halikova
+ */
+public class SyntheticFrameworkGenerator implements Iterator<CreateJavaScriptFrameworkDto> {
+
+    private static final int MAX_NAME_LENGTH = 30;
+    private static final int MAX_VERSIONS = 200;
+    private static final String[] SYLLABLES = {"re", "act", "vue", "ng", "ex", "press", "nu", "xt", "sv", "el", "te",
+            "back", "bone", "em", "ber", "meteor", "lit", "pre", "sol", "id", "qu", "ery", "aur", "elia", "mith", "ril",
+            "al", "pine", "stim", "ulus", "hy", "per", "app", "zen", "ko", "mo", "do", "ix", "ly"};
+    private static final HypeLevelEnum[] HYPE_LEVELS = {HypeLevelEnum.SOLID, HypeLevelEnum.LETDOWN, HypeLevelEnum.GREAT, HypeLevelEnum.SENSATIONAL};
+    /**
+     * Cumulative probabilities of HYPE_LEVELS
+     */
+    private static final double[] HYPE_LEVEL_CDF = {0.40, 0.75, 0.93, 1.0};
+    private static final double DEPRECATED_SHARE = 0.25;
+    private static final long DEPRECATION_FROM = 1_325_376_000_000L; // 2012-01-01
+    private static final long DEPRECATION_TO = 1_893_456_000_000L; // 2030-01-01
+    private static final long DAY = 86_400_000L;
+
+    private final SplittableRandom random;
+    private final long count;
+    private long generated;
+
+    public SyntheticFrameworkGenerator(long seed, long count) {
+        this.random = new SplittableRandom(seed);
+        this.count = count;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return generated < count;
+    }
+
+    @Override
+    public CreateJavaScriptFrameworkDto next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return CreateJavaScriptFrameworkDto.builder()
+                .name(name(generated++))
+                .versions(versions())
+                .deprecationDate(random.nextDouble() < DEPRECATED_SHARE
+                        ? new Date(DEPRECATION_FROM + random.nextLong((DEPRECATION_TO - DEPRECATION_FROM) / DAY) * DAY)
+                        : null)
+                .hypeLevel(hypeLevel())
+                .build();
+    }
+
+    private String name(long index) {
+        String suffix = "-" + Long.toString(index, Character.MAX_RADIX);
+        int length = (int) Math.min(MAX_NAME_LENGTH - suffix.length(), Math.max(2, Math.round(logNormal(Math.log(7), 0.45))));
+        StringBuilder name = new StringBuilder(MAX_NAME_LENGTH);
+        while (name.length() < length) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        name.setLength(length);
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.append(suffix).toString();
+    }
+
+    private Set<String> versions() {
+        int versionCount = (int) Math.min(MAX_VERSIONS, Math.max(1, Math.round(logNormal(Math.log(4), 0.8))));
+        Set<String> versions = new HashSet<>(versionCount * 2);
+        int major = random.nextInt(5);
+        int minor = random.nextInt(10);
+        int patch = 0;
+        for (int i = 0; i < versionCount; i++) {
+            String version = major + "." + minor + "." + patch;
+            versions.add(random.nextDouble() < 0.05 ? version + "-rc." + (1 + random.nextInt(3)) : version);
+            double step = random.nextDouble();
+            if (step < 0.05) {
+                major++;
+                minor = 0;
+                patch = 0;
+            } else if (step < 0.30) {
+                minor++;
+                patch = 0;
+            } else {
+                patch++;
+            }
+        }
+        return versions;
+    }
+
+    private HypeLevelEnum hypeLevel() {
+        double p = random.nextDouble();
+        int i = 0;
+        while (p >= HYPE_LEVEL_CDF[i]) {
+            i++;
+        }
+        return HYPE_LEVELS[i];
+    }
+
+    /**
+     * Log-normal sample with the given median (as logarithm) and sigma, normal sample is made by Box-Muller transform
+     */
+    private double logNormal(double mu, double sigma) {
+        double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        return Math.exp(mu + sigma * gaussian);
+    }
+}
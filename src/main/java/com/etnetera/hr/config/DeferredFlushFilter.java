@@ -0,0 +1,94 @@
+package com.etnetera.hr.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+
+/**
+ * Ignores flushes of the response body before it is complete. Message converters flush after writing
+ * the body, which commits the response before Tomcat knows its length, and Tomcat then compresses it
+ * whatever its size. Without the flush a body that fits the response buffer gets Content-Length when
+ * the response is closed and server.compression.min-response-size applies. Larger bodies are sent
+ * whenever the buffer fills up, as before. Streamed responses, see StreamingRequests, get every flush.
+ *
+ * @author Marketa Halikova
+ */
+public class DeferredFlushFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        filterChain.doFilter(request, new DeferredFlushResponse(request, response));
+    }
+
+    private static class DeferredFlushResponse extends HttpServletResponseWrapper {
+        private final HttpServletRequest request;
+        private ServletOutputStream outputStream;
+
+        DeferredFlushResponse(HttpServletRequest request, HttpServletResponse response) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new DeferredFlushOutputStream(request, super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (StreamingRequests.isStreaming(request)) {
+                super.flushBuffer();
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class DeferredFlushOutputStream extends ServletOutputStream {
+        private final HttpServletRequest request;
+        private final ServletOutputStream target;
+
+        @Override
+        public void write(int b) throws IOException {
+            target.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (StreamingRequests.isStreaming(request)) {
+                target.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            target.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return target.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            target.setWriteListener(writeListener);
+        }
+    }
+}
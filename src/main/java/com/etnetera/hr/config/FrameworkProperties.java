@@ -0,0 +1,206 @@
+package com.etnetera.hr.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Application settings bound from "frameworks.*" properties
+ *
+ * @author Marketa Halikova
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "frameworks")
+public class FrameworkProperties {
+
+    private Pagination pagination = new Pagination();
+    private Batch batch = new Batch();
+    private Write write = new Write();
+    private Statistics statistics = new Statistics();
+    private ServerTiming serverTiming = new ServerTiming();
+    private BulkImport bulkImport = new BulkImport();
+    private Generator generator = new Generator();
+    private Snapshot snapshot = new Snapshot();
+    private Bootstrap bootstrap = new Bootstrap();
+    private ChangeFeed changeFeed = new ChangeFeed();
+    private Delta delta = new Delta();
+    private ConditionalRequests conditionalRequests = new ConditionalRequests();
+
+    @Getter
+    @Setter
+    public static class Pagination {
+        /**
+         * Page size used when client does not ask for one
+         */
+        private int defaultPageSize = 50;
+        /**
+         * Upper bound of page size, larger requests are capped
+         */
+        private int maxPageSize = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+        /**
+         * Maximum number of frameworks accepted by one batch request
+         */
+        private int maxSize = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Write {
+        /**
+         * Attempts of one create or update when it conflicts with a concurrent write,
+         * an update with revision is never retried
+         */
+        private int maxAttempts = 3;
+    }
+
+    @Getter
+    @Setter
+    public static class Statistics {
+        /**
+         * Milliseconds between reconciliations of statistics counters with the database
+         */
+        private long reconcileIntervalMs = 600_000;
+    }
+
+    @Getter
+    @Setter
+    public static class ServerTiming {
+        /**
+         * Requests to /frameworks taking at least this many milliseconds are kept for /admin/slow-requests
+         */
+        private long slowRequestThresholdMs = 500;
+        /**
+         * Number of recent slow requests kept, older ones are forgotten
+         */
+        private int slowRequestCapacity = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class BulkImport {
+        /**
+         * Number of lines inserted in one transaction
+         */
+        private int chunkSize = 500;
+        /**
+         * Upper bound of failed lines listed in import result, the rest is only counted
+         */
+        private int maxErrors = 1000;
+        /**
+         * NDJSON or CSV file imported on startup, e.g. classpath:data/frameworks.ndjson or file:/data/frameworks.csv,
+         * empty for no import
+         */
+        private String file;
+        /**
+         * First line of the file imported on startup, checkpoint + 1 resumes a failed import
+         */
+        private long fromLine = 1;
+    }
+
+    @Getter
+    @Setter
+    public static class Generator {
+        /**
+         * Number of synthetic frameworks inserted on startup, 0 for none, see profile synthetic
+         */
+        private long count;
+        /**
+         * Seed of the generator, the same seed and count give the same catalog
+         */
+        private long seed = 42;
+    }
+
+    @Getter
+    @Setter
+    public static class Snapshot {
+        /**
+         * Binary snapshot of the catalog, e.g. build/frameworks.snapshot, empty for no snapshots
+         */
+        private String file;
+        /**
+         * Load the snapshot into empty catalog on startup instead of bulk import and generator
+         */
+        private boolean restoreOnStartup = true;
+        /**
+         * Milliseconds between snapshots, a snapshot is written only when the catalog changed since the last one
+         */
+        private long writeIntervalMs = 600_000;
+        /**
+         * Write the snapshot on shutdown when the catalog changed since the last one
+         */
+        private boolean writeOnShutdown = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Bootstrap {
+        /**
+         * Restore or import the catalog in its own thread after the application is ready,
+         * health is OUT_OF_SERVICE until it finishes
+         */
+        private boolean async = true;
+    }
+
+    @Getter
+    @Setter
+    public static class ChangeFeed {
+        /**
+         * Number of recent changes kept for subscribers, a subscriber further behind has to resync
+         */
+        private int bufferSize = 1024;
+        /**
+         * Upper bound of connected subscribers, more are rejected
+         */
+        private int maxSubscribers = 100;
+        /**
+         * Threads sending changes, a subscriber blocked on a slow connection holds one of them for at most send-timeout-ms
+         */
+        private int sendThreads = 4;
+        /**
+         * Milliseconds one change or heartbeat may take to send, a subscriber not taking it in time is dropped
+         */
+        private long sendTimeoutMs = 5_000;
+        /**
+         * Milliseconds between heartbeats sent to idle subscribers
+         */
+        private long heartbeatIntervalMs = 15_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Delta {
+        /**
+         * Number of changes in one delta when client does not ask for a limit
+         */
+        private int defaultLimit = 500;
+        /**
+         * Upper bound of changes in one delta, larger limits are capped
+         */
+        private int maxLimit = 5000;
+        /**
+         * Milliseconds tombstones of deleted frameworks are kept, a client syncing less often has to reset
+         */
+        private long tombstoneRetentionMs = 604_800_000;
+        /**
+         * Milliseconds between removals of expired tombstones
+         */
+        private long compactionIntervalMs = 3_600_000;
+    }
+
+    @Getter
+    @Setter
+    public static class ConditionalRequests {
+        /**
+         * Frameworks whose last revision is remembered, conditional GET of the rest reads the database
+         */
+        private int knownRevisions = 100_000;
+    }
+}
@@ -0,0 +1,90 @@
+package com.etnetera.hr.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Formats of /frameworks responses. CBOR and Smile converters are for clients sending Accept application/cbor
+ * or application/x-jackson-smile.
+ * They replace the converters Spring MVC adds on its own, which do not get spring.jackson settings, so
+ * dates and the rest come out the same as in JSON. JSON stays first and is used for any other Accept.
+ * Any of them is gzipped by server.compression when it is larger than min-response-size, see DeferredFlushFilter.
+ * Responses vary by Accept, see VaryAcceptFilter, and so do their entity tags, see selectFormat.
+ *
+ * @author Marketa Halikova
+ */
+@Configuration
+public class ResponseFormatConfig {
+
+    public static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    public static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    /**
+     * Formats in the order of their converters, the first one wins when Accept takes more of them equally
+     */
+    private static final List<MediaType> FORMATS = List.of(MediaType.APPLICATION_JSON, SMILE, CBOR);
+
+    /**
+     * Format the content negotiation selects for an object body, so handlers can give each format
+     * its own entity tag before the body is written
+     *
+     * @param accept Accept header, null for any format
+     * @return one of JSON, Smile and CBOR, JSON when Accept takes none of them
+     */
+    public static MediaType selectFormat(String accept) {
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (MediaType type : accepted) {
+            for (MediaType format : FORMATS) {
+                if (type.getQualityValue() > 0 && type.includes(format)) {
+                    return format;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    @Bean
+    public FilterRegistrationBean<VaryAcceptFilter> varyAcceptFilter() {
+        FilterRegistrationBean<VaryAcceptFilter> registration = new FilterRegistrationBean<>(new VaryAcceptFilter());
+        registration.addUrlPatterns("/frameworks/*");
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<DeferredFlushFilter> deferredFlushFilter() {
+        FilterRegistrationBean<DeferredFlushFilter> registration = new FilterRegistrationBean<>(new DeferredFlushFilter());
+        registration.addUrlPatterns("/frameworks/*");
+        return registration;
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        MappingJackson2CborHttpMessageConverter converter = new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+        // Jackson converters add charset of JSON to every content type, binary formats have none
+        converter.setDefaultCharset(null);
+        return converter;
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        MappingJackson2SmileHttpMessageConverter converter = new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+        converter.setDefaultCharset(null);
+        return converter;
+    }
+}
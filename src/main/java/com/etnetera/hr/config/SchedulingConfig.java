@@ -0,0 +1,14 @@
+package com.etnetera.hr.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables periodic jobs declared by @Scheduled
+ *
+ * @author Marketa Halikova
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,32 @@
+package com.etnetera.hr.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Points Hibernate JCache region factory to ehcache.xml on classpath.
+ * Hibernate 5.3 does not understand "classpath:" URIs, so the resource is resolved here.
+ *
+ * @author Marketa Halikova
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final String CACHE_CONFIG = "ehcache.xml";
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        return properties -> {
+            try {
+                properties.put("hibernate.javax.cache.uri", new ClassPathResource(CACHE_CONFIG).getURI().toString());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Second level cache configuration " + CACHE_CONFIG + " not found", e);
+            }
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package com.etnetera.hr.config;
+
+import com.etnetera.hr.metrics.ServerTimingFilter;
+import com.etnetera.hr.metrics.ServerTimingSessionListener;
+import com.etnetera.hr.metrics.TimingJackson2HttpMessageConverter;
+import com.etnetera.hr.service.SlowRequestService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Per request timing of /frameworks: filter collecting it, Hibernate listener counting statements
+ * and Jackson converter replacing the default one to measure serialization.
+ *
+ * @author Marketa Halikova
+ */
+@Configuration
+public class ServerTimingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(SlowRequestService slowRequestService, FrameworkProperties properties) {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(
+                new ServerTimingFilter(slowRequestService, properties.getServerTiming().getSlowRequestThresholdMs()));
+        registration.addUrlPatterns("/frameworks/*");
+        return registration;
+    }
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimingJackson2HttpMessageConverter(objectMapper);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer serverTimingCustomizer() {
+        return properties -> properties.put("hibernate.session.events.auto", ServerTimingSessionListener.class.getName());
+    }
+}
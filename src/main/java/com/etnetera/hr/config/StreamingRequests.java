@@ -0,0 +1,27 @@
+package com.etnetera.hr.config;
+
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.ServletRequest;
+
+/**
+ * Tells filters that the response of a request is streamed. Spring MVC marks the request when a handler
+ * returns StreamingResponseBody, SseEmitter or another ResponseBodyEmitter, before anything of the body
+ * is written, so filters need no list of streaming endpoints and know it before the first write.
+ *
+ * @author Marketa Halikova
+ */
+public final class StreamingRequests {
+
+    /**
+     * Request attribute set by ShallowEtagHeaderFilter.disableContentCaching
+     */
+    private static final String STREAMING_ATTRIBUTE = ShallowEtagHeaderFilter.class.getName() + ".STREAMING";
+
+    private StreamingRequests() {
+    }
+
+    public static boolean isStreaming(ServletRequest request) {
+        return request.getAttribute(STREAMING_ATTRIBUTE) != null;
+    }
+}
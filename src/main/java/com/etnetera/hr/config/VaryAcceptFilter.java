@@ -0,0 +1,27 @@
+package com.etnetera.hr.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Adds Vary: Accept to every response, 304 included, because the same URL is JSON, CBOR or Smile by Accept
+ * and caches must not hand one of them to a client asking for another. It is set before the handler runs,
+ * handlers adding their own Vary, e.g. Accept-Encoding, keep it.
+ *
+ * @author Marketa Halikova
+ */
+public class VaryAcceptFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,33 @@
+package com.etnetera.hr.controller;
+
+import com.etnetera.hr.dto.CacheStatisticsDto;
+import com.etnetera.hr.service.CacheStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for second level cache administration.
+ *
+ * @author Marketa Halikova
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/admin/cache")
+public class CacheStatisticsController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    @GetMapping
+    @ResponseBody
+    public CacheStatisticsDto getStatistics() {
+        return cacheStatisticsService.getStatistics();
+    }
+
+    @DeleteMapping
+    @ResponseBody
+    public ResponseEntity<Void> evictAll() {
+        cacheStatisticsService.evictAll();
+        return ResponseEntity.ok().build();
+    }
+}
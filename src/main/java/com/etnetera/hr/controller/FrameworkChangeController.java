@@ -0,0 +1,66 @@
+package com.etnetera.hr.controller;
+
+import com.etnetera.hr.dto.FrameworkChangeDto;
+import com.etnetera.hr.service.FrameworkChangeFeedService;
+import com.etnetera.hr.service.FrameworkChangeSubscriber;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * REST controller for the feed of committed framework changes.
+ *
+ * @author Marketa Halikova
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/frameworks/changes")
+public class FrameworkChangeController {
+
+    private final FrameworkChangeFeedService frameworkChangeFeedService;
+
+    /**
+     * Server-Sent Events of committed changes: event name is created, updated or deleted, id is the event id
+     * and data is FrameworkChangeDto. Reconnecting client sends the last id in Last-Event-ID header
+     * and gets the changes it missed. When they are not available anymore or the id is of a previous run,
+     * it gets event resync with the last event id, the stream ends and the client should read the catalog again.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = new SseEmitter();
+        FrameworkChangeSubscriber subscriber = new FrameworkChangeSubscriber() {
+            @Override
+            public void onChange(FrameworkChangeDto change) throws IOException {
+                emitter.send(SseEmitter.event()
+                        .id(change.getEventId())
+                        .name(change.getType().name().toLowerCase(Locale.ROOT))
+                        .data(change, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void onResync(String lastEventId) throws IOException {
+                emitter.send(SseEmitter.event().name("resync").data(Map.of("lastEventId", lastEventId), MediaType.APPLICATION_JSON));
+                emitter.complete();
+            }
+
+            @Override
+            public void onHeartbeat() throws IOException {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+        };
+        if (!frameworkChangeFeedService.subscribe(lastEventId, subscriber)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        emitter.onCompletion(() -> frameworkChangeFeedService.unsubscribe(subscriber));
+        emitter.onTimeout(() -> frameworkChangeFeedService.unsubscribe(subscriber));
+        emitter.onError(error -> frameworkChangeFeedService.unsubscribe(subscriber));
+        return ResponseEntity.ok(emitter);
+    }
+}
@@ -0,0 +1,39 @@
+package com.etnetera.hr.controller;
+
+import com.etnetera.hr.dto.FrameworkDeltaDto;
+import com.etnetera.hr.service.FrameworkDeltaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+
+/**
+ * REST controller for delta sync of the catalog.
+ *
+ * @author Marketa Halikova
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/frameworks/delta")
+public class FrameworkDeltaController {
+
+    private final FrameworkDeltaService frameworkDeltaService;
+
+    /**
+     * Frameworks created or updated since the token and ids of deleted ones. Without a token it is the whole catalog,
+     * the client keeps the returned token and asks with it next time.
+     */
+    @GetMapping
+    @ResponseBody
+    public ResponseEntity getDelta(@RequestParam(value = "since", required = false) String since,
+                                   @RequestParam(value = "limit", required = false) Integer limit) {
+        Optional<FrameworkDeltaDto> delta = frameworkDeltaService.getDelta(since, limit);
+        if (delta.isPresent()) {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(delta.get());
+        } else {
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body("Malformed delta token or invalid limit");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.etnetera.hr.controller;
+
+import com.etnetera.hr.domain.FrameworkImportFormatEnum;
+import com.etnetera.hr.dto.FrameworkImportResultDto;
+import com.etnetera.hr.service.FrameworkImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * REST controller for bulk import of frameworks.
+ *
+ * @author Marketa Halikova
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/frameworks/import")
+public class FrameworkImportController {
+
+    private final FrameworkImportService frameworkImportService;
+
+    /**
+     * Import NDJSON (application/x-ndjson) or CSV (text/csv) request body, read as a stream
+     */
+    @PostMapping
+    @ResponseBody
+    public ResponseEntity importFrameworks(@RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                           @RequestParam(value = "fromLine", defaultValue = "1") long fromLine,
+                                           InputStream input) {
+        Optional<FrameworkImportFormatEnum> format = FrameworkImportFormatEnum.fromContentType(contentType);
+        if (format.isEmpty() || fromLine < 1) {
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body("Send application/x-ndjson or text/csv, fromLine starts at 1");
+        }
+        Optional<FrameworkImportResultDto> result = frameworkImportService.importFrameworks(input, format.get(), fromLine);
+        if (result.isPresent()) {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(result.get());
+        } else {
+            return ResponseEntity.status(HttpStatus.CONFLICT).contentType(MediaType.TEXT_PLAIN).body("Another import is running, see GET /frameworks/import");
+        }
+    }
+
+    @GetMapping
+    @ResponseBody
+    public ResponseEntity<FrameworkImportResultDto> getLastImport() {
+        Optional<FrameworkImportResultDto> result = frameworkImportService.getLastImport();
+        if (result.isPresent()) {
+            return ResponseEntity.ok().body(result.get());
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.etnetera.hr.controller;
+
+import com.etnetera.hr.dto.FrameworkSnapshotDto;
+import com.etnetera.hr.service.FrameworkSnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for catalog snapshot administration.
+ *
+ * @author Marketa Halikova
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/admin/snapshot")
+public class FrameworkSnapshotController {
+
+    private final FrameworkSnapshotService frameworkSnapshotService;
+
+    @PostMapping
+    @ResponseBody
+    public ResponseEntity<FrameworkSnapshotDto> writeSnapshot() {
+        return frameworkSnapshotService.writeSnapshot()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -1,20 +1,50 @@
 package com.etnetera.hr.controller;
 
+import com.etnetera.hr.config.FrameworkProperties;
+import com.etnetera.hr.config.ResponseFormatConfig;
+import com.etnetera.hr.domain.FrameworkSortEnum;
 import com.etnetera.hr.dto.CreateJavaScriptFrameworkDto;
+import com.etnetera.hr.dto.FrameworkFieldEnum;
+import com.etnetera.hr.dto.FrameworkPageDto;
+import com.etnetera.hr.dto.FrameworkPatchDto;
+import com.etnetera.hr.dto.FrameworkSearchCriteriaDto;
+import com.etnetera.hr.dto.FrameworkStatisticsDto;
 import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.etnetera.hr.service.CatalogVersionService;
+import com.etnetera.hr.service.FrameworkSearchService;
+import com.etnetera.hr.service.FrameworkStatisticsService;
 import com.etnetera.hr.service.JavaScriptFrameworkService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST controller for accessing application logic.
+ * Frameworks are written as JSON, CBOR or Smile by Accept of the request, see ResponseFormatConfig.
  *
  * @author Etnetera
  */
@@ -23,20 +53,115 @@ import java.util.Optional;
 @RequestMapping("/frameworks")
 public class JavaScriptFrameworkController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     private final JavaScriptFrameworkService javaScriptFrameworkService;
+    private final FrameworkProperties properties;
+    private final CatalogVersionService catalogVersionService;
+    private final FrameworkSearchService frameworkSearchService;
+    private final FrameworkStatisticsService frameworkStatisticsService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     @ResponseBody
-    public Iterable<JavaScriptFrameworkDto> getAllFrameworks() {
-        return javaScriptFrameworkService.getAllFrameworks();
+    public ResponseEntity getAllFrameworks(@RequestParam(value = "sort", defaultValue = "id") String sort,
+                                           @RequestParam(value = "cursor", required = false) String cursor,
+                                           @RequestParam(value = "limit", required = false) Integer limit,
+                                           @RequestParam(value = "version", required = false) String versionRange,
+                                           @RequestParam(value = "fields", required = false) String fields,
+                                           WebRequest webRequest) {
+        // null selects the whole frameworks
+        Set<FrameworkFieldEnum> selected = FrameworkFieldEnum.fromParameter(fields).orElse(null);
+        if (fields != null && selected == null) {
+            return unknownFields();
+        }
+        // taken before the query, a change committed meanwhile costs one more full response, never a stale 304
+        String eTag = catalogVersionService.getCatalogETag(format(webRequest));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        Optional<FrameworkPageDto> page;
+        if (versionRange != null) {
+            // answered by the sorted version index, which pages in id order only
+            page = FrameworkSortEnum.fromParameter(sort).filter(sortBy -> sortBy == FrameworkSortEnum.ID)
+                    .flatMap(id -> frameworkSearchService.searchFrameworksPage(FrameworkSearchCriteriaDto.builder()
+                            .versionRange(versionRange)
+                            .build(), cursor, limit));
+            if (page.isEmpty()) {
+                return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN)
+                        .body("Malformed version range, use e.g. >=3.2.0 <4, or sort other than id, invalid page size or continuation token");
+            }
+        } else {
+            page = javaScriptFrameworkService.getFrameworksPage(sort, cursor, limit, selected);
+        }
+        if (page.isPresent()) {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag);
+            if (page.get().getNextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.get().getNextCursor());
+            }
+            return response.body(select(page.get().getFrameworks(), selected));
+        } else {
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body("Unknown sort key, invalid page size or continuation token");
+        }
+    }
+
+    /**
+     * Whole catalog as newline delimited JSON, one framework per line ordered by id. Frameworks are written
+     * while they are read from the database cursor, gzipped when the client accepts it.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportFrameworks(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(NDJSON).varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        // one flush per generator buffer instead of one per framework
+        ObjectWriter writer = objectMapper.writerFor(JavaScriptFrameworkDto.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return response.body(output -> {
+            OutputStream target = gzip ? new GZIPOutputStream(output, 8192) : output;
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(target)) {
+                generator.setRootValueSeparator(null);
+                javaScriptFrameworkService.exportFrameworks(framework -> {
+                    try {
+                        writer.writeValue(generator, framework);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        });
     }
 
     @GetMapping("/{id}")
     @ResponseBody
-    public ResponseEntity<JavaScriptFrameworkDto> getFrameworkById(@PathVariable Long id) {
+    public ResponseEntity<JavaScriptFrameworkDto> getFrameworkById(@PathVariable Long id, WebRequest webRequest) {
+        Optional<Long> knownRevision = catalogVersionService.findKnownRevision(id);
+        if (knownRevision.isPresent() && webRequest.checkNotModified(catalogVersionService.getFrameworkETag(id, knownRevision.get(), format(webRequest)))) {
+            return null;
+        }
         Optional<JavaScriptFrameworkDto> framework = javaScriptFrameworkService.findFrameworkById(id);
         if (framework.isPresent()) {
-            return ResponseEntity.ok().body(framework.get());
+            catalogVersionService.recordRevision(id, framework.get().getRevision());
+            return ResponseEntity.ok().eTag(catalogVersionService.getFrameworkETag(id, framework.get().getRevision(), format(webRequest))).body(framework.get());
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/by-name/{name}")
+    @ResponseBody
+    public ResponseEntity<JavaScriptFrameworkDto> getFrameworkByName(@PathVariable String name, WebRequest webRequest) {
+        Optional<JavaScriptFrameworkDto> framework = javaScriptFrameworkService.findFrameworkByName(name);
+        if (framework.isPresent()) {
+            catalogVersionService.recordRevision(framework.get().getId(), framework.get().getRevision());
+            return ResponseEntity.ok().eTag(catalogVersionService.getFrameworkETag(framework.get().getId(), framework.get().getRevision(), format(webRequest)))
+                    .body(framework.get());
         } else {
             return ResponseEntity.notFound().build();
         }
@@ -48,12 +173,21 @@ public class JavaScriptFrameworkController {
     public ResponseEntity saveFramework(@Valid @RequestBody CreateJavaScriptFrameworkDto createJavaScriptFrameworkDto) {
         Optional<JavaScriptFrameworkDto> framework = javaScriptFrameworkService.saveFramework(createJavaScriptFrameworkDto);
         if (framework.isPresent()) {
-            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(framework.get());
+            return ResponseEntity.ok(framework.get());
         } else {
             return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body("Framework with this name already exists");
         }
     }
 
+    @PostMapping("/batch")
+    @ResponseBody
+    public ResponseEntity saveFrameworks(@RequestBody List<CreateJavaScriptFrameworkDto> createJavaScriptFrameworkDtos) {
+        if (createJavaScriptFrameworkDtos.size() > properties.getBatch().getMaxSize()) {
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body("Batch can contain at most " + properties.getBatch().getMaxSize() + " frameworks");
+        }
+        return ResponseEntity.ok(javaScriptFrameworkService.saveFrameworks(createJavaScriptFrameworkDtos));
+    }
+
     @DeleteMapping("/{id}")
     @ResponseBody
     public ResponseEntity<Void> deleteFramework(@PathVariable(value = "id") Long id) {
@@ -67,10 +201,44 @@ public class JavaScriptFrameworkController {
 
     @PutMapping
     @ResponseBody
-    public ResponseEntity updateFramework(@Valid @RequestBody JavaScriptFrameworkDto frameworkDto) {
+    public ResponseEntity updateFramework(@Valid @RequestBody JavaScriptFrameworkDto frameworkDto,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                          WebRequest webRequest) {
+        if (ifMatch != null && !ifMatch.trim().equals("*")) {
+            Optional<Long> revision = catalogVersionService.parseFrameworkETag(frameworkDto.getId(), ifMatch);
+            if (revision.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).contentType(MediaType.TEXT_PLAIN).body("If-Match does not contain entity tag of this framework");
+            }
+            frameworkDto.setRevision(revision.get());
+        }
         Optional<JavaScriptFrameworkDto> framework = javaScriptFrameworkService.updateFramework(frameworkDto);
         if (framework.isPresent()) {
-            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(framework.get());
+            return ResponseEntity.ok()
+                    .eTag(catalogVersionService.getFrameworkETag(framework.get().getId(), framework.get().getRevision(), format(webRequest)))
+                    .body(framework.get());
+        } else {
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body("Framework with this id was not found or another framework with this name already exists");
+        }
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @ResponseBody
+    public ResponseEntity patchFramework(@PathVariable("id") Long id, @Valid @RequestBody FrameworkPatchDto patch,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                         WebRequest webRequest) {
+        Long revision = null;
+        if (ifMatch != null && !ifMatch.trim().equals("*")) {
+            Optional<Long> matched = catalogVersionService.parseFrameworkETag(id, ifMatch);
+            if (matched.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).contentType(MediaType.TEXT_PLAIN).body("If-Match does not contain entity tag of this framework");
+            }
+            revision = matched.get();
+        }
+        Optional<JavaScriptFrameworkDto> framework = javaScriptFrameworkService.patchFramework(id, patch, revision);
+        if (framework.isPresent()) {
+            return ResponseEntity.ok()
+                    .eTag(catalogVersionService.getFrameworkETag(framework.get().getId(), framework.get().getRevision(), format(webRequest)))
+                    .body(framework.get());
         } else {
             return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body("Framework with this id was not found or another framework with this name already exists");
         }
@@ -78,7 +246,94 @@ public class JavaScriptFrameworkController {
 
     @GetMapping("/hype")
     @ResponseBody
-    public Iterable<JavaScriptFrameworkDto> getFrameworksByHype(@Validated @RequestParam("hypeLevel") String hypeLevel) {
-        return javaScriptFrameworkService.getFrameworksByHype(hypeLevel);
+    public ResponseEntity getFrameworksByHype(@Validated @RequestParam("hypeLevel") String hypeLevel,
+                                              @RequestParam(value = "fields", required = false) String fields,
+                                              WebRequest webRequest) {
+        Set<FrameworkFieldEnum> selected = FrameworkFieldEnum.fromParameter(fields).orElse(null);
+        if (fields != null && selected == null) {
+            return unknownFields();
+        }
+        // taken before the query, a change committed meanwhile costs one more full response, never a stale 304
+        String eTag = catalogVersionService.getCatalogETag(format(webRequest));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(select(javaScriptFrameworkService.getFrameworksByHype(hypeLevel, selected), selected));
+    }
+
+    @GetMapping("/search")
+    @ResponseBody
+    public ResponseEntity searchFrameworks(@RequestParam(value = "name", required = false) String name,
+                                           @RequestParam(value = "version", required = false) String version,
+                                           @RequestParam(value = "versionRange", required = false) String versionRange,
+                                           @RequestParam(value = "hypeLevel", required = false) List<String> hypeLevels,
+                                           @RequestParam(value = "deprecatedFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date deprecatedFrom,
+                                           @RequestParam(value = "deprecatedTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date deprecatedTo) {
+        Optional<List<JavaScriptFrameworkDto>> frameworks = frameworkSearchService.searchFrameworks(FrameworkSearchCriteriaDto.builder()
+                .name(name)
+                .version(version)
+                .versionRange(versionRange)
+                .hypeLevels(hypeLevels)
+                .deprecatedFrom(deprecatedFrom)
+                .deprecatedTo(deprecatedTo)
+                .build());
+        if (frameworks.isPresent()) {
+            return ResponseEntity.ok(frameworks.get());
+        } else {
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body("Unknown hype level, malformed version range or deprecation date range ending before it starts");
+        }
+    }
+
+    @GetMapping("/deprecating")
+    @ResponseBody
+    public ResponseEntity getFrameworksDeprecating(@RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date from,
+                                                   @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date to,
+                                                   @RequestParam(value = "fields", required = false) String fields) {
+        Set<FrameworkFieldEnum> selected = FrameworkFieldEnum.fromParameter(fields).orElse(null);
+        if (fields != null && selected == null) {
+            return unknownFields();
+        }
+        Optional<List<JavaScriptFrameworkDto>> frameworks = javaScriptFrameworkService.getFrameworksDeprecating(from, to, selected);
+        if (frameworks.isPresent()) {
+            return ResponseEntity.ok(select(frameworks.get(), selected));
+        } else {
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body("Deprecation date range ends before it starts");
+        }
+    }
+
+    @GetMapping("/stats")
+    @ResponseBody
+    public FrameworkStatisticsDto getStatistics() {
+        return frameworkStatisticsService.getStatistics();
+    }
+
+    /**
+     * Frameworks as they are, or only the selected fields of them when the client asked for some
+     */
+    private static Object select(Iterable<JavaScriptFrameworkDto> frameworks, Set<FrameworkFieldEnum> fields) {
+        if (fields == null) {
+            return frameworks;
+        }
+        List<Map<String, Object>> selected = new ArrayList<>();
+        frameworks.forEach(framework -> selected.add(FrameworkFieldEnum.select(framework, fields)));
+        return selected;
+    }
+
+    /**
+     * Format the body will be written in, entity tags of the same state differ by it
+     */
+    private static MediaType format(WebRequest webRequest) {
+        return ResponseFormatConfig.selectFormat(webRequest.getHeader(HttpHeaders.ACCEPT));
+    }
+
+    private static ResponseEntity<String> unknownFields() {
+        return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN)
+                .body("Unknown field, use comma separated id, name, versions, latestVersion, deprecationDate, hypeLevel or revision");
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleConcurrentUpdate(WebRequest webRequest) {
+        HttpStatus status = webRequest.getHeader(HttpHeaders.IF_MATCH) != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).contentType(MediaType.TEXT_PLAIN).body("Framework was changed in the meantime, read it again and retry the update");
     }
 }
@@ -0,0 +1,35 @@
+package com.etnetera.hr.controller;
+
+import com.etnetera.hr.dto.SlowRequestDto;
+import com.etnetera.hr.service.SlowRequestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for slow request administration.
+ *
+ * @author Marketa Halikova
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/admin/slow-requests")
+public class SlowRequestController {
+
+    private final SlowRequestService slowRequestService;
+
+    @GetMapping
+    @ResponseBody
+    public List<SlowRequestDto> getSlowRequests() {
+        return slowRequestService.getSlowRequests();
+    }
+
+    @DeleteMapping
+    @ResponseBody
+    public ResponseEntity<Void> clear() {
+        slowRequestService.clear();
+        return ResponseEntity.ok().build();
+    }
+}
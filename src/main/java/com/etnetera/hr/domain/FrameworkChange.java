@@ -0,0 +1,42 @@
+package com.etnetera.hr.domain;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.util.Date;
+
+/**
+ * Last change of a framework in the change log read by delta sync. There is one row per framework,
+ * every further change of it replaces the row with the next sequence, so the log is as large as the catalog
+ * plus deleted frameworks and old changes never have to be compacted. Only tombstones of deleted frameworks
+ * are removed after a while.
+ *
+ * @author Marketa Halikova
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(indexes = @Index(name = "idx_framework_change_sequence", columnList = "changeSequence", unique = true))
+public class FrameworkChange {
+
+    @Id
+    private Long frameworkId;
+
+    /**
+     * Position of the change, changes get increasing sequence in the order they were committed
+     */
+    @Column(nullable = false)
+    private long changeSequence;
+
+    /**
+     * Framework was deleted, the row is a tombstone
+     */
+    @Column(nullable = false)
+    private boolean deleted;
+
+    @Column(nullable = false)
+    private Date changedAt;
+}
@@ -0,0 +1,67 @@
+package com.etnetera.hr.domain;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Formats of framework import files
+ *
+ * @author Marketa Halikova
+ */
+public enum FrameworkImportFormatEnum {
+    /**
+     * One JSON object per line, same properties as POST /frameworks accepts
+     */
+    NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+    /**
+     * Comma separated values with header naming columns name, versions, deprecationDate and hypeLevel,
+     * versions are separated by |
+     */
+    CSV(MediaType.parseMediaType("text/csv"));
+
+    private final MediaType mediaType;
+
+    FrameworkImportFormatEnum(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Resolves format from Content-Type of request, ignoring charset
+     *
+     * @param contentType Content-Type header value
+     * @return Optional of FrameworkImportFormatEnum, empty for missing or unsupported type
+     */
+    public static Optional<FrameworkImportFormatEnum> fromContentType(String contentType) {
+        if (contentType == null) {
+            return Optional.empty();
+        }
+        MediaType mediaType;
+        try {
+            mediaType = MediaType.parseMediaType(contentType);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        for (FrameworkImportFormatEnum e : values()) {
+            if (e.mediaType.equalsTypeAndSubtype(mediaType)) {
+                return Optional.of(e);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Resolves format from file extension, files not ending with .csv are NDJSON
+     *
+     * @param fileName file name or resource location
+     * @return FrameworkImportFormatEnum
+     */
+    public static FrameworkImportFormatEnum fromFileName(String fileName) {
+        return fileName.toLowerCase(Locale.ROOT).endsWith(".csv") ? CSV : NDJSON;
+    }
+}
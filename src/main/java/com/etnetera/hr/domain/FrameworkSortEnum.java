@@ -0,0 +1,33 @@
+package com.etnetera.hr.domain;
+
+import java.util.Optional;
+
+/**
+ * Keys the framework listing can be ordered and paged by
+ *
+ * @author Marketa Halikova
+ */
+public enum FrameworkSortEnum {
+    ID,
+    NAME,
+    DEPRECATION_DATE;
+
+    /**
+     * Resolves sort key from request parameter, e.g. "name" or "deprecationDate"
+     *
+     * @param text request parameter value
+     * @return Optional of FrameworkSortEnum, empty for unknown key
+     */
+    public static Optional<FrameworkSortEnum> fromParameter(String text) {
+        if (text == null) {
+            return Optional.empty();
+        }
+        String normalized = text.replace("_", "");
+        for (FrameworkSortEnum e : values()) {
+            if (e.name().replace("_", "").equalsIgnoreCase(normalized)) {
+                return Optional.of(e);
+            }
+        }
+        return Optional.empty();
+    }
+}
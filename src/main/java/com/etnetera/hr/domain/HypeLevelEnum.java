@@ -1,5 +1,7 @@
 package com.etnetera.hr.domain;
 
+import java.util.Optional;
+
 /**
  *  Level of hype
  * @author Marketa Halikova
@@ -9,4 +11,22 @@ public enum HypeLevelEnum {
     SOLID,
     GREAT,
     SENSATIONAL;
+
+    /**
+     * Resolves hype level from request parameter, ignoring case
+     *
+     * @param text request parameter value
+     * @return Optional of HypeLevelEnum, empty for unknown level
+     */
+    public static Optional<HypeLevelEnum> fromParameter(String text) {
+        if (text == null) {
+            return Optional.empty();
+        }
+        for (HypeLevelEnum e : values()) {
+            if (e.name().equalsIgnoreCase(text.trim())) {
+                return Optional.of(e);
+            }
+        }
+        return Optional.empty();
+    }
 }
@@ -1,6 +1,9 @@
 package com.etnetera.hr.domain;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -14,6 +17,7 @@ import static javax.persistence.FetchType.EAGER;
 
 /**
  * Entity describing basic properties of every JavaScript framework.
+ * Updates write only changed columns and revision, a patch of one property does not rewrite the row.
  *
  * @author Etnetera
  */
@@ -23,21 +27,47 @@ import static javax.persistence.FetchType.EAGER;
 @NoArgsConstructor
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
+@Table(uniqueConstraints = @UniqueConstraint(name = JavaScriptFramework.NAME_CONSTRAINT, columnNames = "name"),
+        indexes = @Index(name = "idx_framework_deprecation_date", columnList = "deprecationDate, id"))
 public class JavaScriptFramework {
 
+    /**
+     * Unique constraint of names, its violation means the name is taken
+     */
+    public static final String NAME_CONSTRAINT = "uk_framework_name";
+    /**
+     * Length of a version, the latest version is one of versions so it has the same
+     */
+    public static final int VERSION_LENGTH = 255;
+
+    /**
+     * Ids are allocated from the sequence in blocks of 50 (pooled optimizer),
+     * so inserts do not ask the database for every single id
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "framework_seq")
+    @SequenceGenerator(name = "framework_seq", sequenceName = "framework_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
-    @Column(nullable = false, length = 30, unique = true)
+    @Column(nullable = false, length = 30)
     private String name;
 
     @NotNull
-    @Column(name = "version", nullable = false)
+    @Column(name = "version", nullable = false, length = VERSION_LENGTH)
     @ElementCollection(fetch = EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<String> versions = new HashSet<>();
 
+    /**
+     * Latest well formed semantic version of versions, computed on every write
+     */
+    @Column(length = VERSION_LENGTH)
+    private String latestVersion;
+
     @Column
     private Date deprecationDate;
 
@@ -46,13 +76,28 @@ public class JavaScriptFramework {
     @Column(nullable = false)
     private HypeLevelEnum hypeLevel;
 
+    /**
+     * Optimistic locking version, incremented by every update
+     */
+    @Version
+    @Column(nullable = false)
+    private long revision;
+
+    @PrePersist
+    @PreUpdate
+    void computeLatestVersion() {
+        latestVersion = SemanticVersion.latest(versions).orElse(null);
+    }
+
     @Override
     public String toString() {
         return "JavaScriptFramework [id=" + id + ", " +
                 "name=" + name + ", " +
                 "versions=" + versions + ", " +
+                "latest version=" + latestVersion + ", " +
                 "deprecation date=" + deprecationDate + ", " +
-                "hype leve=" + hypeLevel + "]";
+                "hype leve=" + hypeLevel + ", " +
+                "revision=" + revision + "]";
     }
 
     @Override
@@ -0,0 +1,155 @@
+package com.etnetera.hr.domain;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Comparable semantic version parsed from a framework version, e.g. "3.2.1", "v4", "2.0.0-rc.1+build.5".
+ * Missing minor and patch numbers are zero, build metadata is ignored by ordering as semver.org says.
+ * Versions that do not match, like ".2.1" or "\"3.2.0", are malformed: they are kept as they are,
+ * but they never match a version range and never become the latest version.
+ *
+ * @author Marketa Halikova
+ */
+@Getter
+public final class SemanticVersion implements Comparable<SemanticVersion> {
+
+    private static final Pattern PATTERN = Pattern.compile(
+            "v?(\\d{1,18})(?:\\.(\\d{1,18}))?(?:\\.(\\d{1,18}))?(?:-([0-9A-Za-z-]+(?:\\.[0-9A-Za-z-]+)*))?(?:\\+[0-9A-Za-z.-]+)?");
+
+    /**
+     * Latest version first, equal versions written differently (e.g. "3.2" and "3.2.0") by their text
+     */
+    private static final Comparator<SemanticVersion> LATEST = Comparator.<SemanticVersion>naturalOrder()
+            .thenComparing(SemanticVersion::getText);
+
+    private final long major;
+    private final long minor;
+    private final long patch;
+    /**
+     * Pre-release identifiers, null for release
+     */
+    private final String preRelease;
+    /**
+     * Version as it was written
+     */
+    private final String text;
+
+    private SemanticVersion(long major, long minor, long patch, String preRelease, String text) {
+        this.major = major;
+        this.minor = minor;
+        this.patch = patch;
+        this.preRelease = preRelease;
+        this.text = text;
+    }
+
+    /**
+     * Parse version
+     *
+     * @param text version as written by user
+     * @return Optional of SemanticVersion, empty for malformed version
+     */
+    public static Optional<SemanticVersion> parse(String text) {
+        if (text == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = PATTERN.matcher(text.trim());
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(new SemanticVersion(
+                Long.parseLong(matcher.group(1)),
+                matcher.group(2) == null ? 0 : Long.parseLong(matcher.group(2)),
+                matcher.group(3) == null ? 0 : Long.parseLong(matcher.group(3)),
+                matcher.group(4),
+                text));
+    }
+
+    /**
+     * Find the latest of versions, malformed versions are skipped
+     *
+     * @param versions versions as written by user
+     * @return Optional of the latest version text, empty when there is no well formed version
+     */
+    public static Optional<String> latest(Collection<String> versions) {
+        if (versions == null) {
+            return Optional.empty();
+        }
+        return versions.stream()
+                .map(SemanticVersion::parse)
+                .flatMap(Optional::stream)
+                .max(LATEST)
+                .map(SemanticVersion::getText);
+    }
+
+    @Override
+    public int compareTo(SemanticVersion other) {
+        int result = Long.compare(major, other.major);
+        if (result == 0) {
+            result = Long.compare(minor, other.minor);
+        }
+        if (result == 0) {
+            result = Long.compare(patch, other.patch);
+        }
+        if (result == 0) {
+            result = comparePreRelease(preRelease, other.preRelease);
+        }
+        return result;
+    }
+
+    /**
+     * Release is after its pre-releases, pre-release identifiers are compared one by one,
+     * numeric ones numerically and before alphanumeric ones
+     */
+    private static int comparePreRelease(String left, String right) {
+        if (left == null || right == null) {
+            return left == null ? (right == null ? 0 : 1) : -1;
+        }
+        String[] leftIds = left.split("\\.");
+        String[] rightIds = right.split("\\.");
+        for (int i = 0; i < Math.min(leftIds.length, rightIds.length); i++) {
+            boolean leftNumeric = leftIds[i].chars().allMatch(Character::isDigit);
+            boolean rightNumeric = rightIds[i].chars().allMatch(Character::isDigit);
+            int result;
+            if (leftNumeric && rightNumeric) {
+                result = leftIds[i].length() != rightIds[i].length()
+                        ? Integer.compare(leftIds[i].length(), rightIds[i].length())
+                        : leftIds[i].compareTo(rightIds[i]);
+            } else if (leftNumeric || rightNumeric) {
+                result = leftNumeric ? -1 : 1;
+            } else {
+                result = leftIds[i].compareTo(rightIds[i]);
+            }
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(leftIds.length, rightIds.length);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        return compareTo((SemanticVersion) o) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(major, minor, patch, preRelease);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -0,0 +1,102 @@
+package com.etnetera.hr.domain;
+
+import lombok.Getter;
+
+import java.util.Optional;
+
+/**
+ * Range of semantic versions written as space separated comparators that all must hold,
+ * e.g. ">=3.2.0 <4", ">1.0.0-rc.1" or "3.2.1" (exact version). Operators are >, >=, <, <= and =,
+ * missing minor and patch numbers are zero, so "<4" means "<4.0.0".
+ *
+ * @author Marketa Halikova
+ */
+@Getter
+public final class VersionRange {
+
+    /**
+     * Lower bound, null for unbounded
+     */
+    private final SemanticVersion lower;
+    private final boolean lowerInclusive;
+    /**
+     * Upper bound, null for unbounded
+     */
+    private final SemanticVersion upper;
+    private final boolean upperInclusive;
+
+    private VersionRange(SemanticVersion lower, boolean lowerInclusive, SemanticVersion upper, boolean upperInclusive) {
+        this.lower = lower;
+        this.lowerInclusive = lowerInclusive;
+        this.upper = upper;
+        this.upperInclusive = upperInclusive;
+    }
+
+    /**
+     * Parse range, comparators are intersected into one interval
+     *
+     * @param text range as written by user
+     * @return Optional of VersionRange, empty for malformed comparator or blank text
+     */
+    public static Optional<VersionRange> parse(String text) {
+        if (text == null || text.isBlank()) {
+            return Optional.empty();
+        }
+        VersionRange range = new VersionRange(null, false, null, false);
+        for (String comparator : text.trim().split("\\s+")) {
+            String operator = comparator.replaceAll("^([<>]=?|=)?.*$", "$1");
+            Optional<SemanticVersion> version = SemanticVersion.parse(comparator.substring(operator.length()));
+            if (version.isEmpty()) {
+                return Optional.empty();
+            }
+            switch (operator) {
+                case ">":
+                    range = range.withLower(version.get(), false);
+                    break;
+                case ">=":
+                    range = range.withLower(version.get(), true);
+                    break;
+                case "<":
+                    range = range.withUpper(version.get(), false);
+                    break;
+                case "<=":
+                    range = range.withUpper(version.get(), true);
+                    break;
+                default:
+                    range = range.withLower(version.get(), true).withUpper(version.get(), true);
+            }
+        }
+        return Optional.of(range);
+    }
+
+    /**
+     * True when no version can be in the range, e.g. ">=4 <3"
+     */
+    public boolean isEmpty() {
+        if (lower == null || upper == null) {
+            return false;
+        }
+        int result = lower.compareTo(upper);
+        return result > 0 || (result == 0 && !(lowerInclusive && upperInclusive));
+    }
+
+    private VersionRange withLower(SemanticVersion version, boolean inclusive) {
+        if (lower != null) {
+            int result = version.compareTo(lower);
+            if (result < 0 || (result == 0 && inclusive)) {
+                return this;
+            }
+        }
+        return new VersionRange(version, inclusive, upper, upperInclusive);
+    }
+
+    private VersionRange withUpper(SemanticVersion version, boolean inclusive) {
+        if (upper != null) {
+            int result = version.compareTo(upper);
+            if (result > 0 || (result == 0 && inclusive)) {
+                return this;
+            }
+        }
+        return new VersionRange(lower, lowerInclusive, version, inclusive);
+    }
+}
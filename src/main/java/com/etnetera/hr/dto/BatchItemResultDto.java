@@ -0,0 +1,28 @@
+package com.etnetera.hr.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * DTO for result of one item of batch framework creation
+ *
+ * @author Marketa Halikova
+ */
+@Data
+@Builder
+public class BatchItemResultDto {
+    /**
+     * Position of the item in the request
+     */
+    private int index;
+    private String name;
+    private BatchItemStatusEnum status;
+    /**
+     * Id of created framework, null when the item failed
+     */
+    private Long id;
+    /**
+     * Reason of failure, null when the item was created
+     */
+    private String error;
+}
@@ -0,0 +1,11 @@
+package com.etnetera.hr.dto;
+
+/**
+ * Outcome of one item of batch operation
+ *
+ * @author Marketa Halikova
+ */
+public enum BatchItemStatusEnum {
+    CREATED,
+    FAILED;
+}
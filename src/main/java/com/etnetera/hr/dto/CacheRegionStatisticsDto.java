@@ -0,0 +1,19 @@
+package com.etnetera.hr.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * DTO for statistics of one second level cache region
+ *
+ * @author Marketa Halikova
+ */
+@Data
+@Builder
+public class CacheRegionStatisticsDto {
+    private String regionName;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private long elementCountInMemory;
+}
@@ -0,0 +1,21 @@
+package com.etnetera.hr.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO for second level cache statistics
+ *
+ * @author Marketa Halikova
+ */
+@Data
+@Builder
+public class CacheStatisticsDto {
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private double hitRatio;
+    private List<CacheRegionStatisticsDto> regions;
+}
@@ -1,11 +1,13 @@
 package com.etnetera.hr.dto;
 
 import com.etnetera.hr.domain.HypeLevelEnum;
+import com.etnetera.hr.domain.JavaScriptFramework;
 import lombok.Builder;
 import lombok.Data;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 import java.util.Date;
 import java.util.Set;
 
@@ -17,9 +19,10 @@ import java.util.Set;
 @Builder
 public class CreateJavaScriptFrameworkDto {
     @NotBlank
+    @Size(max = 30)
     private String name;
     @NotNull
-    private Set<String> versions;
+    private Set<@Size(max = JavaScriptFramework.VERSION_LENGTH) String> versions;
     private Date deprecationDate;
     @NotNull
     private HypeLevelEnum hypeLevel;
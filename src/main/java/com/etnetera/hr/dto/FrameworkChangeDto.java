@@ -0,0 +1,32 @@
+package com.etnetera.hr.dto;
+
+import com.etnetera.hr.event.ChangeTypeEnum;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * DTO for one committed change of the catalog in the change feed
+ *
+ * @author Marketa Halikova
+ */
+@Data
+@Builder
+public class FrameworkChangeDto {
+    /**
+     * Position in the feed, every committed change gets the next number, see Last-Event-ID
+     */
+    private long sequence;
+    /**
+     * Sequence together with start time of the run, sent back in Last-Event-ID to continue after this change
+     */
+    private String eventId;
+    private ChangeTypeEnum type;
+    private Long id;
+    /**
+     * State after the change, null for deleted framework
+     */
+    private JavaScriptFrameworkDto framework;
+    private Date committedAt;
+}
@@ -0,0 +1,38 @@
+package com.etnetera.hr.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Frameworks changed since a delta token, ids of deleted ones and the token to ask with next time
+ *
+ * @author Marketa Halikova
+ */
+@Data
+@Builder
+public class FrameworkDeltaDto {
+    /**
+     * Frameworks created or updated since the token, in their current state, ordered by change
+     */
+    private List<JavaScriptFrameworkDto> frameworks;
+    /**
+     * Ids of frameworks deleted since the token, the client may not know some of them
+     */
+    private List<Long> deleted;
+    /**
+     * Opaque token of the last change in this delta
+     */
+    private String token;
+    /**
+     * More changes follow, ask again with the token right away
+     */
+    private boolean more;
+    /**
+     * The token was not usable anymore, e.g. from before restart or older than compacted tombstones,
+     * this delta starts from an empty catalog and the client should replace what it has with this delta
+     * and the ones following it while more is set
+     */
+    private boolean reset;
+}
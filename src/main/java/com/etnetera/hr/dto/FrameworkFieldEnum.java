@@ -0,0 +1,66 @@
+package com.etnetera.hr.dto;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Properties of JavaScriptFrameworkDto a client can ask list endpoints for with parameter fields
+ *
+ * @author Marketa Halikova
+ */
+public enum FrameworkFieldEnum {
+    ID("id", JavaScriptFrameworkDto::getId),
+    NAME("name", JavaScriptFrameworkDto::getName),
+    VERSIONS("versions", JavaScriptFrameworkDto::getVersions),
+    LATEST_VERSION("latestVersion", JavaScriptFrameworkDto::getLatestVersion),
+    DEPRECATION_DATE("deprecationDate", JavaScriptFrameworkDto::getDeprecationDate),
+    HYPE_LEVEL("hypeLevel", JavaScriptFrameworkDto::getHypeLevel),
+    REVISION("revision", JavaScriptFrameworkDto::getRevision);
+
+    private final String property;
+    private final Function<JavaScriptFrameworkDto, Object> getter;
+
+    FrameworkFieldEnum(String property, Function<JavaScriptFrameworkDto, Object> getter) {
+        this.property = property;
+        this.getter = getter;
+    }
+
+    /**
+     * Resolves fields from request parameter, comma separated property names, e.g. "id,name,latestVersion"
+     *
+     * @param text request parameter value
+     * @return Optional of the fields, empty when any of them is unknown or there is none
+     */
+    public static Optional<Set<FrameworkFieldEnum>> fromParameter(String text) {
+        if (text == null) {
+            return Optional.empty();
+        }
+        Set<FrameworkFieldEnum> fields = EnumSet.noneOf(FrameworkFieldEnum.class);
+        for (String name : text.split(",")) {
+            FrameworkFieldEnum field = null;
+            for (FrameworkFieldEnum e : values()) {
+                if (e.property.equalsIgnoreCase(name.trim())) {
+                    field = e;
+                }
+            }
+            if (field == null) {
+                return Optional.empty();
+            }
+            fields.add(field);
+        }
+        return Optional.of(fields);
+    }
+
+    /**
+     * The fields of the framework by property name, in the order of the full framework
+     */
+    public static Map<String, Object> select(JavaScriptFrameworkDto framework, Set<FrameworkFieldEnum> fields) {
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (FrameworkFieldEnum field : values()) {
+            if (fields.contains(field)) {
+                selected.put(field.property, field.getter.apply(framework));
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,42 @@
+package com.etnetera.hr.dto;
+
+import com.etnetera.hr.domain.FrameworkImportFormatEnum;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * DTO for progress and result of framework import
+ *
+ * @author Marketa Halikova
+ */
+@Data
+@Builder
+public class FrameworkImportResultDto {
+    private FrameworkImportStatusEnum status;
+    private FrameworkImportFormatEnum format;
+    private long fromLine;
+    /**
+     * Number of the last line read from the file
+     */
+    private long lastLine;
+    /**
+     * Every line up to this one is either committed or reported in errors,
+     * an interrupted import continues from the next line
+     */
+    private long checkpointLine;
+    private long created;
+    private long failed;
+    /**
+     * Failed lines, index is line number, at most frameworks.bulk-import.max-errors of them
+     */
+    private List<BatchItemResultDto> errors;
+    /**
+     * Reason why the import stopped, null unless it failed
+     */
+    private String failure;
+    private Date startedAt;
+    private Date finishedAt;
+}
@@ -0,0 +1,15 @@
+package com.etnetera.hr.dto;
+
+/**
+ * State of framework import
+ *
+ * @author Marketa Halikova
+ */
+public enum FrameworkImportStatusEnum {
+    RUNNING,
+    COMPLETED,
+    /**
+     * Import stopped, lines after the checkpoint were not imported
+     */
+    FAILED;
+}
@@ -0,0 +1,21 @@
+package com.etnetera.hr.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of frameworks with continuation token of the next page
+ *
+ * @author Marketa Halikova
+ */
+@Data
+@Builder
+public class FrameworkPageDto {
+    private List<JavaScriptFrameworkDto> frameworks;
+    /**
+     * Opaque token for the next page, null when this is the last page
+     */
+    private String nextCursor;
+}
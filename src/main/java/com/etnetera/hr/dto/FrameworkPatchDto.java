@@ -0,0 +1,130 @@
+package com.etnetera.hr.dto;
+
+import com.etnetera.hr.domain.HypeLevelEnum;
+import com.etnetera.hr.domain.JavaScriptFramework;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import java.util.*;
+
+/**
+ * DTO for partial update of Framework by JSON merge patch (RFC 7386). A property missing in the patch
+ * keeps its value, null removes it, which only deprecationDate allows. Versions are either replaced
+ * by an array or changed one by one by an object {"add": [...], "remove": [...]}.
+ *
+ * @author Marketa Halikova
+ */
+@Getter
+public class FrameworkPatchDto {
+    @Pattern(regexp = ".*\\S.*", message = "must not be blank")
+    @Size(max = 30)
+    private String name;
+    private Date deprecationDate;
+    private HypeLevelEnum hypeLevel;
+    @Valid
+    private VersionsPatch versions;
+
+    @Getter(AccessLevel.NONE)
+    private boolean nameSet;
+    @Getter(AccessLevel.NONE)
+    private boolean deprecationDateSet;
+    @Getter(AccessLevel.NONE)
+    private boolean hypeLevelSet;
+
+    public void setName(String name) {
+        this.name = Objects.requireNonNull(name, "name cannot be removed");
+        this.nameSet = true;
+    }
+
+    public void setDeprecationDate(Date deprecationDate) {
+        this.deprecationDate = deprecationDate;
+        this.deprecationDateSet = true;
+    }
+
+    public void setHypeLevel(HypeLevelEnum hypeLevel) {
+        this.hypeLevel = Objects.requireNonNull(hypeLevel, "hypeLevel cannot be removed");
+        this.hypeLevelSet = true;
+    }
+
+    public void setVersions(VersionsPatch versions) {
+        this.versions = Objects.requireNonNull(versions, "versions cannot be removed");
+    }
+
+    public boolean hasName() {
+        return nameSet;
+    }
+
+    public boolean hasDeprecationDate() {
+        return deprecationDateSet;
+    }
+
+    public boolean hasHypeLevel() {
+        return hypeLevelSet;
+    }
+
+    /**
+     * Change of versions, either all of them replaced or some added and some removed
+     */
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class VersionsPatch {
+        /**
+         * Versions replacing the current ones, null when versions are added and removed
+         */
+        private final Set<@Size(max = JavaScriptFramework.VERSION_LENGTH) String> replace;
+        private final Set<@Size(max = JavaScriptFramework.VERSION_LENGTH) String> add;
+        private final Set<String> remove;
+
+        public static VersionsPatch replace(Set<String> versions) {
+            return new VersionsPatch(versions, null, null);
+        }
+
+        public static VersionsPatch change(Set<String> add, Set<String> remove) {
+            return new VersionsPatch(null, add, remove);
+        }
+
+        @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+        static VersionsPatch fromJson(JsonNode node) throws JsonMappingException {
+            if (node.isArray()) {
+                return replace(toVersions(node));
+            }
+            if (!node.isObject()) {
+                throw new JsonMappingException(null, "versions must be an array or an object with add and remove");
+            }
+            Set<String> add = new HashSet<>();
+            Set<String> remove = new HashSet<>();
+            for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (field.getKey().equals("add")) {
+                    add = toVersions(field.getValue());
+                } else if (field.getKey().equals("remove")) {
+                    remove = toVersions(field.getValue());
+                } else {
+                    throw new JsonMappingException(null, "versions can only add and remove, not " + field.getKey());
+                }
+            }
+            return change(add, remove);
+        }
+
+        private static Set<String> toVersions(JsonNode node) throws JsonMappingException {
+            if (!node.isArray()) {
+                throw new JsonMappingException(null, "versions must be an array of strings");
+            }
+            Set<String> versions = new HashSet<>();
+            for (JsonNode version : node) {
+                if (!version.isTextual()) {
+                    throw new JsonMappingException(null, "versions must be an array of strings");
+                }
+                versions.add(version.asText());
+            }
+            return versions;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.etnetera.hr.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Criteria of framework search, all of them are optional and combined with AND
+ *
+ * @author Marketa Halikova
+ */
+@Data
+@Builder
+public class FrameworkSearchCriteriaDto {
+    /**
+     * Case insensitive substring of framework name
+     */
+    private String name;
+    /**
+     * Exact version the framework must have
+     */
+    private String version;
+    /**
+     * Range of semantic versions, e.g. ">=3.2.0 <4", framework must have a version in it
+     */
+    private String versionRange;
+    /**
+     * Hype levels, framework must have one of them
+     */
+    private List<String> hypeLevels;
+    /**
+     * Lower bound of deprecation date, inclusive
+     */
+    private Date deprecatedFrom;
+    /**
+     * Upper bound of deprecation date, inclusive
+     */
+    private Date deprecatedTo;
+}
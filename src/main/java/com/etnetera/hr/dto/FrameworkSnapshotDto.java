@@ -0,0 +1,27 @@
+package com.etnetera.hr.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * DTO describing written or restored catalog snapshot
+ *
+ * @author Marketa Halikova
+ */
+@Data
+@Builder
+public class FrameworkSnapshotDto {
+    private String file;
+    private long frameworks;
+    private long bytes;
+    /**
+     * Time the snapshot was written
+     */
+    private Date createdAt;
+    /**
+     * Milliseconds the snapshot took to write or restore
+     */
+    private long durationMs;
+}
@@ -0,0 +1,36 @@
+package com.etnetera.hr.dto;
+
+import com.etnetera.hr.domain.HypeLevelEnum;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * DTO for aggregate counts of the catalog
+ *
+ * @author Marketa Halikova
+ */
+@Data
+@Builder
+public class FrameworkStatisticsDto {
+    private long total;
+    /**
+     * Number of frameworks for every hype level, levels without frameworks included
+     */
+    private Map<HypeLevelEnum, Long> hypeLevels;
+    /**
+     * Number of frameworks whose deprecation date has been reached
+     */
+    private long deprecated;
+    private long notDeprecated;
+    /**
+     * Number of frameworks by their number of versions, ordered by the number of versions
+     */
+    private Map<Integer, Long> versionCounts;
+    /**
+     * Time counters were last compared with the database, null before the first reconciliation
+     */
+    private Date reconciledAt;
+}
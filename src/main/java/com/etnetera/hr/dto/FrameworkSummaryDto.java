@@ -0,0 +1,21 @@
+package com.etnetera.hr.dto;
+
+import com.etnetera.hr.domain.HypeLevelEnum;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * Framework reduced to the properties aggregated by the statistics
+ *
+ * @author Marketa Halikova
+ */
+@Data
+@Builder
+public class FrameworkSummaryDto {
+    private Long id;
+    private HypeLevelEnum hypeLevel;
+    private Date deprecationDate;
+    private int versionCount;
+}
@@ -1,10 +1,12 @@
 package com.etnetera.hr.dto;
 
 import com.etnetera.hr.domain.HypeLevelEnum;
+import com.etnetera.hr.domain.JavaScriptFramework;
 import lombok.Builder;
 import lombok.Data;
 
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 import java.util.Date;
 import java.util.Set;
 
@@ -18,8 +20,17 @@ import java.util.Set;
 public class JavaScriptFrameworkDto {
     @NotNull
     private Long id;
+    @Size(max = 30)
     private String name;
-    private Set<String> versions;
+    private Set<@Size(max = JavaScriptFramework.VERSION_LENGTH) String> versions;
+    /**
+     * Latest well formed semantic version of versions, null when there is none
+     */
+    private String latestVersion;
     private Date deprecationDate;
     private HypeLevelEnum hypeLevel;
+    /**
+     * Revision the framework was read in, update is rejected when the framework was changed since
+     */
+    private Long revision;
 }
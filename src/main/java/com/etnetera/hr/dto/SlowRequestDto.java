@@ -0,0 +1,24 @@
+package com.etnetera.hr.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * DTO for one slow request with milliseconds spent in controller, mapper, repository, SQL statements and JSON serialization
+ *
+ * @author Marketa Halikova
+ */
+@Data
+@Builder
+public class SlowRequestDto {
+    private String method;
+    private String uri;
+    private int status;
+    private double durationMs;
+    private Map<String, Double> timings;
+    private int statements;
+    private Date finishedAt;
+}
@@ -0,0 +1,22 @@
+package com.etnetera.hr.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Application event published by DataBuilder once the catalog is restored or imported. In-memory views
+ * of the catalog build themselves on it, listeners run in the bootstrap thread and the application
+ * is not ready until all of them finish.
+ *
+ * @author Marketa Halikova
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class CatalogBootstrappedEvent {
+    /**
+     * Milliseconds spent restoring or importing the catalog
+     */
+    private final long durationMs;
+}
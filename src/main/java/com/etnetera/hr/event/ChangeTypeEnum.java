@@ -0,0 +1,12 @@
+package com.etnetera.hr.event;
+
+/**
+ * Kind of change of JavaScript framework
+ *
+ * @author Marketa Halikova
+ */
+public enum ChangeTypeEnum {
+    CREATED,
+    UPDATED,
+    DELETED;
+}
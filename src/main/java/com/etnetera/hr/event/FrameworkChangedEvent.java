@@ -0,0 +1,41 @@
+package com.etnetera.hr.event;
+
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Application event published by JavaScriptFrameworkService for every created, updated
+ * and deleted framework. In-memory views of the catalog listen to it after commit
+ * (see TransactionalEventListener), so they never see changes that were rolled back.
+ *
+ * @author Marketa Halikova
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class FrameworkChangedEvent {
+    private final ChangeTypeEnum type;
+    private final Long id;
+    /**
+     * State before the change, null for created framework
+     */
+    private final JavaScriptFrameworkDto previous;
+    /**
+     * State after the change, null for deleted framework
+     */
+    private final JavaScriptFrameworkDto current;
+
+    public static FrameworkChangedEvent created(JavaScriptFrameworkDto current) {
+        return new FrameworkChangedEvent(ChangeTypeEnum.CREATED, current.getId(), null, current);
+    }
+
+    public static FrameworkChangedEvent updated(JavaScriptFrameworkDto previous, JavaScriptFrameworkDto current) {
+        return new FrameworkChangedEvent(ChangeTypeEnum.UPDATED, current.getId(), previous, current);
+    }
+
+    public static FrameworkChangedEvent deleted(JavaScriptFrameworkDto previous) {
+        return new FrameworkChangedEvent(ChangeTypeEnum.DELETED, previous.getId(), previous, null);
+    }
+}
@@ -0,0 +1,22 @@
+package com.etnetera.hr.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.Date;
+
+/**
+ * Application event published by DeprecationSchedulerService when deprecation date of a framework
+ * is reached. Listeners run in the scheduler thread, so they should hand longer work over.
+ *
+ * @author Marketa Halikova
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class FrameworkDeprecatedEvent {
+    private final Long id;
+    private final String name;
+    private final Date deprecationDate;
+}
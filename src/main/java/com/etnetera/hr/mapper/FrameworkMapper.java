@@ -2,9 +2,12 @@ package com.etnetera.hr.mapper;
 
 import com.etnetera.hr.domain.JavaScriptFramework;
 import com.etnetera.hr.dto.CreateJavaScriptFrameworkDto;
+import com.etnetera.hr.dto.FrameworkPatchDto;
 import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import org.mapstruct.AfterMapping;
 import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
@@ -16,8 +19,38 @@ import org.mapstruct.NullValuePropertyMappingStrategy;
 @Mapper(componentModel = "spring")
 public interface FrameworkMapper {
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "revision", ignore = true)
+    @Mapping(target = "latestVersion", ignore = true)
     void updateFrameworkFromDto(JavaScriptFrameworkDto dto, @MappingTarget JavaScriptFramework entity);
 
+    /**
+     * Apply merge patch, properties are set only when the patch has them, see FrameworkPatchDto.hasName()
+     */
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "revision", ignore = true)
+    @Mapping(target = "latestVersion", ignore = true)
+    @Mapping(target = "versions", ignore = true)
+    void patchFramework(FrameworkPatchDto patch, @MappingTarget JavaScriptFramework entity);
+
+    /**
+     * Versions are changed in the persistent set, so only added and removed version rows are written
+     */
+    @AfterMapping
+    default void patchVersions(FrameworkPatchDto patch, @MappingTarget JavaScriptFramework entity) {
+        FrameworkPatchDto.VersionsPatch versions = patch.getVersions();
+        if (versions == null) {
+            return;
+        }
+        if (versions.getReplace() != null) {
+            entity.getVersions().retainAll(versions.getReplace());
+            entity.getVersions().addAll(versions.getReplace());
+        } else {
+            entity.getVersions().removeAll(versions.getRemove());
+            entity.getVersions().addAll(versions.getAdd());
+        }
+    }
+
     JavaScriptFramework createDtoToEntity(CreateJavaScriptFrameworkDto dto);
 
     JavaScriptFrameworkDto entityToDto(JavaScriptFramework entity);
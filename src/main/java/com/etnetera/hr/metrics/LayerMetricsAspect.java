@@ -0,0 +1,117 @@
+package com.etnetera.hr.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.repository.Repository;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures every method of controllers, services and repositories: latency histogram of every call,
+ * counter of failed calls by exception and distribution of result sizes for methods returning
+ * collections. Meters are exposed by actuator, e.g. on /actuator/prometheus.
+ *
+ * @author Marketa Halikova
+ */
+@RequiredArgsConstructor
+@Aspect
+@Component
+public class LayerMetricsAspect {
+
+    public static final String CALLS = "frameworks.layer.calls";
+    public static final String ERRORS = "frameworks.layer.errors";
+    public static final String RESULT_SIZE = "frameworks.layer.result.size";
+
+    private final MeterRegistry registry;
+    private final Map<Class<?>, String> typeNames = new ConcurrentHashMap<>();
+
+    @Around("within(com.etnetera.hr.controller..*)")
+    public Object measureController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return measure("controller", joinPoint);
+    }
+
+    @Around("within(com.etnetera.hr.service..*)")
+    public Object measureService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return measure("service", joinPoint);
+    }
+
+    /**
+     * Spring Data repositories are proxies, methods inherited from JpaRepository are matched by the proxy type
+     */
+    @Around("within(com.etnetera.hr.repository..*) || this(org.springframework.data.repository.Repository)")
+    public Object measureRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return measure("repository", joinPoint);
+    }
+
+    private Object measure(String layer, ProceedingJoinPoint joinPoint) throws Throwable {
+        String type = typeNames.computeIfAbsent(joinPoint.getTarget().getClass(), LayerMetricsAspect::typeName);
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            Object result = joinPoint.proceed();
+            sample.stop(timer(layer, type, method, "success", "none"));
+            size(result).ifPresent(size -> DistributionSummary.builder(RESULT_SIZE)
+                    .description("Number of items returned by one call")
+                    .tags("layer", layer, "class", type, "method", method)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(size));
+            return result;
+        } catch (Throwable e) {
+            String exception = e.getClass().getSimpleName();
+            sample.stop(timer(layer, type, method, "error", exception));
+            registry.counter(ERRORS, "layer", layer, "class", type, "method", method, "exception", exception).increment();
+            throw e;
+        }
+    }
+
+    private Timer timer(String layer, String type, String method, String outcome, String exception) {
+        return Timer.builder(CALLS)
+                .description("Latency of controller, service and repository methods")
+                .tags("layer", layer, "class", type, "method", method, "outcome", outcome, "exception", exception)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Spring Data repository is a JDK proxy, it is named by its repository interface instead of the proxy class
+     */
+    private static String typeName(Class<?> type) {
+        if (Proxy.isProxyClass(type)) {
+            for (Class<?> repository : type.getInterfaces()) {
+                if (Repository.class.isAssignableFrom(repository)) {
+                    return repository.getSimpleName();
+                }
+            }
+        }
+        return type.getSimpleName();
+    }
+
+    /**
+     * Size of collection result, also inside Optional or ResponseEntity, empty for other results
+     */
+    private static Optional<Integer> size(Object result) {
+        if (result instanceof ResponseEntity) {
+            return size(((ResponseEntity<?>) result).getBody());
+        } else if (result instanceof Optional) {
+            return ((Optional<?>) result).flatMap(LayerMetricsAspect::size);
+        } else if (result instanceof Collection) {
+            return Optional.of(((Collection<?>) result).size());
+        } else if (result instanceof Map) {
+            return Optional.of(((Map<?, ?>) result).size());
+        } else {
+            return Optional.empty();
+        }
+    }
+}
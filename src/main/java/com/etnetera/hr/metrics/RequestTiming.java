@@ -0,0 +1,102 @@
+package com.etnetera.hr.metrics;
+
+import java.util.Locale;
+
+/**
+ * Time one request spent in each layer, collected by the thread serving the request.
+ * Nested calls of the same phase are measured once by the outermost call, phases themselves
+ * overlap, e.g. controller time contains mapper and repository time.
+ *
+ * @author Marketa Halikova
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    public enum Phase {
+        CONTROLLER("controller"),
+        MAPPER("mapper"),
+        REPOSITORY("repository"),
+        SQL("sql"),
+        JSON("json");
+
+        private final String metric;
+
+        Phase(String metric) {
+            this.metric = metric;
+        }
+
+        public String getMetric() {
+            return metric;
+        }
+    }
+
+    private final long[] nanos = new long[Phase.values().length];
+    private final boolean[] active = new boolean[Phase.values().length];
+    private int statements;
+
+    /**
+     * Start collecting timing of the request served by current thread
+     */
+    static RequestTiming start() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return timing of the request served by current thread, null when it is not collected
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return false when the phase is already measured by an enclosing call
+     */
+    boolean enter(Phase phase) {
+        if (active[phase.ordinal()]) {
+            return false;
+        }
+        active[phase.ordinal()] = true;
+        return true;
+    }
+
+    void exit(Phase phase, long elapsedNanos) {
+        active[phase.ordinal()] = false;
+        nanos[phase.ordinal()] += elapsedNanos;
+    }
+
+    void addStatement(long elapsedNanos) {
+        statements++;
+        nanos[Phase.SQL.ordinal()] += elapsedNanos;
+    }
+
+    public double getMillis(Phase phase) {
+        return nanos[phase.ordinal()] / 1_000_000d;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * @param totalNanos duration of the whole request
+     * @return value of Server-Timing header, e.g. controller;dur=4.20, sql;dur=1.10;desc="2 statements", total;dur=5.00
+     */
+    String toServerTiming(long totalNanos) {
+        StringBuilder header = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            header.append(String.format(Locale.ROOT, "%s;dur=%.2f", phase.getMetric(), getMillis(phase)));
+            if (phase == Phase.SQL) {
+                header.append(";desc=\"").append(statements).append(" statements\"");
+            }
+            header.append(", ");
+        }
+        return header.append(String.format(Locale.ROOT, "total;dur=%.2f", totalNanos / 1_000_000d)).toString();
+    }
+}
@@ -0,0 +1,46 @@
+package com.etnetera.hr.metrics;
+
+import com.etnetera.hr.metrics.RequestTiming.Phase;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds time of controller, mapper and repository calls to the timing of current request,
+ * calls outside of a timed request only pay for one thread local lookup.
+ *
+ * @author Marketa Halikova
+ */
+@Aspect
+@Component
+public class ServerTimingAspect {
+
+    @Around("within(com.etnetera.hr.controller..*)")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(Phase.CONTROLLER, joinPoint);
+    }
+
+    @Around("within(com.etnetera.hr.mapper..*)")
+    public Object timeMapper(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(Phase.MAPPER, joinPoint);
+    }
+
+    @Around("within(com.etnetera.hr.repository..*) || this(org.springframework.data.repository.Repository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(Phase.REPOSITORY, joinPoint);
+    }
+
+    private static Object time(Phase phase, ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null || !timing.enter(phase)) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timing.exit(phase, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.etnetera.hr.metrics;
+
+import com.etnetera.hr.config.StreamingRequests;
+import com.etnetera.hr.dto.SlowRequestDto;
+import com.etnetera.hr.metrics.RequestTiming.Phase;
+import com.etnetera.hr.service.SlowRequestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects timing of every request and hands slow ones to SlowRequestService. When the client asks for it
+ * by header X-Server-Timing or parameter serverTiming, the response body is buffered, so that the
+ * Server-Timing header can be added after the body was serialized. Streamed responses, see StreamingRequests,
+ * are never buffered, their timing ends when the request turns asynchronous, so they are not reported.
+ *
+ * @author Marketa Halikova
+ */
+@RequiredArgsConstructor
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+    public static final String REQUEST_HEADER = "X-Server-Timing";
+    public static final String REQUEST_PARAMETER = "serverTiming";
+
+    private final SlowRequestService slowRequestService;
+    private final long slowRequestThresholdMs;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper buffered = isRequested(request) ? new StreamingAwareResponseWrapper(request, response) : null;
+        RequestTiming timing = RequestTiming.start();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, buffered == null ? response : buffered);
+        } finally {
+            long total = System.nanoTime() - start;
+            RequestTiming.stop();
+            boolean streaming = StreamingRequests.isStreaming(request) || request.isAsyncStarted();
+            if (buffered != null && !streaming) {
+                if (!response.isCommitted()) {
+                    buffered.setHeader(SERVER_TIMING_HEADER, timing.toServerTiming(total));
+                }
+                buffered.copyBodyToResponse();
+            }
+            if (!streaming && total / 1_000_000 >= slowRequestThresholdMs) {
+                slowRequestService.record(toSlowRequest(request, response, timing, total));
+            }
+        }
+    }
+
+    /**
+     * Buffers the body unless the handler turned out to stream it, then writes go straight to the client
+     */
+    private static class StreamingAwareResponseWrapper extends ContentCachingResponseWrapper {
+        private final HttpServletRequest request;
+
+        StreamingAwareResponseWrapper(HttpServletRequest request, HttpServletResponse response) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            return StreamingRequests.isStreaming(request) ? getResponse().getOutputStream() : super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            return StreamingRequests.isStreaming(request) ? getResponse().getWriter() : super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (StreamingRequests.isStreaming(request)) {
+                getResponse().flushBuffer();
+            } else {
+                super.flushBuffer();
+            }
+        }
+    }
+
+    private static boolean isRequested(HttpServletRequest request) {
+        return request.getHeader(REQUEST_HEADER) != null || request.getParameter(REQUEST_PARAMETER) != null;
+    }
+
+    private static SlowRequestDto toSlowRequest(HttpServletRequest request, HttpServletResponse response, RequestTiming timing, long total) {
+        Map<String, Double> phases = new LinkedHashMap<>();
+        for (Phase phase : Phase.values()) {
+            phases.put(phase.getMetric(), timing.getMillis(phase));
+        }
+        String query = request.getQueryString();
+        return SlowRequestDto.builder()
+                .method(request.getMethod())
+                .uri(query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query)
+                .status(response.getStatus())
+                .durationMs(total / 1_000_000d)
+                .timings(phases)
+                .statements(timing.getStatements())
+                .finishedAt(new Date())
+                .build();
+    }
+}
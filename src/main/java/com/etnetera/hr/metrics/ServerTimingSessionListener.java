@@ -0,0 +1,43 @@
+package com.etnetera.hr.metrics;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Hibernate session listener adding every executed JDBC statement or batch to the timing of current request.
+ * Hibernate creates one instance per session.
+ *
+ * @author Marketa Halikova
+ */
+public class ServerTimingSessionListener extends BaseSessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private long start;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        addStatement();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        addStatement();
+    }
+
+    private void addStatement() {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.addStatement(System.nanoTime() - start);
+        }
+    }
+}
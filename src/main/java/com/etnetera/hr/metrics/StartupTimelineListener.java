@@ -0,0 +1,66 @@
+package com.etnetera.hr.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.*;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Logs how long every phase of application startup took, from JVM start to the ready event.
+ * First events come before the context exists, so the listener is added to SpringApplication
+ * in Application.main, not declared as a bean. Catalog bootstrap after the ready event is logged
+ * by DataBuilder.
+ *
+ * @author Marketa Halikova
+ */
+@Slf4j
+public class StartupTimelineListener implements ApplicationListener<ApplicationEvent> {
+
+    private final Map<String, Long> timeline = new LinkedHashMap<>();
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (event instanceof ApplicationStartingEvent) {
+            mark("jvm start");
+        } else if (event instanceof ApplicationEnvironmentPreparedEvent) {
+            mark("environment prepared");
+        } else if (event instanceof ApplicationContextInitializedEvent) {
+            mark("context initialized");
+        } else if (event instanceof ApplicationPreparedEvent) {
+            mark("bean definitions loaded");
+        } else if (event instanceof ContextRefreshedEvent && timeline.containsKey("bean definitions loaded")) {
+            mark("beans created and context refreshed");
+        } else if (event instanceof WebServerInitializedEvent) {
+            mark("web server started");
+        } else if (event instanceof ApplicationStartedEvent) {
+            mark("runners ready");
+        } else if (event instanceof ApplicationReadyEvent) {
+            mark("ready listeners");
+            log();
+        }
+    }
+
+    /**
+     * Remember milliseconds since JVM start at the end of the phase, each phase only once
+     */
+    private void mark(String phase) {
+        timeline.putIfAbsent(phase, ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    private void log() {
+        StringBuilder message = new StringBuilder("Startup timeline, phase: duration (ms since JVM start)");
+        long previous = 0;
+        for (Map.Entry<String, Long> phase : timeline.entrySet()) {
+            message.append("\n  ").append(phase.getKey()).append(": ").append(phase.getValue() - previous)
+                    .append(" ms (").append(phase.getValue()).append(")");
+            previous = phase.getValue();
+        }
+        log.info(message.toString());
+    }
+}
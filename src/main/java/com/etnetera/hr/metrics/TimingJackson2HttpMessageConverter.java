@@ -0,0 +1,36 @@
+package com.etnetera.hr.metrics;
+
+import com.etnetera.hr.metrics.RequestTiming.Phase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter adding serialization of response body to the timing of current request
+ *
+ * @author Marketa Halikova
+ */
+public class TimingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TimingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null || !timing.enter(Phase.JSON)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            timing.exit(Phase.JSON, System.nanoTime() - start);
+        }
+    }
+}
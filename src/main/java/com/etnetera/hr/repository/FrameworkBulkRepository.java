@@ -0,0 +1,70 @@
+package com.etnetera.hr.repository;
+
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain JDBC writes of whole frameworks, used to load a catalog snapshot. Nothing goes through
+ * Hibernate, so there are no entities, no events and the second level cache does not know about the rows.
+ *
+ * @author Marketa Halikova
+ */
+@RequiredArgsConstructor
+@Repository
+public class FrameworkBulkRepository {
+
+    private static final String INSERT_FRAMEWORK = "INSERT INTO JAVA_SCRIPT_FRAMEWORK"
+            + " (ID, NAME, LATEST_VERSION, DEPRECATION_DATE, HYPE_LEVEL, REVISION) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_VERSION = "INSERT INTO JAVA_SCRIPT_FRAMEWORK_VERSIONS"
+            + " (JAVA_SCRIPT_FRAMEWORK_ID, VERSION) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public long count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM JAVA_SCRIPT_FRAMEWORK", Long.class);
+    }
+
+    /**
+     * Insert frameworks with their ids, revisions and versions as two JDBC batches. Parameters are set
+     * with explicit types, JdbcTemplate would ask the driver for parameter metadata of every null.
+     */
+    public void insertAll(List<JavaScriptFrameworkDto> frameworks) {
+        List<Object[]> versions = new ArrayList<>();
+        for (JavaScriptFrameworkDto framework : frameworks) {
+            for (String version : framework.getVersions()) {
+                versions.add(new Object[]{framework.getId(), version});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_FRAMEWORK, frameworks, frameworks.size(), (statement, framework) -> {
+            statement.setLong(1, framework.getId());
+            statement.setString(2, framework.getName());
+            statement.setString(3, framework.getLatestVersion());
+            if (framework.getDeprecationDate() == null) {
+                statement.setNull(4, Types.TIMESTAMP);
+            } else {
+                statement.setTimestamp(4, new Timestamp(framework.getDeprecationDate().getTime()));
+            }
+            statement.setString(5, framework.getHypeLevel().name());
+            statement.setLong(6, framework.getRevision());
+        });
+        jdbcTemplate.batchUpdate(INSERT_VERSION, versions, versions.size(), (statement, version) -> {
+            statement.setLong(1, (Long) version[0]);
+            statement.setString(2, (String) version[1]);
+        });
+    }
+
+    /**
+     * Move id sequence past the given id. Pooled optimizer takes the sequence value as the upper end
+     * of its block of 50 ids, so the first block starts right after maxId.
+     */
+    public void restartIdSequence(long maxId) {
+        jdbcTemplate.execute("ALTER SEQUENCE FRAMEWORK_SEQ RESTART WITH " + (maxId + 50));
+    }
+}
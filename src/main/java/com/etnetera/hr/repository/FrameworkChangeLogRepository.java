@@ -0,0 +1,83 @@
+package com.etnetera.hr.repository;
+
+import com.etnetera.hr.domain.FrameworkChange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Plain JDBC access to the change log of FrameworkChange rows, which is written after commit of every change
+ * and read by its sequence index.
+ *
+ * @author Marketa Halikova
+ */
+@RequiredArgsConstructor
+@Repository
+public class FrameworkChangeLogRepository {
+
+    private static final String UPSERT = "MERGE INTO FRAMEWORK_CHANGE (FRAMEWORK_ID, CHANGE_SEQUENCE, DELETED, CHANGED_AT)"
+            + " KEY (FRAMEWORK_ID) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Replace the last change of every framework with the given one
+     */
+    public void upsertAll(List<FrameworkChange> changes) {
+        jdbcTemplate.batchUpdate(UPSERT, changes, changes.size(), (statement, change) -> {
+            statement.setLong(1, change.getFrameworkId());
+            statement.setLong(2, change.getChangeSequence());
+            statement.setBoolean(3, change.isDeleted());
+            statement.setTimestamp(4, new Timestamp(change.getChangedAt().getTime()));
+        });
+    }
+
+    /**
+     * Record frameworks which have no change yet, e.g. restored from a snapshot, as changed now
+     *
+     * @param afterSequence the frameworks get sequences following this one
+     * @return number of recorded frameworks
+     */
+    public int insertUnrecorded(long afterSequence, Date changedAt) {
+        return jdbcTemplate.update("INSERT INTO FRAMEWORK_CHANGE (FRAMEWORK_ID, CHANGE_SEQUENCE, DELETED, CHANGED_AT)"
+                        + " SELECT f.ID, ? + ROWNUM(), FALSE, ? FROM JAVA_SCRIPT_FRAMEWORK f"
+                        + " WHERE NOT EXISTS (SELECT 1 FROM FRAMEWORK_CHANGE c WHERE c.FRAMEWORK_ID = f.ID)",
+                afterSequence, new Timestamp(changedAt.getTime()));
+    }
+
+    /**
+     * Changes after the sequence ordered by it, a range scan of the sequence index
+     */
+    public List<FrameworkChange> findAfter(long sequence, int limit) {
+        return jdbcTemplate.query("SELECT FRAMEWORK_ID, CHANGE_SEQUENCE, DELETED, CHANGED_AT FROM FRAMEWORK_CHANGE"
+                        + " WHERE CHANGE_SEQUENCE > ? ORDER BY CHANGE_SEQUENCE LIMIT ?",
+                (row, number) -> FrameworkChange.builder()
+                        .frameworkId(row.getLong(1))
+                        .changeSequence(row.getLong(2))
+                        .deleted(row.getBoolean(3))
+                        .changedAt(new Date(row.getTimestamp(4).getTime()))
+                        .build(),
+                sequence, limit);
+    }
+
+    /**
+     * Sequence of the newest tombstone older than the given time, 0 when there is none
+     */
+    public long findLastTombstoneSequence(Date changedBefore) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(CHANGE_SEQUENCE), 0) FROM FRAMEWORK_CHANGE"
+                + " WHERE DELETED AND CHANGED_AT < ?", Long.class, new Timestamp(changedBefore.getTime()));
+    }
+
+    /**
+     * Remove tombstones up to the sequence
+     *
+     * @return number of removed tombstones
+     */
+    public int deleteTombstones(long upToSequence) {
+        return jdbcTemplate.update("DELETE FROM FRAMEWORK_CHANGE WHERE DELETED AND CHANGE_SEQUENCE <= ?", upToSequence);
+    }
+}
@@ -0,0 +1,260 @@
+package com.etnetera.hr.repository;
+
+import com.etnetera.hr.domain.HypeLevelEnum;
+import com.etnetera.hr.dto.FrameworkFieldEnum;
+import com.etnetera.hr.dto.FrameworkSummaryDto;
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.*;
+
+/**
+ * Read only queries building JavaScriptFrameworkDto directly from one join of frameworks
+ * with their versions. No entity is hydrated, so there is nothing to dirty check and
+ * versions are not fetched by extra select for every framework. Queries taking fields read only
+ * their columns, id always, and join versions only when they are among them.
+ *
+ * @author Marketa Halikova
+ */
+@RequiredArgsConstructor
+@Repository
+public class FrameworkQueryRepository {
+
+    private static final Set<FrameworkFieldEnum> ALL_FIELDS = Collections.unmodifiableSet(EnumSet.allOf(FrameworkFieldEnum.class));
+    /**
+     * Columns of fields read from the framework row, in the order they are selected after f.ID
+     */
+    private static final Map<FrameworkFieldEnum, String> COLUMNS = new EnumMap<>(Map.of(
+            FrameworkFieldEnum.NAME, "f.NAME",
+            FrameworkFieldEnum.LATEST_VERSION, "f.LATEST_VERSION",
+            FrameworkFieldEnum.DEPRECATION_DATE, "f.DEPRECATION_DATE",
+            FrameworkFieldEnum.HYPE_LEVEL, "f.HYPE_LEVEL",
+            FrameworkFieldEnum.REVISION, "f.REVISION"));
+    private static final String JOIN_VERSIONS = " LEFT JOIN JAVA_SCRIPT_FRAMEWORK_VERSIONS v ON v.JAVA_SCRIPT_FRAMEWORK_ID = f.ID";
+
+    private final EntityManager entityManager;
+
+    public List<JavaScriptFrameworkDto> findAll() {
+        return toDtos(entityManager.createNativeQuery(select(ALL_FIELDS) + " FROM JAVA_SCRIPT_FRAMEWORK f"
+                + JOIN_VERSIONS + " ORDER BY f.ID"), ALL_FIELDS);
+    }
+
+    public List<JavaScriptFrameworkDto> findAllByHypeLevel(HypeLevelEnum hypeLevel, Set<FrameworkFieldEnum> fields) {
+        return toDtos(entityManager.createNativeQuery(select(fields) + " FROM JAVA_SCRIPT_FRAMEWORK f"
+                + (fields.contains(FrameworkFieldEnum.VERSIONS) ? JOIN_VERSIONS : "") + " WHERE f.HYPE_LEVEL = :hypeLevel ORDER BY f.ID")
+                .setParameter("hypeLevel", hypeLevel.name()), fields);
+    }
+
+    /**
+     * Frameworks with the ids ordered by id, missing ids are left out
+     */
+    public List<JavaScriptFrameworkDto> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return toDtos(page("SELECT * FROM JAVA_SCRIPT_FRAMEWORK WHERE ID IN (:ids)", "f.ID", ALL_FIELDS)
+                .setParameter("ids", ids), ALL_FIELDS);
+    }
+
+    /**
+     * Page of frameworks ordered by id
+     *
+     * @param afterId id of the last framework of previous page, null for the first page
+     */
+    public List<JavaScriptFrameworkDto> findPageById(Long afterId, int limit, Set<FrameworkFieldEnum> fields) {
+        Query query = page("SELECT * FROM JAVA_SCRIPT_FRAMEWORK"
+                + (afterId == null ? "" : " WHERE ID > :id")
+                + " ORDER BY ID LIMIT :limit", "f.ID", fields)
+                .setParameter("limit", limit);
+        if (afterId != null) {
+            query.setParameter("id", afterId);
+        }
+        return toDtos(query, fields);
+    }
+
+    /**
+     * Page of frameworks ordered by name
+     *
+     * @param afterName name of the last framework of previous page, null for the first page
+     */
+    public List<JavaScriptFrameworkDto> findPageByName(String afterName, int limit, Set<FrameworkFieldEnum> fields) {
+        Query query = page("SELECT * FROM JAVA_SCRIPT_FRAMEWORK"
+                + (afterName == null ? "" : " WHERE NAME > :name")
+                + " ORDER BY NAME LIMIT :limit", "f.NAME", fields)
+                .setParameter("limit", limit);
+        if (afterName != null) {
+            query.setParameter("name", afterName);
+        }
+        return toDtos(query, fields);
+    }
+
+    /**
+     * Page of frameworks ordered by (deprecationDate, id) with frameworks without deprecation date
+     * at the end ordered by id. Both parts are keyset range scans joined into one statement.
+     *
+     * @param afterDate deprecation date of the last framework of previous page
+     * @param afterId   id of the last framework of previous page, null for the first page
+     */
+    public List<JavaScriptFrameworkDto> findPageByDeprecationDate(Date afterDate, Long afterId, int limit, Set<FrameworkFieldEnum> fields) {
+        boolean afterUndated = afterId != null && afterDate == null;
+        List<String> parts = new ArrayList<>();
+        if (!afterUndated) {
+            parts.add("(SELECT f.*, 0 AS PART FROM JAVA_SCRIPT_FRAMEWORK f WHERE f.DEPRECATION_DATE IS NOT NULL"
+                    + (afterId == null ? "" : " AND (f.DEPRECATION_DATE > :date OR (f.DEPRECATION_DATE = :date AND f.ID > :id))")
+                    + " ORDER BY f.DEPRECATION_DATE, f.ID LIMIT :limit)");
+        }
+        parts.add("(SELECT f.*, 1 AS PART FROM JAVA_SCRIPT_FRAMEWORK f WHERE f.DEPRECATION_DATE IS NULL"
+                + (afterUndated ? " AND f.ID > :id" : "")
+                + " ORDER BY f.ID LIMIT :limit)");
+        Query query = page("SELECT * FROM (" + String.join(" UNION ALL ", parts) + ") ORDER BY PART, DEPRECATION_DATE, ID LIMIT :limit",
+                "f.PART, f.DEPRECATION_DATE, f.ID", fields)
+                .setParameter("limit", limit);
+        if (afterId != null) {
+            query.setParameter("id", afterId);
+        }
+        if (afterDate != null) {
+            query.setParameter("date", afterDate);
+        }
+        return toDtos(query, fields);
+    }
+
+    /**
+     * Frameworks deprecated in the range ordered by (deprecationDate, id), a range scan of the deprecation date index
+     *
+     * @param from lower bound of deprecation date, inclusive, null for unbounded
+     * @param to   upper bound of deprecation date, inclusive, null for unbounded
+     */
+    public List<JavaScriptFrameworkDto> findAllByDeprecationDate(Date from, Date to, Set<FrameworkFieldEnum> fields) {
+        Query query = page("SELECT * FROM JAVA_SCRIPT_FRAMEWORK WHERE DEPRECATION_DATE IS NOT NULL"
+                + (from == null ? "" : " AND DEPRECATION_DATE >= :from")
+                + (to == null ? "" : " AND DEPRECATION_DATE <= :to"), "f.DEPRECATION_DATE, f.ID", fields);
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        return toDtos(query, fields);
+    }
+
+    /**
+     * Ids of all frameworks by their names, nothing else is read
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Long> findAllIdsByName() {
+        List<Object[]> rows = entityManager.createNativeQuery("SELECT NAME, ID FROM JAVA_SCRIPT_FRAMEWORK").getResultList();
+        Map<String, Long> ids = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            ids.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return ids;
+    }
+
+    /**
+     * Id of the framework with exactly this name, nothing else is read
+     */
+    public Optional<Long> findIdByName(String name) {
+        List<?> ids = entityManager.createNativeQuery("SELECT ID FROM JAVA_SCRIPT_FRAMEWORK WHERE NAME = :name")
+                .setParameter("name", name)
+                .getResultList();
+        return ids.stream().findFirst().map(id -> ((Number) id).longValue());
+    }
+
+    /**
+     * All frameworks reduced to what the statistics count, versions are counted by the database
+     */
+    @SuppressWarnings("unchecked")
+    public List<FrameworkSummaryDto> findAllSummaries() {
+        List<Object[]> rows = entityManager.createNativeQuery("SELECT f.ID, f.HYPE_LEVEL, f.DEPRECATION_DATE, COUNT(v.VERSION)"
+                + " FROM JAVA_SCRIPT_FRAMEWORK f" + JOIN_VERSIONS + " GROUP BY f.ID, f.HYPE_LEVEL, f.DEPRECATION_DATE")
+                .getResultList();
+        List<FrameworkSummaryDto> summaries = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            summaries.add(FrameworkSummaryDto.builder()
+                    .id(((Number) row[0]).longValue())
+                    .hypeLevel(HypeLevelEnum.valueOf((String) row[1]))
+                    .deprecationDate(row[2] == null ? null : new Date(((Date) row[2]).getTime()))
+                    .versionCount(((Number) row[3]).intValue())
+                    .build());
+        }
+        return summaries;
+    }
+
+    /**
+     * Limits the frameworks first and joins their versions afterwards, so that the limit counts frameworks, not rows
+     */
+    private Query page(String frameworks, String order, Set<FrameworkFieldEnum> fields) {
+        return entityManager.createNativeQuery(select(fields) + " FROM (" + frameworks + ") f"
+                + (fields.contains(FrameworkFieldEnum.VERSIONS) ? JOIN_VERSIONS : "") + " ORDER BY " + order);
+    }
+
+    private static String select(Set<FrameworkFieldEnum> fields) {
+        StringBuilder select = new StringBuilder("SELECT f.ID");
+        COLUMNS.forEach((field, column) -> {
+            if (fields.contains(field)) {
+                select.append(", ").append(column);
+            }
+        });
+        if (fields.contains(FrameworkFieldEnum.VERSIONS)) {
+            select.append(", v.VERSION");
+        }
+        return select.toString();
+    }
+
+    /**
+     * Frameworks from rows of columns chosen by select(fields), fields not among them stay null
+     */
+    @SuppressWarnings("unchecked")
+    private List<JavaScriptFrameworkDto> toDtos(Query query, Set<FrameworkFieldEnum> fields) {
+        boolean versions = fields.contains(FrameworkFieldEnum.VERSIONS);
+        Map<Long, JavaScriptFrameworkDto> frameworks = new LinkedHashMap<>();
+        for (Object result : (List<Object>) query.getResultList()) {
+            // a single selected column comes without array
+            Object[] row = result instanceof Object[] ? (Object[]) result : new Object[]{result};
+            long id = ((Number) row[0]).longValue();
+            JavaScriptFrameworkDto framework = frameworks.get(id);
+            if (framework == null) {
+                framework = JavaScriptFrameworkDto.builder()
+                        .id(id)
+                        .versions(versions ? new HashSet<>() : null)
+                        .build();
+                int column = 1;
+                for (FrameworkFieldEnum field : COLUMNS.keySet()) {
+                    if (fields.contains(field)) {
+                        setField(framework, field, row[column++]);
+                    }
+                }
+                frameworks.put(id, framework);
+            }
+            if (versions && row[row.length - 1] != null) {
+                framework.getVersions().add((String) row[row.length - 1]);
+            }
+        }
+        return new ArrayList<>(frameworks.values());
+    }
+
+    private static void setField(JavaScriptFrameworkDto framework, FrameworkFieldEnum field, Object value) {
+        switch (field) {
+            case NAME:
+                framework.setName((String) value);
+                break;
+            case LATEST_VERSION:
+                framework.setLatestVersion((String) value);
+                break;
+            case DEPRECATION_DATE:
+                framework.setDeprecationDate(value == null ? null : new Date(((Date) value).getTime()));
+                break;
+            case HYPE_LEVEL:
+                framework.setHypeLevel(HypeLevelEnum.valueOf((String) value));
+                break;
+            case REVISION:
+                framework.setRevision(((Number) value).longValue());
+                break;
+            default:
+                throw new IllegalArgumentException("Field " + field + " is not a framework column");
+        }
+    }
+}
@@ -1,19 +1,35 @@
 package com.etnetera.hr.repository;
 
-import com.etnetera.hr.domain.HypeLevelEnum;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.etnetera.hr.domain.JavaScriptFramework;
+import org.springframework.data.repository.query.Param;
 
-import java.util.Optional;
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Spring data repository interface used for accessing the data in database.
  *
  * @author Etnetera
  */
-public interface JavaScriptFrameworkRepository extends CrudRepository<JavaScriptFramework, Long> {
-    Optional<JavaScriptFramework> findByName(String name);
+public interface JavaScriptFrameworkRepository extends JpaRepository<JavaScriptFramework, Long> {
+    @Query("select f.name from JavaScriptFramework f where f.name in :names")
+    Set<String> findExistingNames(@Param("names") Collection<String> names);
 
-    Iterable<JavaScriptFramework> findAllByHypeLevel(HypeLevelEnum hypeLevel);
+    /**
+     * All frameworks with versions fetched by the same select, read from an open cursor in chunks
+     * of fetch size. Entities are read only, so no snapshots are kept for dirty checking.
+     * The stream has to be consumed and closed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query("select f from JavaScriptFramework f left join fetch f.versions order by f.id")
+    Stream<JavaScriptFramework> streamAllOrderById();
 }
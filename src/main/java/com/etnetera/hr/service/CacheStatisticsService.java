@@ -0,0 +1,23 @@
+package com.etnetera.hr.service;
+
+import com.etnetera.hr.dto.CacheStatisticsDto;
+
+/**
+ * Service interface for second level cache administration
+ *
+ * @author Marketa Halikova
+ */
+public interface CacheStatisticsService {
+    /**
+     * Get hit/miss statistics of second level cache
+     *
+     * @return CacheStatisticsDto
+     */
+    CacheStatisticsDto getStatistics();
+
+    /**
+     * Evict all entities, collections and query results from second level cache.
+     * Needed after the data were changed bypassing Hibernate, e.g. by plain SQL.
+     */
+    void evictAll();
+}
@@ -0,0 +1,55 @@
+package com.etnetera.hr.service;
+
+import org.springframework.http.MediaType;
+
+import java.util.Optional;
+
+/**
+ * Service interface tracking versions of the catalog for conditional requests
+ *
+ * @author Marketa Halikova
+ */
+public interface CatalogVersionService {
+    /**
+     * Get strong entity tag of the whole catalog, changed by every committed create, update or delete
+     *
+     * @param format media type of the response, each format gets its own tag
+     * @return quoted entity tag
+     */
+    String getCatalogETag(MediaType format);
+
+    /**
+     * Get strong entity tag of one framework revision
+     *
+     * @param id       JavaScript framework id
+     * @param revision JavaScript framework revision
+     * @param format   media type of the response, each format gets its own tag
+     * @return quoted entity tag
+     */
+    String getFrameworkETag(Long id, Long revision, MediaType format);
+
+    /**
+     * Parse revision from entity tag created by getFrameworkETag, of any format
+     *
+     * @param id   JavaScript framework id
+     * @param eTag entity tag sent by client, e.g. in If-Match header
+     * @return Optional of revision, empty when entity tag does not belong to the framework
+     */
+    Optional<Long> parseFrameworkETag(Long id, String eTag);
+
+    /**
+     * Get last known revision of framework without touching the database
+     *
+     * @param id JavaScript framework id
+     * @return Optional of revision, empty when the framework is not known yet
+     */
+    Optional<Long> findKnownRevision(Long id);
+
+    /**
+     * Remember revision of framework read from the database
+     *
+     * @param id       JavaScript framework id
+     * @param revision JavaScript framework revision
+     */
+    void recordRevision(Long id, Long revision);
+}
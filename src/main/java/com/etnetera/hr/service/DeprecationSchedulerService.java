@@ -0,0 +1,20 @@
+package com.etnetera.hr.service;
+
+/**
+ * Service interface firing FrameworkDeprecatedEvent when deprecation date of a framework is reached
+ *
+ * @author Marketa Halikova
+ */
+public interface DeprecationSchedulerService {
+    /**
+     * Get number of frameworks waiting for their deprecation
+     *
+     * @return number of scheduled deprecations
+     */
+    int getScheduledCount();
+
+    /**
+     * Drop all scheduled deprecations and schedule future deprecations read from the database again
+     */
+    void reschedule();
+}
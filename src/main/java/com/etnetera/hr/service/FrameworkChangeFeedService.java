@@ -0,0 +1,28 @@
+package com.etnetera.hr.service;
+
+/**
+ * Service interface for feed of committed changes of the catalog
+ *
+ * @author Marketa Halikova
+ */
+public interface FrameworkChangeFeedService {
+    /**
+     * Start sending changes to the subscriber
+     *
+     * @param lastEventId event id of the last change the subscriber has seen, null for only new changes;
+     *                    an id of a previous run or a malformed one gets resync
+     * @param subscriber  receiver of the changes
+     * @return false when there are too many subscribers already
+     */
+    boolean subscribe(String lastEventId, FrameworkChangeSubscriber subscriber);
+
+    /**
+     * Stop sending changes to the subscriber, unknown subscriber is ignored
+     */
+    void unsubscribe(FrameworkChangeSubscriber subscriber);
+
+    /**
+     * Get number of active subscribers
+     */
+    int getSubscriberCount();
+}
@@ -0,0 +1,31 @@
+package com.etnetera.hr.service;
+
+import com.etnetera.hr.dto.FrameworkChangeDto;
+
+import java.io.IOException;
+
+/**
+ * Receiver of the change feed, e.g. one Server-Sent Events connection. Methods are called from a feed
+ * thread, never concurrently for one subscriber. Exception from any of them ends the subscription.
+ *
+ * @author Marketa Halikova
+ */
+public interface FrameworkChangeSubscriber {
+    /**
+     * Next committed change, in sequence order without gaps
+     */
+    void onChange(FrameworkChangeDto change) throws IOException;
+
+    /**
+     * Subscriber fell behind the buffer or asked for changes it does not keep, the subscription is over and
+     * the subscriber has to read the whole catalog again and subscribe after the given event id
+     *
+     * @param lastEventId event id of the last change in the feed
+     */
+    void onResync(String lastEventId) throws IOException;
+
+    /**
+     * Nothing changed for a while, lets the subscriber find out that the connection is gone
+     */
+    void onHeartbeat() throws IOException;
+}
@@ -0,0 +1,29 @@
+package com.etnetera.hr.service;
+
+import com.etnetera.hr.dto.FrameworkDeltaDto;
+
+import java.util.Optional;
+
+/**
+ * Service interface for delta sync of the catalog
+ *
+ * @author Marketa Halikova
+ */
+public interface FrameworkDeltaService {
+    /**
+     * Frameworks created, updated and deleted since the token
+     *
+     * @param since token of the previous delta, null for the whole catalog
+     * @param limit maximum number of changes, null for frameworks.delta.default-limit
+     * @return Optional of FrameworkDeltaDto, empty when the token is malformed or limit is not positive
+     */
+    Optional<FrameworkDeltaDto> getDelta(String since, Integer limit);
+
+    /**
+     * Remove tombstones older than frameworks.delta.tombstone-retention-ms, clients with a token
+     * from before them have to reset
+     *
+     * @return number of removed tombstones
+     */
+    int compact();
+}
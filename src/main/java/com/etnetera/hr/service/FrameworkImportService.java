@@ -0,0 +1,44 @@
+package com.etnetera.hr.service;
+
+import com.etnetera.hr.domain.FrameworkImportFormatEnum;
+import com.etnetera.hr.dto.CreateJavaScriptFrameworkDto;
+import com.etnetera.hr.dto.FrameworkImportResultDto;
+
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Service interface for bulk import of JavaScript frameworks from files
+ *
+ * @author Marketa Halikova
+ */
+public interface FrameworkImportService {
+    /**
+     * Import frameworks read line by line from the input. Lines are validated like POST /frameworks,
+     * valid ones are inserted in chunks, each chunk in its own transaction, invalid ones are reported
+     * with their line number. Only one import runs at a time.
+     *
+     * @param input    NDJSON or CSV content, not closed by this method
+     * @param format   format of the input
+     * @param fromLine first line to import, 1 for the whole input, checkpoint + 1 to resume
+     * @return Optional of FrameworkImportResultDto, empty when another import is running
+     */
+    Optional<FrameworkImportResultDto> importFrameworks(InputStream input, FrameworkImportFormatEnum format, long fromLine);
+
+    /**
+     * Import frameworks from the iterator the same way as lines of a file, position of every framework
+     * counts from 1 like a line number. Used to fill the catalog with generated frameworks.
+     *
+     * @param frameworks frameworks to import, read one chunk at a time
+     * @return Optional of FrameworkImportResultDto without format, empty when another import is running
+     */
+    Optional<FrameworkImportResultDto> importFrameworks(Iterator<CreateJavaScriptFrameworkDto> frameworks);
+
+    /**
+     * Get progress of running import or result of the last finished one
+     *
+     * @return Optional of FrameworkImportResultDto, empty when nothing was imported yet
+     */
+    Optional<FrameworkImportResultDto> getLastImport();
+}
@@ -0,0 +1,26 @@
+package com.etnetera.hr.service;
+
+import java.util.Optional;
+
+/**
+ * Service interface for the in-memory index of framework names
+ *
+ * @author Marketa Halikova
+ */
+public interface FrameworkNameService {
+    /**
+     * Find id of the framework with exactly this name, case sensitive like the unique constraint.
+     * The index follows committed writes, a name committed a moment ago may still be missing.
+     * Names the index can neither find nor rule out, and any name before the index is built, are
+     * looked up in the database.
+     *
+     * @param name framework name
+     * @return Optional of framework id, empty when no framework has the name
+     */
+    Optional<Long> findIdByName(String name);
+
+    /**
+     * Rebuild the index from the database, e.g. after data were written around the service
+     */
+    void rebuildIndex();
+}
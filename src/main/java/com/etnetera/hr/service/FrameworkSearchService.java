@@ -0,0 +1,38 @@
+package com.etnetera.hr.service;
+
+import com.etnetera.hr.dto.FrameworkPageDto;
+import com.etnetera.hr.dto.FrameworkSearchCriteriaDto;
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service interface for searching frameworks in the in-memory index
+ *
+ * @author Marketa Halikova
+ */
+public interface FrameworkSearchService {
+    /**
+     * Search frameworks matching all given criteria
+     *
+     * @param criteria search criteria, unset criteria match every framework
+     * @return Optional of frameworks ordered by id, empty for unknown hype level, malformed version range or inverted date range
+     */
+    Optional<List<JavaScriptFrameworkDto>> searchFrameworks(FrameworkSearchCriteriaDto criteria);
+
+    /**
+     * Search one page of frameworks matching all given criteria, ordered by id
+     *
+     * @param criteria search criteria, unset criteria match every framework
+     * @param cursor   continuation token of id order returned with the previous page, null for the first page
+     * @param limit    page size, null for default, capped at max-page-size
+     * @return Optional of the page, empty for invalid criteria, invalid page size or continuation token
+     */
+    Optional<FrameworkPageDto> searchFrameworksPage(FrameworkSearchCriteriaDto criteria, String cursor, Integer limit);
+
+    /**
+     * Rebuild the index from the database, e.g. after data were written around the service
+     */
+    void rebuildIndex();
+}
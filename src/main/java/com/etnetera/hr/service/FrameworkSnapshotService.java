@@ -0,0 +1,28 @@
+package com.etnetera.hr.service;
+
+import com.etnetera.hr.dto.FrameworkSnapshotDto;
+
+import java.util.Optional;
+
+/**
+ * Service interface for binary snapshots of the whole catalog
+ *
+ * @author Marketa Halikova
+ */
+public interface FrameworkSnapshotService {
+    /**
+     * Write all frameworks to frameworks.snapshot.file, the previous snapshot is replaced only when
+     * the new one is complete
+     *
+     * @return Optional of FrameworkSnapshotDto, empty when snapshots are not configured
+     */
+    Optional<FrameworkSnapshotDto> writeSnapshot();
+
+    /**
+     * Load frameworks from frameworks.snapshot.file into empty catalog
+     *
+     * @return Optional of FrameworkSnapshotDto, empty when snapshots are not configured, there is no snapshot yet
+     * or the catalog is not empty
+     */
+    Optional<FrameworkSnapshotDto> restoreSnapshot();
+}
@@ -0,0 +1,22 @@
+package com.etnetera.hr.service;
+
+import com.etnetera.hr.dto.FrameworkStatisticsDto;
+
+/**
+ * Service interface for aggregate counts of the catalog kept in memory
+ *
+ * @author Marketa Halikova
+ */
+public interface FrameworkStatisticsService {
+    /**
+     * Get current counts without touching the database
+     *
+     * @return FrameworkStatisticsDto
+     */
+    FrameworkStatisticsDto getStatistics();
+
+    /**
+     * Recount everything from the database and replace the counters, drift is logged
+     */
+    void reconcile();
+}
@@ -1,9 +1,17 @@
 package com.etnetera.hr.service;
 
+import com.etnetera.hr.dto.BatchItemResultDto;
 import com.etnetera.hr.dto.CreateJavaScriptFrameworkDto;
+import com.etnetera.hr.dto.FrameworkFieldEnum;
+import com.etnetera.hr.dto.FrameworkPageDto;
+import com.etnetera.hr.dto.FrameworkPatchDto;
 import com.etnetera.hr.dto.JavaScriptFrameworkDto;
 
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Service interface for JavaScript Framework operations
@@ -18,6 +26,26 @@ public interface JavaScriptFrameworkService {
      */
     Iterable<JavaScriptFrameworkDto> getAllFrameworks();
 
+    /**
+     * Pass all JavaScript frameworks ordered by id to the consumer one by one, without holding
+     * more than one of them in memory
+     *
+     * @param consumer receives every framework, runs inside read only transaction
+     * @return number of exported frameworks
+     */
+    long exportFrameworks(Consumer<JavaScriptFrameworkDto> consumer);
+
+    /**
+     * Get one page of JavaScript frameworks ordered by sort key, continuing after the cursor
+     *
+     * @param sort   sort key (id, name or deprecationDate)
+     * @param cursor continuation token of the previous page, null for the first page
+     * @param limit  requested page size, null for the default page size
+     * @param fields fields read from the database, null for all, the sort key is read always
+     * @return Optional of FrameworkPageDto, empty for unknown sort key, invalid cursor or limit
+     */
+    Optional<FrameworkPageDto> getFrameworksPage(String sort, String cursor, Integer limit, Set<FrameworkFieldEnum> fields);
+
     /**
      * Find JavaScript framework by id
      *
@@ -26,14 +54,32 @@ public interface JavaScriptFrameworkService {
      */
     Optional<JavaScriptFrameworkDto> findFrameworkById(Long id);
 
+    /**
+     * Find JavaScript framework by name, case sensitive, in the name index
+     *
+     * @param name JavaScript framework name
+     * @return Optional of JavaScriptFrameworkDto
+     */
+    Optional<JavaScriptFrameworkDto> findFrameworkByName(String name);
+
     /**
      * Save new JavaScript framework
      *
      * @param createFrameworkDto new JavaScript framework for saving
-     * @return Optional of saved JavaScriptFrameworkDto
+     * @return Optional of saved JavaScriptFrameworkDto, empty when the name is already used
      */
     Optional<JavaScriptFrameworkDto> saveFramework(CreateJavaScriptFrameworkDto createFrameworkDto);
 
+    /**
+     * Save batch of new JavaScript frameworks. Null, invalid items and items with already used
+     * name are reported as failed, the rest is inserted in one transaction. When a name is taken
+     * by a concurrent write before the commit, the transaction is repeated.
+     *
+     * @param createFrameworkDtos new JavaScript frameworks for saving
+     * @return List of BatchItemResultDto, one for every item in the same order
+     */
+    List<BatchItemResultDto> saveFrameworks(List<CreateJavaScriptFrameworkDto> createFrameworkDtos);
+
     /**
      * Delete existing JavaScript framework by id
      *
@@ -43,18 +89,45 @@ public interface JavaScriptFrameworkService {
     boolean deleteFramework(Long id);
 
     /**
-     * Update existing JavaScript framework
+     * Update existing JavaScript framework. When the framework carries revision, the update is applied
+     * only if the stored framework is still in this revision. Without revision the update is retried
+     * when a concurrent update wins.
      *
      * @param framework updated JavaScript framework
-     * @return Optional of updated JavaScriptFrameworkDto
+     * @return Optional of updated JavaScriptFrameworkDto, empty when it does not exist or the name is already used
+     * @throws org.springframework.dao.OptimisticLockingFailureException when the framework was changed since the revision
      */
     Optional<JavaScriptFrameworkDto> updateFramework(JavaScriptFrameworkDto framework);
 
+    /**
+     * Change only properties of existing JavaScript framework present in the patch. With revision the patch
+     * is applied only if the stored framework is still in this revision, without it the patch is applied
+     * again on top of a concurrent update.
+     *
+     * @param id       JavaScript framework id
+     * @param patch    changed properties
+     * @param revision revision the patch was made for, null for any
+     * @return Optional of patched JavaScriptFrameworkDto, empty when it does not exist or the name is already used
+     * @throws org.springframework.dao.OptimisticLockingFailureException when the framework was changed since the revision
+     */
+    Optional<JavaScriptFrameworkDto> patchFramework(Long id, FrameworkPatchDto patch, Long revision);
+
     /**
      * Find all JavaScript frameworks by hype level
      *
      * @param hypeLevel JavaScript framework hype level
+     * @param fields    fields read from the database, null for all
      * @return Iterable of JavaScriptFrameworkDto
      */
-    Iterable<JavaScriptFrameworkDto> getFrameworksByHype(String hypeLevel);
+    Iterable<JavaScriptFrameworkDto> getFrameworksByHype(String hypeLevel, Set<FrameworkFieldEnum> fields);
+
+    /**
+     * Find JavaScript frameworks deprecated in the date range
+     *
+     * @param from   lower bound of deprecation date, inclusive, null for unbounded
+     * @param to     upper bound of deprecation date, inclusive, null for unbounded
+     * @param fields fields read from the database, null for all
+     * @return Optional of frameworks ordered by deprecation date, empty when the range ends before it starts
+     */
+    Optional<List<JavaScriptFrameworkDto>> getFrameworksDeprecating(Date from, Date to, Set<FrameworkFieldEnum> fields);
 }
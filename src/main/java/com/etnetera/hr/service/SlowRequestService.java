@@ -0,0 +1,31 @@
+package com.etnetera.hr.service;
+
+import com.etnetera.hr.dto.SlowRequestDto;
+
+import java.util.List;
+
+/**
+ * Service interface keeping recent requests that took longer than the configured threshold
+ *
+ * @author Marketa Halikova
+ */
+public interface SlowRequestService {
+    /**
+     * Remember slow request, the oldest one is forgotten when the buffer is full
+     *
+     * @param request SlowRequestDto
+     */
+    void record(SlowRequestDto request);
+
+    /**
+     * Get remembered slow requests
+     *
+     * @return List of SlowRequestDto, the slowest first
+     */
+    List<SlowRequestDto> getSlowRequests();
+
+    /**
+     * Forget all remembered slow requests
+     */
+    void clear();
+}
@@ -0,0 +1,58 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.dto.CacheRegionStatisticsDto;
+import com.etnetera.hr.dto.CacheStatisticsDto;
+import com.etnetera.hr.service.CacheStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation for second level cache administration
+ *
+ * @author Marketa Halikova
+ */
+@RequiredArgsConstructor
+@Service
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public CacheStatisticsDto getStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long misses = statistics.getSecondLevelCacheMissCount();
+        return CacheStatisticsDto.builder()
+                .hitCount(hits)
+                .missCount(misses)
+                .putCount(statistics.getSecondLevelCachePutCount())
+                .hitRatio(hits + misses == 0 ? 0 : (double) hits / (hits + misses))
+                .regions(Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                        .map(statistics::getCacheRegionStatistics)
+                        .map(this::toDto)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    @Override
+    public void evictAll() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    private CacheRegionStatisticsDto toDto(CacheRegionStatistics region) {
+        return CacheRegionStatisticsDto.builder()
+                .regionName(region.getRegionName())
+                .hitCount(region.getHitCount())
+                .missCount(region.getMissCount())
+                .putCount(region.getPutCount())
+                .elementCountInMemory(region.getElementCountInMemory())
+                .build();
+    }
+}
@@ -0,0 +1,132 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.config.FrameworkProperties;
+import com.etnetera.hr.event.CatalogBootstrappedEvent;
+import com.etnetera.hr.event.ChangeTypeEnum;
+import com.etnetera.hr.event.FrameworkChangedEvent;
+import com.etnetera.hr.service.CatalogVersionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service implementation tracking versions of the catalog for conditional requests.
+ * Catalog and framework tags contain start time of the application, so tags of previous runs never match,
+ * not even when the same id and revision name another framework after a restart without snapshot.
+ * They end with the format of the response, JSON, CBOR and Smile of the same state are different representations.
+ *
+ * @author Marketa Halikova
+ */
+@RequiredArgsConstructor
+@Service
+public class CatalogVersionServiceImpl implements CatalogVersionService {
+
+    /**
+     * Recently deleted frameworks remembered, a read racing with the delete finishes long before
+     * so many other frameworks are deleted
+     */
+    private static final int RECENTLY_DELETED = 10_000;
+
+    private final FrameworkProperties properties;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final Map<Long, Long> revisions = new ConcurrentHashMap<>();
+    private final Set<Long> deleted = ConcurrentHashMap.newKeySet();
+    private final Queue<Long> deletedOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger deletedCount = new AtomicInteger();
+
+    @Override
+    public String getCatalogETag(MediaType format) {
+        return "\"" + epoch + "-" + catalogVersion.get() + "-" + format.getSubtype() + "\"";
+    }
+
+    @Override
+    public String getFrameworkETag(Long id, Long revision, MediaType format) {
+        return "\"" + epoch + "-" + id + "-" + revision + "-" + format.getSubtype() + "\"";
+    }
+
+    @Override
+    public Optional<Long> parseFrameworkETag(Long id, String eTag) {
+        String value = eTag.trim();
+        if (value.startsWith("W/")) {
+            return Optional.empty();
+        }
+        String prefix = "\"" + epoch + "-" + id + "-";
+        if (!value.startsWith(prefix) || !value.endsWith("\"")) {
+            return Optional.empty();
+        }
+        // revision is followed by the format, the revision is the same in all of them
+        int end = value.indexOf('-', prefix.length());
+        try {
+            return Optional.of(Long.valueOf(value.substring(prefix.length(), end < 0 ? value.length() - 1 : end)));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<Long> findKnownRevision(Long id) {
+        return Optional.ofNullable(revisions.get(id));
+    }
+
+    @Override
+    public void recordRevision(Long id, Long revision) {
+        // revisions only grow, a slow reader must not overwrite newer revision written meanwhile;
+        // when the map is full only already known frameworks are updated
+        revisions.compute(id, (key, known) -> {
+            if (known != null) {
+                return Math.max(known, revision);
+            }
+            return revisions.size() < properties.getConditionalRequests().getKnownRevisions() ? revision : null;
+        });
+        // the delete removes its framework after marking it deleted, a reader recording it after that removes it again
+        if (deleted.contains(id)) {
+            revisions.remove(id);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFrameworkChanged(FrameworkChangedEvent event) {
+        if (event.getType() == ChangeTypeEnum.DELETED) {
+            markDeleted(event.getId());
+        } else {
+            recordRevision(event.getId(), event.getCurrent().getRevision());
+        }
+        catalogVersion.incrementAndGet();
+    }
+
+    @EventListener(CatalogBootstrappedEvent.class)
+    public void onCatalogBootstrapped() {
+        // restore and import write around the service while requests are served, a tag handed out
+        // for the partial catalog must not match the complete one
+        catalogVersion.incrementAndGet();
+    }
+
+    private void markDeleted(Long id) {
+        if (deleted.add(id)) {
+            deletedOrder.add(id);
+            deletedCount.incrementAndGet();
+        }
+        revisions.remove(id);
+        while (deletedCount.get() > RECENTLY_DELETED) {
+            Long oldest = deletedOrder.poll();
+            if (oldest == null) {
+                break;
+            }
+            deletedCount.decrementAndGet();
+            deleted.remove(oldest);
+        }
+    }
+}
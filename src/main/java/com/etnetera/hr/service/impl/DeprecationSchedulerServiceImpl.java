@@ -0,0 +1,124 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.dto.FrameworkFieldEnum;
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.etnetera.hr.event.CatalogBootstrappedEvent;
+import com.etnetera.hr.event.ChangeTypeEnum;
+import com.etnetera.hr.event.FrameworkChangedEvent;
+import com.etnetera.hr.event.FrameworkDeprecatedEvent;
+import com.etnetera.hr.repository.FrameworkQueryRepository;
+import com.etnetera.hr.service.DeprecationSchedulerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service implementation scheduling one task per framework with future deprecation date.
+ * ScheduledThreadPoolExecutor keeps the tasks in a priority queue ordered by their time, so nothing
+ * scans the catalog: the queue is loaded once when the catalog is bootstrapped and then every committed
+ * write only cancels and schedules the task of its framework. Deprecation dates in the past are not
+ * scheduled, so a restart does not repeat events that were already fired.
+ *
+ * @author Marketa Halikova
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class DeprecationSchedulerServiceImpl implements DeprecationSchedulerService {
+
+    private final FrameworkQueryRepository frameworkQueryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ScheduledThreadPoolExecutor executor = createExecutor();
+    private final Map<Long, Deprecation> scheduled = new HashMap<>();
+
+    private static ScheduledThreadPoolExecutor createExecutor() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "framework-deprecation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // cancelled tasks of updated frameworks leave the queue at once instead of at their time
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    @Override
+    public synchronized int getScheduledCount() {
+        return scheduled.size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @EventListener(CatalogBootstrappedEvent.class)
+    public synchronized void reschedule() {
+        scheduled.values().forEach(deprecation -> deprecation.future.cancel(false));
+        scheduled.clear();
+        // a task needs nothing else, versions are not joined
+        frameworkQueryRepository.findAllByDeprecationDate(new Date(), null,
+                EnumSet.of(FrameworkFieldEnum.ID, FrameworkFieldEnum.NAME, FrameworkFieldEnum.DEPRECATION_DATE)).forEach(this::schedule);
+        log.info("Scheduled deprecation of {} frameworks", scheduled.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onFrameworkChanged(FrameworkChangedEvent event) {
+        Deprecation previous = scheduled.remove(event.getId());
+        if (previous != null) {
+            previous.future.cancel(false);
+        }
+        if (event.getType() != ChangeTypeEnum.DELETED) {
+            schedule(event.getCurrent());
+        }
+    }
+
+    private void schedule(JavaScriptFrameworkDto framework) {
+        if (framework.getDeprecationDate() == null) {
+            return;
+        }
+        long delay = framework.getDeprecationDate().getTime() - System.currentTimeMillis();
+        if (delay <= 0) {
+            return;
+        }
+        Deprecation deprecation = new Deprecation(framework.getId(), framework.getName(), new Date(framework.getDeprecationDate().getTime()));
+        scheduled.put(framework.getId(), deprecation);
+        deprecation.future = executor.schedule(deprecation, delay, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @RequiredArgsConstructor
+    private class Deprecation implements Runnable {
+        private final Long id;
+        private final String name;
+        private final Date deprecationDate;
+        private ScheduledFuture<?> future;
+
+        @Override
+        public void run() {
+            synchronized (DeprecationSchedulerServiceImpl.this) {
+                // framework changed while this task was already running, its new task decides
+                if (!scheduled.remove(id, this)) {
+                    return;
+                }
+            }
+            log.info("Framework {} ({}) is deprecated since {}", name, id, deprecationDate);
+            eventPublisher.publishEvent(new FrameworkDeprecatedEvent(id, name, deprecationDate));
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.config.FrameworkProperties;
+import com.etnetera.hr.dto.FrameworkChangeDto;
+import com.etnetera.hr.event.FrameworkChangedEvent;
+import com.etnetera.hr.service.FrameworkChangeFeedService;
+import com.etnetera.hr.service.FrameworkChangeSubscriber;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service implementation of the change feed. Committed changes get the next sequence number and go into
+ * a ring buffer of fixed size, that is all a writer does, so no subscriber ever slows writes down.
+ * Every subscriber only remembers the last sequence it was sent and a pool of feed threads sends it
+ * the rest from the buffer. A subscriber that falls further behind than the buffer size, e.g. because
+ * its connection is slow, is told to resync and dropped instead of holding changes for it.
+ * A write blocked on a connection that does not take data at all would hold a feed thread, and with it every
+ * subscriber waiting for the thread, so the writes run on writer threads and a feed thread waits for
+ * each of them at most send-timeout-ms. A subscriber whose write takes longer is dropped, its writer thread
+ * is released once the server gives up on the connection.
+ * Sequence starts from 1 with every start of the application, so event ids carry start time of the run
+ * as well and an id of a previous run gets resync instead of changes that merely have the same sequence.
+ *
+ * @author Marketa Halikova
+ */
+@Slf4j
+@Service
+public class FrameworkChangeFeedServiceImpl implements FrameworkChangeFeedService {
+
+    /**
+     * Changes sent in one pass, then the subscriber checks again whether it fell behind
+     */
+    private static final int MAX_BATCH = 100;
+
+    private final FrameworkProperties properties;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final FrameworkChangeDto[] buffer;
+    private long lastSequence;
+    private final Map<FrameworkChangeSubscriber, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor executor;
+    /**
+     * Runs the blocking writes, one at a time per subscriber, so at most one thread per subscriber
+     * plus the threads still blocked for subscribers dropped on timeout
+     */
+    private final ExecutorService writers;
+
+    public FrameworkChangeFeedServiceImpl(FrameworkProperties properties) {
+        this.properties = properties;
+        FrameworkProperties.ChangeFeed changeFeed = properties.getChangeFeed();
+        this.buffer = new FrameworkChangeDto[changeFeed.getBufferSize()];
+        this.executor = new ScheduledThreadPoolExecutor(changeFeed.getSendThreads(), threadFactory("framework-change-feed-"));
+        this.writers = Executors.newCachedThreadPool(threadFactory("framework-change-feed-writer-"));
+        executor.scheduleWithFixedDelay(this::heartbeat, changeFeed.getHeartbeatIntervalMs(),
+                changeFeed.getHeartbeatIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    private static ThreadFactory threadFactory(String namePrefix) {
+        AtomicInteger number = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + number.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public boolean subscribe(String lastEventId, FrameworkChangeSubscriber subscriber) {
+        if (subscriptions.size() >= properties.getChangeFeed().getMaxSubscribers()) {
+            return false;
+        }
+        Subscription subscription;
+        synchronized (this) {
+            subscription = new Subscription(subscriber, lastEventId == null ? lastSequence : parseEventId(lastEventId));
+        }
+        subscriptions.put(subscriber, subscription);
+        subscription.signal();
+        return true;
+    }
+
+    @Override
+    public void unsubscribe(FrameworkChangeSubscriber subscriber) {
+        subscriptions.remove(subscriber);
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFrameworkChanged(FrameworkChangedEvent event) {
+        synchronized (this) {
+            lastSequence++;
+            buffer[(int) (lastSequence % buffer.length)] = FrameworkChangeDto.builder()
+                    .sequence(lastSequence)
+                    .eventId(eventId(lastSequence))
+                    .type(event.getType())
+                    .id(event.getId())
+                    .framework(event.getCurrent())
+                    .committedAt(new Date())
+                    .build();
+        }
+        subscriptions.values().forEach(Subscription::signal);
+    }
+
+    String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * Sequence of the event id, -1 for an id of a previous run or a malformed one, which gets resync
+     */
+    private long parseEventId(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void heartbeat() {
+        subscriptions.values().forEach(subscription -> {
+            subscription.heartbeatDue = true;
+            subscription.signal();
+        });
+    }
+
+    /**
+     * Changes after the given sequence, at most MAX_BATCH of them
+     *
+     * @return changes, null when some of them are not in the buffer anymore or were never there
+     */
+    private synchronized List<FrameworkChangeDto> changesAfter(long sequence) {
+        if (sequence < 0 || sequence > lastSequence || sequence < lastSequence - buffer.length) {
+            return null;
+        }
+        List<FrameworkChangeDto> changes = new ArrayList<>();
+        for (long next = sequence + 1; next <= lastSequence && changes.size() < MAX_BATCH; next++) {
+            changes.add(buffer[(int) (next % buffer.length)]);
+        }
+        return changes;
+    }
+
+    private synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        writers.shutdownNow();
+    }
+
+    /**
+     * Call of the subscriber run on a writer thread
+     */
+    private interface Delivery {
+        void run() throws IOException;
+    }
+
+    private class Subscription {
+        private final FrameworkChangeSubscriber subscriber;
+        private long sentSequence;
+        private volatile boolean heartbeatDue;
+        /**
+         * Signals not handled yet, only the thread that raised it from 0 sends, so one subscriber
+         * is never sent to from two threads at once and no signal is lost
+         */
+        private final AtomicInteger signals = new AtomicInteger();
+
+        Subscription(FrameworkChangeSubscriber subscriber, long sentSequence) {
+            this.subscriber = subscriber;
+            this.sentSequence = sentSequence;
+        }
+
+        void signal() {
+            if (signals.getAndIncrement() == 0) {
+                executor.execute(this::send);
+            }
+        }
+
+        private void send() {
+            int handled = signals.get();
+            try {
+                while (true) {
+                    while (subscriptions.get(subscriber) == this) {
+                        List<FrameworkChangeDto> changes = changesAfter(sentSequence);
+                        if (changes == null) {
+                            log.info("Change feed subscriber cannot continue after sequence {}, asking it to resync", sentSequence);
+                            subscriptions.remove(subscriber, this);
+                            String lastEventId = eventId(lastSequence());
+                            deliver(() -> subscriber.onResync(lastEventId));
+                            return;
+                        }
+                        if (changes.isEmpty()) {
+                            break;
+                        }
+                        for (FrameworkChangeDto change : changes) {
+                            deliver(() -> subscriber.onChange(change));
+                            sentSequence = change.getSequence();
+                        }
+                        heartbeatDue = false;
+                    }
+                    if (heartbeatDue && subscriptions.get(subscriber) == this) {
+                        heartbeatDue = false;
+                        deliver(subscriber::onHeartbeat);
+                    }
+                    handled = signals.addAndGet(-handled);
+                    if (handled == 0) {
+                        return;
+                    }
+                }
+            } catch (TimeoutException e) {
+                log.info("Change feed subscriber dropped, it did not take a change in {} ms", properties.getChangeFeed().getSendTimeoutMs());
+                subscriptions.remove(subscriber, this);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                subscriptions.remove(subscriber, this);
+            } catch (IOException | RuntimeException e) {
+                log.debug("Change feed subscriber dropped: {}", e.toString());
+                subscriptions.remove(subscriber, this);
+            }
+        }
+
+        private void deliver(Delivery delivery) throws IOException, TimeoutException, InterruptedException {
+            Future<?> write = writers.submit(() -> {
+                delivery.run();
+                return null;
+            });
+            try {
+                write.get(properties.getChangeFeed().getSendTimeoutMs(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                write.cancel(true);
+                throw e;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.domain.FrameworkSortEnum;
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * Position of the last framework of a page, encoded as opaque continuation token.
+ * Holds sort key value together with id so the next page continues right after it.
+ *
+ * @author Marketa Halikova
+ */
+@Getter
+@RequiredArgsConstructor
+class FrameworkCursor {
+
+    private static final String SEPARATOR = "\n";
+
+    private final FrameworkSortEnum sort;
+    private final Long id;
+    private final String name;
+    private final Date deprecationDate;
+
+    static FrameworkCursor after(FrameworkSortEnum sort, JavaScriptFrameworkDto framework) {
+        return new FrameworkCursor(sort, framework.getId(), framework.getName(), framework.getDeprecationDate());
+    }
+
+    static Optional<FrameworkCursor> decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, 3);
+            if (parts.length != 3) {
+                return Optional.empty();
+            }
+            FrameworkSortEnum sort = FrameworkSortEnum.valueOf(parts[0]);
+            Long id = Long.valueOf(parts[1]);
+            switch (sort) {
+                case NAME:
+                    return Optional.of(new FrameworkCursor(sort, id, parts[2], null));
+                case DEPRECATION_DATE:
+                    Date date = parts[2].isEmpty() ? null : new Date(Long.parseLong(parts[2]));
+                    return Optional.of(new FrameworkCursor(sort, id, null, date));
+                default:
+                    return Optional.of(new FrameworkCursor(sort, id, null, null));
+            }
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    String encode() {
+        String value;
+        switch (sort) {
+            case NAME:
+                value = name;
+                break;
+            case DEPRECATION_DATE:
+                value = deprecationDate == null ? "" : String.valueOf(deprecationDate.getTime());
+                break;
+            default:
+                value = "";
+        }
+        String raw = sort.name() + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
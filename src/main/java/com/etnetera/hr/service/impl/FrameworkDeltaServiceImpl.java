@@ -0,0 +1,204 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.config.FrameworkProperties;
+import com.etnetera.hr.domain.FrameworkChange;
+import com.etnetera.hr.dto.FrameworkDeltaDto;
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.etnetera.hr.event.CatalogBootstrappedEvent;
+import com.etnetera.hr.event.ChangeTypeEnum;
+import com.etnetera.hr.event.FrameworkChangedEvent;
+import com.etnetera.hr.repository.FrameworkChangeLogRepository;
+import com.etnetera.hr.repository.FrameworkQueryRepository;
+import com.etnetera.hr.service.FrameworkDeltaService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation of delta sync. Changes of one transaction are collected while it runs and written
+ * to the change log right after it commits, one sequence after another under a lock, so the log never shows
+ * a change before an earlier committed one and a token can be a plain sequence. Reading a delta is a range
+ * scan of the sequence index followed by one query for the changed frameworks, it costs the number of changes,
+ * not the size of the catalog.
+ * <p>
+ * The log keeps only the last change of every framework, see FrameworkChange. Tombstones are removed after
+ * frameworks.delta.tombstone-retention-ms and a token from before the newest removed one gets the whole
+ * catalog again with reset set. The database lives as long as the application, so does the epoch of tokens.
+ *
+ * @author Marketa Halikova
+ */
+@Slf4j
+@Service
+public class FrameworkDeltaServiceImpl implements FrameworkDeltaService {
+
+    private final FrameworkChangeLogRepository frameworkChangeLogRepository;
+    private final FrameworkQueryRepository frameworkQueryRepository;
+    private final FrameworkProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final long epoch = System.currentTimeMillis();
+    private long lastSequence;
+    /**
+     * Sequence of the newest removed tombstone, a token before it may have missed a deletion
+     */
+    private volatile long horizon;
+
+    public FrameworkDeltaServiceImpl(FrameworkChangeLogRepository frameworkChangeLogRepository,
+                                     FrameworkQueryRepository frameworkQueryRepository,
+                                     FrameworkProperties properties,
+                                     PlatformTransactionManager transactionManager) {
+        this.frameworkChangeLogRepository = frameworkChangeLogRepository;
+        this.frameworkQueryRepository = frameworkQueryRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // the transaction of the change is already committed when the log is written
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<FrameworkDeltaDto> getDelta(String since, Integer limit) {
+        if (limit != null && limit < 1) {
+            return Optional.empty();
+        }
+        long after = 0;
+        boolean reset = false;
+        if (since != null) {
+            Optional<FrameworkDeltaToken> token = FrameworkDeltaToken.decode(since);
+            if (token.isEmpty()) {
+                return Optional.empty();
+            }
+            after = token.get().getSequence();
+            if (token.get().getEpoch() != epoch || after < 0 || after > lastSequence()) {
+                after = 0;
+                reset = true;
+            }
+        }
+        FrameworkProperties.Delta delta = properties.getDelta();
+        int size = Math.min(limit == null ? delta.getDefaultLimit() : limit, delta.getMaxLimit());
+        // one extra change tells whether there are more without a count query
+        List<FrameworkChange> changes = frameworkChangeLogRepository.findAfter(after, size + 1);
+        // checked after the read, tombstones removed meanwhile raised the horizon first
+        if (after > 0 && after < horizon) {
+            after = 0;
+            reset = true;
+            changes = frameworkChangeLogRepository.findAfter(after, size + 1);
+        }
+        boolean more = changes.size() > size;
+        if (more) {
+            changes = changes.subList(0, size);
+        }
+        Map<Long, JavaScriptFrameworkDto> frameworks = frameworkQueryRepository.findAllByIds(changes.stream()
+                .filter(change -> !change.isDeleted())
+                .map(FrameworkChange::getFrameworkId)
+                .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(JavaScriptFrameworkDto::getId, Function.identity()));
+        List<JavaScriptFrameworkDto> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (FrameworkChange change : changes) {
+            JavaScriptFrameworkDto framework = frameworks.get(change.getFrameworkId());
+            if (framework != null) {
+                changed.add(framework);
+            } else {
+                // deleted after the change was read, its tombstone would come with the next delta anyway
+                deleted.add(change.getFrameworkId());
+            }
+        }
+        long last = changes.isEmpty() ? after : changes.get(changes.size() - 1).getChangeSequence();
+        return Optional.of(FrameworkDeltaDto.builder()
+                .frameworks(changed)
+                .deleted(deleted)
+                .token(new FrameworkDeltaToken(epoch, last).encode())
+                .more(more)
+                .reset(reset)
+                .build());
+    }
+
+    @EventListener
+    public void onFrameworkChanged(FrameworkChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(List.of(event));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<FrameworkChangedEvent> pending = (List<FrameworkChangedEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<FrameworkChangedEvent> events = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, events);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    append(events);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(FrameworkDeltaServiceImpl.this);
+                }
+            });
+            pending = events;
+        }
+        pending.add(event);
+    }
+
+    /**
+     * Frameworks which got into the catalog without events, i.e. restored from a snapshot, are recorded as changed
+     */
+    @EventListener(CatalogBootstrappedEvent.class)
+    public synchronized void recordUnchanged() {
+        int recorded = transactionTemplate.execute(status -> frameworkChangeLogRepository.insertUnrecorded(lastSequence, new Date()));
+        lastSequence += recorded;
+        log.info("Change log of delta sync starts with {} frameworks without recorded change", recorded);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "#{@frameworkProperties.delta.compactionIntervalMs}",
+            initialDelayString = "#{@frameworkProperties.delta.compactionIntervalMs}")
+    public int compact() {
+        Date before = new Date(System.currentTimeMillis() - properties.getDelta().getTombstoneRetentionMs());
+        return transactionTemplate.execute(status -> {
+            long sequence = frameworkChangeLogRepository.findLastTombstoneSequence(before);
+            if (sequence == 0) {
+                return 0;
+            }
+            horizon = Math.max(horizon, sequence);
+            int removed = frameworkChangeLogRepository.deleteTombstones(sequence);
+            log.info("Removed {} tombstones up to sequence {} from change log", removed, sequence);
+            return removed;
+        });
+    }
+
+    private synchronized void append(List<FrameworkChangedEvent> events) {
+        Date now = new Date();
+        List<FrameworkChange> changes = new ArrayList<>(events.size());
+        for (FrameworkChangedEvent event : events) {
+            changes.add(new FrameworkChange(event.getId(), ++lastSequence, event.getType() == ChangeTypeEnum.DELETED, now));
+        }
+        try {
+            transactionTemplate.execute(status -> {
+                frameworkChangeLogRepository.upsertAll(changes);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // the change itself is committed, only delta clients miss it until the framework changes again
+            log.error("Changes of frameworks {} were not written to change log", events.stream().map(FrameworkChangedEvent::getId)
+                    .collect(Collectors.toList()), e);
+        }
+    }
+
+    private synchronized long lastSequence() {
+        return lastSequence;
+    }
+}
@@ -0,0 +1,42 @@
+package com.etnetera.hr.service.impl;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Position in the change log, encoded as opaque delta token. The epoch tells which run of the application
+ * gave the token, sequences of another run mean nothing.
+ *
+ * @author Marketa Halikova
+ */
+@Getter
+@RequiredArgsConstructor
+class FrameworkDeltaToken {
+
+    private static final String SEPARATOR = "\n";
+
+    private final long epoch;
+    private final long sequence;
+
+    static Optional<FrameworkDeltaToken> decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, 2);
+            if (parts.length != 2) {
+                return Optional.empty();
+            }
+            return Optional.of(new FrameworkDeltaToken(Long.parseLong(parts[0]), Long.parseLong(parts[1])));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    String encode() {
+        String raw = epoch + SEPARATOR + sequence;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
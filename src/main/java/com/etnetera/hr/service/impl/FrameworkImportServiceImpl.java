@@ -0,0 +1,200 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.config.FrameworkProperties;
+import com.etnetera.hr.domain.FrameworkImportFormatEnum;
+import com.etnetera.hr.dto.BatchItemResultDto;
+import com.etnetera.hr.dto.BatchItemStatusEnum;
+import com.etnetera.hr.dto.CreateJavaScriptFrameworkDto;
+import com.etnetera.hr.dto.FrameworkImportResultDto;
+import com.etnetera.hr.dto.FrameworkImportStatusEnum;
+import com.etnetera.hr.service.FrameworkImportService;
+import com.etnetera.hr.service.JavaScriptFrameworkService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation importing frameworks in chunks. Every chunk is one call of
+ * JavaScriptFrameworkService.saveFrameworks, i.e. one transaction with set based name check and
+ * JDBC batched inserts, so at most one chunk of lines is held in memory. A failed chunk is rolled back
+ * and stops the import, the result tells the checkpoint line from which the import can be repeated.
+ *
+ * @author Marketa Halikova
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class FrameworkImportServiceImpl implements FrameworkImportService {
+
+    private static final long PROGRESS_LOG_INTERVAL_MS = 5_000;
+
+    private final JavaScriptFrameworkService javaScriptFrameworkService;
+    private final FrameworkProperties properties;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    private final Lock lock = new ReentrantLock();
+    private volatile FrameworkImportResultDto lastImport;
+
+    @Override
+    public Optional<FrameworkImportResultDto> importFrameworks(InputStream input, FrameworkImportFormatEnum format, long fromLine) {
+        return runImport(format, fromLine, new FrameworkLineReader(input, format, fromLine, objectMapper));
+    }
+
+    @Override
+    public Optional<FrameworkImportResultDto> importFrameworks(Iterator<CreateJavaScriptFrameworkDto> frameworks) {
+        return runImport(null, 1, new FrameworkLineSource() {
+            private long number;
+
+            @Override
+            public FrameworkLine next() {
+                return frameworks.hasNext() ? FrameworkLine.parsed(++number, frameworks.next()) : null;
+            }
+        });
+    }
+
+    private Optional<FrameworkImportResultDto> runImport(FrameworkImportFormatEnum format, long fromLine, FrameworkLineSource source) {
+        if (!lock.tryLock()) {
+            return Optional.empty();
+        }
+        try {
+            Progress progress = new Progress(format, fromLine, properties.getBulkImport().getMaxErrors());
+            lastImport = progress.snapshot(FrameworkImportStatusEnum.RUNNING);
+            FrameworkImportStatusEnum status = FrameworkImportStatusEnum.COMPLETED;
+            try {
+                readChunks(source, progress);
+            } catch (IOException | RuntimeException e) {
+                log.error("Import of frameworks failed after line {}, it can be resumed from line {}",
+                        progress.checkpointLine, progress.checkpointLine + 1, e);
+                progress.failure = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+                status = FrameworkImportStatusEnum.FAILED;
+            }
+            progress.finishedAt = new Date();
+            lastImport = progress.snapshot(status);
+            log.info("Import of frameworks {}, {} lines read, {} created, {} failed in {} ms", status, progress.lastLine,
+                    progress.created, progress.failed, progress.finishedAt.getTime() - progress.startedAt.getTime());
+            return Optional.of(lastImport);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<FrameworkImportResultDto> getLastImport() {
+        return Optional.ofNullable(lastImport);
+    }
+
+    private void readChunks(FrameworkLineSource source, Progress progress) throws IOException {
+        int chunkSize = properties.getBulkImport().getChunkSize();
+        List<FrameworkLine> chunk = new ArrayList<>(chunkSize);
+        FrameworkLine line;
+        while ((line = source.next()) != null) {
+            progress.lastLine = line.getNumber();
+            if (line.getError() != null) {
+                progress.addError(line.getNumber(), line.getName(), line.getError());
+            } else {
+                chunk.add(line);
+            }
+            if (chunk.size() == chunkSize) {
+                writeChunk(chunk, progress);
+            }
+        }
+        writeChunk(chunk, progress);
+    }
+
+    private void writeChunk(List<FrameworkLine> chunk, Progress progress) {
+        if (!chunk.isEmpty()) {
+            List<CreateJavaScriptFrameworkDto> frameworks = chunk.stream()
+                    .map(FrameworkLine::getFramework)
+                    .collect(Collectors.toList());
+            List<BatchItemResultDto> results = javaScriptFrameworkService.saveFrameworks(frameworks);
+            for (BatchItemResultDto result : results) {
+                if (result.getStatus() == BatchItemStatusEnum.CREATED) {
+                    progress.created++;
+                } else {
+                    progress.addError(chunk.get(result.getIndex()).getNumber(), result.getName(), result.getError());
+                }
+            }
+            chunk.clear();
+            // persistence context opened for the whole web request would keep every inserted framework
+            entityManager.clear();
+        }
+        progress.checkpointLine = progress.lastLine;
+        lastImport = progress.snapshot(FrameworkImportStatusEnum.RUNNING);
+        if (System.currentTimeMillis() - progress.loggedAt >= PROGRESS_LOG_INTERVAL_MS) {
+            progress.loggedAt = System.currentTimeMillis();
+            log.info("Importing frameworks, line {}, {} created, {} failed, {} lines/s", progress.lastLine, progress.created,
+                    progress.failed, progress.linesPerSecond());
+        }
+    }
+
+    /**
+     * Counters of running import, only touched by the thread holding the lock
+     */
+    private static class Progress {
+        private final FrameworkImportFormatEnum format;
+        private final long fromLine;
+        private final int maxErrors;
+        private final List<BatchItemResultDto> errors = new ArrayList<>();
+        private final Date startedAt = new Date();
+        private final long startedNanos = System.nanoTime();
+        private long loggedAt = System.currentTimeMillis();
+        private long lastLine;
+        private long checkpointLine;
+        private long created;
+        private long failed;
+        private String failure;
+        private Date finishedAt;
+
+        Progress(FrameworkImportFormatEnum format, long fromLine, int maxErrors) {
+            this.format = format;
+            this.fromLine = fromLine;
+            this.maxErrors = maxErrors;
+            this.lastLine = fromLine - 1;
+            this.checkpointLine = fromLine - 1;
+        }
+
+        void addError(long line, String name, String error) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(BatchItemResultDto.builder()
+                        .index((int) line)
+                        .name(name)
+                        .status(BatchItemStatusEnum.FAILED)
+                        .error(error)
+                        .build());
+            }
+        }
+
+        long linesPerSecond() {
+            long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos));
+            return (lastLine - fromLine + 1) * 1000 / millis;
+        }
+
+        FrameworkImportResultDto snapshot(FrameworkImportStatusEnum status) {
+            return FrameworkImportResultDto.builder()
+                    .status(status)
+                    .format(format)
+                    .fromLine(fromLine)
+                    .lastLine(lastLine)
+                    .checkpointLine(checkpointLine)
+                    .created(created)
+                    .failed(failed)
+                    .errors(Collections.unmodifiableList(new ArrayList<>(errors)))
+                    .failure(failure)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.dto.CreateJavaScriptFrameworkDto;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * One line of import file, either parsed framework or the reason why it could not be parsed
+ *
+ * @author Marketa Halikova
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+class FrameworkLine {
+    private final long number;
+    private final String name;
+    private final CreateJavaScriptFrameworkDto framework;
+    private final String error;
+
+    static FrameworkLine parsed(long number, CreateJavaScriptFrameworkDto framework) {
+        return new FrameworkLine(number, framework.getName(), framework, null);
+    }
+
+    static FrameworkLine malformed(long number, String name, String error) {
+        return new FrameworkLine(number, name, null, error);
+    }
+}
@@ -0,0 +1,176 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.domain.FrameworkImportFormatEnum;
+import com.etnetera.hr.domain.HypeLevelEnum;
+import com.etnetera.hr.dto.CreateJavaScriptFrameworkDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.util.*;
+
+/**
+ * Reads frameworks from NDJSON or CSV input one line at a time, so only the current line is in memory.
+ * Lines before the first requested line are counted but not parsed, blank lines are skipped.
+ * CSV header is always read, it names columns name, versions, deprecationDate and hypeLevel in any order,
+ * versions are separated by | and fields may be quoted. Not thread safe.
+ *
+ * @author Marketa Halikova
+ */
+class FrameworkLineReader implements FrameworkLineSource {
+
+    private static final List<String> CSV_COLUMNS = List.of("name", "versions", "deprecationDate", "hypeLevel");
+
+    private final BufferedReader reader;
+    private final FrameworkImportFormatEnum format;
+    private final long fromLine;
+    private final ObjectReader jsonReader;
+    /**
+     * Same format as JSON dates, e.g. 2020-03-21 or 2020-03-21T13:00:00.000+0000
+     */
+    private final DateFormat dateFormat;
+    /**
+     * Position of every column of CSV_COLUMNS in CSV line
+     */
+    private int[] columns;
+    private int columnCount;
+    private long number;
+
+    FrameworkLineReader(InputStream input, FrameworkImportFormatEnum format, long fromLine, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.format = format;
+        this.fromLine = fromLine;
+        this.jsonReader = objectMapper.readerFor(CreateJavaScriptFrameworkDto.class);
+        this.dateFormat = (DateFormat) objectMapper.getDateFormat().clone();
+    }
+
+    /**
+     * @return next line, null at the end of input
+     * @throws IllegalArgumentException when CSV header does not name all columns
+     */
+    @Override
+    public FrameworkLine next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            number++;
+            if (format == FrameworkImportFormatEnum.CSV && columns == null) {
+                readHeader(text);
+            } else if (number >= fromLine && !text.isBlank()) {
+                return format == FrameworkImportFormatEnum.CSV ? parseCsv(text) : parseJson(text);
+            }
+        }
+        return null;
+    }
+
+    private FrameworkLine parseJson(String text) {
+        try {
+            return FrameworkLine.parsed(number, jsonReader.readValue(text));
+        } catch (JsonProcessingException e) {
+            return FrameworkLine.malformed(number, null, "Malformed JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            return FrameworkLine.malformed(number, null, "Malformed JSON: " + e.getMessage());
+        }
+    }
+
+    private void readHeader(String text) {
+        List<String> header = split(text);
+        columns = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < CSV_COLUMNS.size(); i++) {
+            columns[i] = header == null ? -1 : indexOfIgnoreCase(header, CSV_COLUMNS.get(i));
+            if (columns[i] < 0) {
+                throw new IllegalArgumentException("CSV header must name columns " + String.join(", ", CSV_COLUMNS));
+            }
+        }
+        columnCount = header.size();
+    }
+
+    private FrameworkLine parseCsv(String text) {
+        List<String> fields = split(text);
+        if (fields == null || fields.size() != columnCount) {
+            return FrameworkLine.malformed(number, null, "Expected " + columnCount + " comma separated columns");
+        }
+        String name = fields.get(columns[0]).trim();
+        Set<String> versions = new HashSet<>();
+        for (String version : fields.get(columns[1]).split("\\|")) {
+            if (!version.isBlank()) {
+                versions.add(version.trim());
+            }
+        }
+        Date deprecationDate = null;
+        String date = fields.get(columns[2]);
+        if (!date.isBlank()) {
+            try {
+                deprecationDate = dateFormat.parse(date.trim());
+            } catch (ParseException e) {
+                return FrameworkLine.malformed(number, name, "Malformed deprecationDate " + date);
+            }
+        }
+        HypeLevelEnum hypeLevel = null;
+        String hype = fields.get(columns[3]);
+        if (!hype.isBlank()) {
+            Optional<HypeLevelEnum> level = HypeLevelEnum.fromParameter(hype);
+            if (level.isEmpty()) {
+                return FrameworkLine.malformed(number, name, "Unknown hypeLevel " + hype);
+            }
+            hypeLevel = level.get();
+        }
+        return FrameworkLine.parsed(number, CreateJavaScriptFrameworkDto.builder()
+                .name(name.isEmpty() ? null : name)
+                .versions(versions)
+                .deprecationDate(deprecationDate)
+                .hypeLevel(hypeLevel)
+                .build());
+    }
+
+    private static int indexOfIgnoreCase(List<String> header, String column) {
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).trim().equalsIgnoreCase(column)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Split CSV line by commas, quoted fields may contain commas and doubled quotes
+     *
+     * @return fields, null when a quote is not closed
+     */
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
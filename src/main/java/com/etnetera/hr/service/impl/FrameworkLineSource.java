@@ -0,0 +1,15 @@
+package com.etnetera.hr.service.impl;
+
+import java.io.IOException;
+
+/**
+ * Source of frameworks imported in chunks, e.g. lines of a file
+ *
+ * @author Marketa Halikova
+ */
+interface FrameworkLineSource {
+    /**
+     * @return next line, null at the end
+     */
+    FrameworkLine next() throws IOException;
+}
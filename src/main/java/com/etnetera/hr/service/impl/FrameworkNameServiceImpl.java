@@ -0,0 +1,122 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.etnetera.hr.event.CatalogBootstrappedEvent;
+import com.etnetera.hr.event.FrameworkChangedEvent;
+import com.etnetera.hr.repository.FrameworkQueryRepository;
+import com.etnetera.hr.service.FrameworkNameService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service implementation of the name index, a concurrent map of name to id with a Bloom filter in front
+ * of it. Reads take no lock, so duplicate name checks and lookups by name from any number of threads cost
+ * a few memory reads, names which are not there mostly only the filter. The index is built from the database
+ * when the catalog is bootstrapped and then follows committed writes of JavaScriptFrameworkService. Before
+ * that, and for names the filter lets through but the map does not have, the database is asked. It only
+ * saves queries, the unique constraint still decides.
+ *
+ * @author Marketa Halikova
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class FrameworkNameServiceImpl implements FrameworkNameService {
+
+    private static final int MIN_CAPACITY = 1024;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final FrameworkQueryRepository frameworkQueryRepository;
+
+    /**
+     * Filter and map published together, so a reader never sees a filter without the map it was built from;
+     * null until the index is built
+     */
+    private volatile NameIndex index;
+    /**
+     * Names removed since the filter was built, the filter still answers "maybe there" for them
+     */
+    private int removed;
+
+    @Override
+    public Optional<Long> findIdByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        NameIndex current = index;
+        if (current != null) {
+            if (!current.filter.mightContain(name)) {
+                return Optional.empty();
+            }
+            Long id = current.ids.get(name);
+            if (id != null) {
+                return Optional.of(id);
+            }
+        }
+        // not built yet, a false positive of the filter or a removed name still set in it
+        return frameworkQueryRepository.findIdByName(name);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @EventListener(CatalogBootstrappedEvent.class)
+    public synchronized void rebuildIndex() {
+        // writes committed while loading wait for the lock and are applied on top of the new index
+        long start = System.nanoTime();
+        Map<String, Long> loaded = new ConcurrentHashMap<>(frameworkQueryRepository.findAllIdsByName());
+        index = new NameIndex(loaded, buildFilter(loaded));
+        log.info("Name index of {} frameworks built in {} ms", loaded.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onFrameworkChanged(FrameworkChangedEvent event) {
+        NameIndex current = index;
+        if (current == null) {
+            // the build reads the change from the database
+            return;
+        }
+        Map<String, Long> ids = current.ids;
+        NameBloomFilter filter = current.filter;
+        JavaScriptFrameworkDto previous = event.getPrevious();
+        JavaScriptFrameworkDto changed = event.getCurrent();
+        if (previous != null && (changed == null || !previous.getName().equals(changed.getName()))
+                && ids.remove(previous.getName(), previous.getId())) {
+            removed++;
+        }
+        if (changed != null) {
+            filter.add(changed.getName());
+            ids.put(changed.getName(), changed.getId());
+        }
+        if (ids.size() > filter.getCapacity() || removed > filter.getCapacity() / 4) {
+            index = new NameIndex(ids, buildFilter(ids));
+        }
+    }
+
+    /**
+     * New filter of the names with room for as many more, the removed ones are left out
+     */
+    private NameBloomFilter buildFilter(Map<String, Long> names) {
+        NameBloomFilter built = new NameBloomFilter(Math.max(MIN_CAPACITY, 2 * names.size()), FALSE_POSITIVE_RATE);
+        names.keySet().forEach(built::add);
+        removed = 0;
+        return built;
+    }
+
+    private static class NameIndex {
+        private final Map<String, Long> ids;
+        private final NameBloomFilter filter;
+
+        NameIndex(Map<String, Long> ids, NameBloomFilter filter) {
+            this.ids = ids;
+            this.filter = filter;
+        }
+    }
+}
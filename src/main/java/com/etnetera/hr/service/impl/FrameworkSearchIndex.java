@@ -0,0 +1,282 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.domain.HypeLevelEnum;
+import com.etnetera.hr.domain.SemanticVersion;
+import com.etnetera.hr.domain.VersionRange;
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+
+import java.util.*;
+
+/**
+ * Inverted index of frameworks. Every framework gets a dense slot number and every indexed
+ * value (name n-gram, version, hype level, deprecation date) points to the set of its slots,
+ * so a search is a handful of bitmap intersections instead of a scan of the catalog.
+ * Well formed versions are also kept sorted as SemanticVersion, a version range is one
+ * range scan of the sorted map.
+ * Slots follow id order, so a page of matches after some id is read from the bitmap starting at the slot
+ * of that id and ends with the limit-th match, nothing is sorted. A framework added after the highest id
+ * takes the next slot, one added in between (e.g. commits of pooled ids finishing out of order) takes a free
+ * slot of a deleted framework between its neighbours, and when there is none the slots are compacted.
+ * Not thread safe, FrameworkSearchServiceImpl guards it with a read write lock.
+ *
+ * @author Marketa Halikova
+ */
+class FrameworkSearchIndex {
+
+    /**
+     * Names are indexed by all their substrings up to this length. Shorter queries are answered
+     * by one lookup, longer ones by intersecting their n-grams and checking the few candidates.
+     */
+    static final int GRAM_LENGTH = 3;
+
+    private final NavigableMap<Long, Integer> slots = new TreeMap<>();
+    private final List<JavaScriptFrameworkDto> frameworks = new ArrayList<>();
+    private final BitSet used = new BitSet();
+    private final Map<String, SlotSet> grams = new HashMap<>();
+    private final Map<String, SlotSet> versions = new HashMap<>();
+    private final NavigableMap<SemanticVersion, SlotSet> semanticVersions = new TreeMap<>();
+    private final Map<HypeLevelEnum, SlotSet> hypeLevels = new EnumMap<>(HypeLevelEnum.class);
+    private final NavigableMap<Long, SlotSet> deprecationDates = new TreeMap<>();
+
+    int size() {
+        return slots.size();
+    }
+
+    /**
+     * Add framework to the index or replace its previous state
+     */
+    void put(JavaScriptFrameworkDto framework) {
+        Integer slot = slots.get(framework.getId());
+        if (slot != null) {
+            unindex(slot, frameworks.get(slot));
+        } else {
+            slot = freeSlot(framework.getId());
+            if (slot == null) {
+                compact(framework);
+                return;
+            }
+            slots.put(framework.getId(), slot);
+        }
+        index(slot, framework);
+    }
+
+    /**
+     * Remove framework from the index, unknown id is ignored
+     */
+    void remove(Long id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        unindex(slot, frameworks.get(slot));
+        // deleted slots below the highest one stay free for ids in between, until they are the majority
+        if (used.length() > 2 * slots.size() + 64) {
+            compact(null);
+        }
+    }
+
+    /**
+     * Slot between the slots of the neighbouring ids, null when there is no free one
+     */
+    private Integer freeSlot(Long id) {
+        Map.Entry<Long, Integer> lower = slots.lowerEntry(id);
+        Map.Entry<Long, Integer> higher = slots.higherEntry(id);
+        int slot = used.nextClearBit(lower == null ? 0 : lower.getValue() + 1);
+        return higher == null || slot < higher.getValue() ? slot : null;
+    }
+
+    /**
+     * Assign slots again in id order without gaps, together with the added framework
+     */
+    private void compact(JavaScriptFrameworkDto added) {
+        List<JavaScriptFrameworkDto> all = new ArrayList<>(slots.size() + 1);
+        slots.values().forEach(slot -> all.add(frameworks.get(slot)));
+        if (added != null) {
+            all.add(added);
+            all.sort(Comparator.comparing(JavaScriptFrameworkDto::getId));
+        }
+        slots.clear();
+        frameworks.clear();
+        used.clear();
+        grams.clear();
+        versions.clear();
+        semanticVersions.clear();
+        hypeLevels.clear();
+        deprecationDates.clear();
+        for (int slot = 0; slot < all.size(); slot++) {
+            slots.put(all.get(slot).getId(), slot);
+            index(slot, all.get(slot));
+        }
+    }
+
+    private void index(int slot, JavaScriptFrameworkDto framework) {
+        used.set(slot);
+        while (frameworks.size() <= slot) {
+            frameworks.add(null);
+        }
+        frameworks.set(slot, framework);
+        for (String gram : grams(framework.getName())) {
+            grams.computeIfAbsent(gram, key -> new SlotSet()).add(slot);
+        }
+        if (framework.getVersions() != null) {
+            for (String version : framework.getVersions()) {
+                versions.computeIfAbsent(version, key -> new SlotSet()).add(slot);
+                SemanticVersion.parse(version).ifPresent(semantic -> semanticVersions.computeIfAbsent(semantic, key -> new SlotSet()).add(slot));
+            }
+        }
+        if (framework.getHypeLevel() != null) {
+            hypeLevels.computeIfAbsent(framework.getHypeLevel(), key -> new SlotSet()).add(slot);
+        }
+        if (framework.getDeprecationDate() != null) {
+            deprecationDates.computeIfAbsent(framework.getDeprecationDate().getTime(), key -> new SlotSet()).add(slot);
+        }
+    }
+
+    private void unindex(int slot, JavaScriptFrameworkDto framework) {
+        frameworks.set(slot, null);
+        used.clear(slot);
+        for (String gram : grams(framework.getName())) {
+            clear(grams, gram, slot);
+        }
+        if (framework.getVersions() != null) {
+            for (String version : framework.getVersions()) {
+                clear(versions, version, slot);
+                SemanticVersion.parse(version).ifPresent(semantic -> clear(semanticVersions, semantic, slot));
+            }
+        }
+        if (framework.getHypeLevel() != null) {
+            clear(hypeLevels, framework.getHypeLevel(), slot);
+        }
+        if (framework.getDeprecationDate() != null) {
+            clear(deprecationDates, framework.getDeprecationDate().getTime(), slot);
+        }
+    }
+
+    private static <K> void clear(Map<K, SlotSet> index, K key, int slot) {
+        SlotSet bits = index.get(key);
+        // "3.2" and "3.2.0" of one framework share the key, the second one finds it removed
+        if (bits == null) {
+            return;
+        }
+        bits.remove(slot);
+        if (bits.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * Find frameworks matching all given criteria, null criterion matches everything
+     *
+     * @param name           lower case substring of the name
+     * @param version        exact version
+     * @param versionRange   range at least one version must be in
+     * @param hypes          accepted hype levels
+     * @param deprecatedFrom lower bound of deprecation date in millis, inclusive
+     * @param deprecatedTo   upper bound of deprecation date in millis, inclusive
+     * @return matching frameworks ordered by id
+     */
+    List<JavaScriptFrameworkDto> search(String name, String version, VersionRange versionRange, Set<HypeLevelEnum> hypes,
+                                        Long deprecatedFrom, Long deprecatedTo) {
+        return search(name, version, versionRange, hypes, deprecatedFrom, deprecatedTo, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Matching frameworks with id greater than afterId, at most limit of them ordered by id.
+     * The matches are read from the slot following afterId and only until limit of them are found.
+     */
+    List<JavaScriptFrameworkDto> search(String name, String version, VersionRange versionRange, Set<HypeLevelEnum> hypes,
+                                        Long deprecatedFrom, Long deprecatedTo, Long afterId, int limit) {
+        int first = 0;
+        if (afterId != null) {
+            Map.Entry<Long, Integer> next = slots.higherEntry(afterId);
+            if (next == null) {
+                return new ArrayList<>();
+            }
+            first = next.getValue();
+        }
+        BitSet result = (BitSet) used.clone();
+        if (version != null) {
+            and(result, versions.get(version));
+        }
+        if (versionRange != null) {
+            BitSet inRange = new BitSet();
+            if (!versionRange.isEmpty()) {
+                versionRange(versionRange).values().forEach(slots -> slots.orInto(inRange));
+            }
+            result.and(inRange);
+        }
+        if (hypes != null) {
+            BitSet anyHype = new BitSet();
+            hypes.stream().map(hypeLevels::get).filter(Objects::nonNull).forEach(slots -> slots.orInto(anyHype));
+            result.and(anyHype);
+        }
+        if (deprecatedFrom != null || deprecatedTo != null) {
+            BitSet inRange = new BitSet();
+            dateRange(deprecatedFrom, deprecatedTo).values().forEach(slots -> slots.orInto(inRange));
+            result.and(inRange);
+        }
+        boolean verifyName = false;
+        if (name != null && !name.isEmpty()) {
+            if (name.length() <= GRAM_LENGTH) {
+                and(result, grams.get(name));
+            } else {
+                for (int i = 0; i + GRAM_LENGTH <= name.length() && !result.isEmpty(); i++) {
+                    and(result, grams.get(name.substring(i, i + GRAM_LENGTH)));
+                }
+                // all n-grams present does not mean they are adjacent
+                verifyName = true;
+            }
+        }
+        List<JavaScriptFrameworkDto> matches = new ArrayList<>();
+        for (int slot = result.nextSetBit(first); slot >= 0 && matches.size() < limit; slot = result.nextSetBit(slot + 1)) {
+            JavaScriptFrameworkDto framework = frameworks.get(slot);
+            if (!verifyName || framework.getName().toLowerCase(Locale.ROOT).contains(name)) {
+                matches.add(framework);
+            }
+        }
+        return matches;
+    }
+
+    private NavigableMap<SemanticVersion, SlotSet> versionRange(VersionRange range) {
+        NavigableMap<SemanticVersion, SlotSet> result = semanticVersions;
+        if (range.getLower() != null) {
+            result = result.tailMap(range.getLower(), range.isLowerInclusive());
+        }
+        if (range.getUpper() != null) {
+            result = result.headMap(range.getUpper(), range.isUpperInclusive());
+        }
+        return result;
+    }
+
+    private static void and(BitSet result, SlotSet slots) {
+        if (slots == null) {
+            result.clear();
+        } else {
+            slots.andInto(result);
+        }
+    }
+
+    private NavigableMap<Long, SlotSet> dateRange(Long from, Long to) {
+        if (from == null) {
+            return deprecationDates.headMap(to, true);
+        } else if (to == null) {
+            return deprecationDates.tailMap(from, true);
+        } else {
+            return deprecationDates.subMap(from, true, to, true);
+        }
+    }
+
+    private static Set<String> grams(String name) {
+        Set<String> result = new HashSet<>();
+        if (name == null) {
+            return result;
+        }
+        String lower = name.toLowerCase(Locale.ROOT);
+        for (int start = 0; start < lower.length(); start++) {
+            for (int end = start + 1; end <= Math.min(start + GRAM_LENGTH, lower.length()); end++) {
+                result.add(lower.substring(start, end));
+            }
+        }
+        return result;
+    }
+}
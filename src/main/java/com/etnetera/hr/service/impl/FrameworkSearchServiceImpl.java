@@ -0,0 +1,143 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.config.FrameworkProperties;
+import com.etnetera.hr.domain.FrameworkSortEnum;
+import com.etnetera.hr.domain.HypeLevelEnum;
+import com.etnetera.hr.domain.VersionRange;
+import com.etnetera.hr.dto.FrameworkPageDto;
+import com.etnetera.hr.dto.FrameworkSearchCriteriaDto;
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.etnetera.hr.event.CatalogBootstrappedEvent;
+import com.etnetera.hr.event.ChangeTypeEnum;
+import com.etnetera.hr.event.FrameworkChangedEvent;
+import com.etnetera.hr.repository.FrameworkQueryRepository;
+import com.etnetera.hr.service.FrameworkSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Service implementation searching frameworks in memory. The index is built from the database
+ * when the catalog is bootstrapped and then follows committed writes of JavaScriptFrameworkService.
+ *
+ * @author Marketa Halikova
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class FrameworkSearchServiceImpl implements FrameworkSearchService {
+
+    private final FrameworkQueryRepository frameworkQueryRepository;
+    private final FrameworkProperties properties;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private FrameworkSearchIndex index = new FrameworkSearchIndex();
+
+    @Override
+    public Optional<List<JavaScriptFrameworkDto>> searchFrameworks(FrameworkSearchCriteriaDto criteria) {
+        return search(criteria, null, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Optional<FrameworkPageDto> searchFrameworksPage(FrameworkSearchCriteriaDto criteria, String cursor, Integer limit) {
+        if (limit != null && limit < 1) {
+            return Optional.empty();
+        }
+        Optional<FrameworkCursor> after = Optional.empty();
+        if (cursor != null) {
+            after = FrameworkCursor.decode(cursor).filter(c -> c.getSort() == FrameworkSortEnum.ID);
+            if (after.isEmpty()) {
+                return Optional.empty();
+            }
+        }
+        FrameworkProperties.Pagination pagination = properties.getPagination();
+        int pageSize = Math.min(limit == null ? pagination.getDefaultPageSize() : limit, pagination.getMaxPageSize());
+        // one extra match tells whether there is a next page
+        Optional<List<JavaScriptFrameworkDto>> matches = search(criteria, after.map(FrameworkCursor::getId).orElse(null), pageSize + 1);
+        if (matches.isEmpty()) {
+            return Optional.empty();
+        }
+        List<JavaScriptFrameworkDto> frameworks = matches.get();
+        String nextCursor = null;
+        if (frameworks.size() > pageSize) {
+            frameworks = frameworks.subList(0, pageSize);
+            nextCursor = FrameworkCursor.after(FrameworkSortEnum.ID, frameworks.get(pageSize - 1)).encode();
+        }
+        return Optional.of(FrameworkPageDto.builder()
+                .frameworks(frameworks)
+                .nextCursor(nextCursor)
+                .build());
+    }
+
+    private Optional<List<JavaScriptFrameworkDto>> search(FrameworkSearchCriteriaDto criteria, Long afterId, int limit) {
+        Set<HypeLevelEnum> hypes = null;
+        if (criteria.getHypeLevels() != null && !criteria.getHypeLevels().isEmpty()) {
+            hypes = EnumSet.noneOf(HypeLevelEnum.class);
+            for (String hypeLevel : criteria.getHypeLevels()) {
+                Optional<HypeLevelEnum> hype = HypeLevelEnum.fromParameter(hypeLevel);
+                if (hype.isEmpty()) {
+                    return Optional.empty();
+                }
+                hypes.add(hype.get());
+            }
+        }
+        VersionRange versionRange = null;
+        if (criteria.getVersionRange() != null) {
+            Optional<VersionRange> range = VersionRange.parse(criteria.getVersionRange());
+            if (range.isEmpty()) {
+                return Optional.empty();
+            }
+            versionRange = range.get();
+        }
+        Long from = criteria.getDeprecatedFrom() == null ? null : criteria.getDeprecatedFrom().getTime();
+        Long to = criteria.getDeprecatedTo() == null ? null : criteria.getDeprecatedTo().getTime();
+        if (from != null && to != null && from > to) {
+            return Optional.empty();
+        }
+        String name = criteria.getName() == null ? null : criteria.getName().toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            return Optional.of(index.search(name, criteria.getVersion(), versionRange, hypes, from, to, afterId, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @EventListener(CatalogBootstrappedEvent.class)
+    public void rebuildIndex() {
+        // writes committed while loading wait for the lock and are applied on top of the new index
+        lock.writeLock().lock();
+        try {
+            long start = System.nanoTime();
+            FrameworkSearchIndex rebuilt = new FrameworkSearchIndex();
+            frameworkQueryRepository.findAll().forEach(rebuilt::put);
+            index = rebuilt;
+            log.info("Search index of {} frameworks built in {} ms", rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFrameworkChanged(FrameworkChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.getType() == ChangeTypeEnum.DELETED) {
+                index.remove(event.getId());
+            } else {
+                index.put(event.getCurrent());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
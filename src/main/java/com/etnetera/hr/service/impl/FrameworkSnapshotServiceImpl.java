@@ -0,0 +1,274 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.config.FrameworkProperties;
+import com.etnetera.hr.domain.HypeLevelEnum;
+import com.etnetera.hr.dto.FrameworkSnapshotDto;
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.etnetera.hr.event.CatalogBootstrappedEvent;
+import com.etnetera.hr.event.FrameworkChangedEvent;
+import com.etnetera.hr.repository.FrameworkBulkRepository;
+import com.etnetera.hr.service.CacheStatisticsService;
+import com.etnetera.hr.service.FrameworkSnapshotService;
+import com.etnetera.hr.service.JavaScriptFrameworkService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Service implementation keeping the catalog in a binary snapshot file. The snapshot is written from
+ * the streamed export into a temporary file which then replaces the previous one, so the file is always
+ * complete. On startup it is mapped into memory and inserted by plain JDBC batches, which is much
+ * faster than the bulk import with validation and entities for every framework.
+ * <p>
+ * Format, big endian as written by DataOutputStream:
+ * <pre>
+ * header:    int magic "JSFS", short format version, long created at millis
+ * framework: byte 1, long id, long revision, string name, string latest version,
+ *            long deprecation date millis or Long.MIN_VALUE, string hype level name,
+ *            int number of versions, string version...
+ * trailer:   byte 0, long number of frameworks
+ * string:    short length of UTF-8 bytes or -1 for null, the bytes
+ * </pre>
+ *
+ * @author Marketa Halikova
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class FrameworkSnapshotServiceImpl implements FrameworkSnapshotService {
+
+    private static final int MAGIC = 0x4A534653;
+    /**
+     * Version 1 stored hype level ordinal, which breaks when HypeLevelEnum values are reordered,
+     * version 2 stored the number of versions as short, which wraps above 65535 versions
+     */
+    private static final short FORMAT_VERSION = 3;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final byte FRAMEWORK = 1;
+    private static final byte END = 0;
+
+    private final JavaScriptFrameworkService javaScriptFrameworkService;
+    private final FrameworkBulkRepository frameworkBulkRepository;
+    private final CacheStatisticsService cacheStatisticsService;
+    private final FrameworkProperties properties;
+
+    /**
+     * Catalog changed since the last snapshot was written or restored
+     */
+    private volatile boolean changed;
+    /**
+     * Catalog bootstrap finished, a snapshot of partly imported catalog would be restored as the whole one
+     */
+    private volatile boolean bootstrapped;
+
+    @Override
+    public synchronized Optional<FrameworkSnapshotDto> writeSnapshot() {
+        Optional<Path> file = snapshotFile();
+        if (file.isEmpty()) {
+            return Optional.empty();
+        }
+        long start = System.nanoTime();
+        // writes committed while exporting set it again and are in the next snapshot
+        changed = false;
+        Path temporary = file.get().resolveSibling(file.get().getFileName() + ".tmp");
+        Date createdAt = new Date();
+        long count;
+        try {
+            if (file.get().getParent() != null) {
+                Files.createDirectories(file.get().getParent());
+            }
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+                output.writeInt(MAGIC);
+                output.writeShort(FORMAT_VERSION);
+                output.writeLong(createdAt.getTime());
+                count = javaScriptFrameworkService.exportFrameworks(framework -> {
+                    try {
+                        writeFramework(output, framework);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                output.writeByte(END);
+                output.writeLong(count);
+            }
+            Files.move(temporary, file.get(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | UncheckedIOException e) {
+            changed = true;
+            throw new IllegalStateException("Snapshot could not be written to " + file.get(), e);
+        }
+        FrameworkSnapshotDto snapshot = snapshot(file.get(), count, createdAt, start);
+        log.info("Snapshot of {} frameworks written to {} in {} ms, {} bytes", count, file.get(), snapshot.getDurationMs(), snapshot.getBytes());
+        return Optional.of(snapshot);
+    }
+
+    @Override
+    @Transactional
+    public synchronized Optional<FrameworkSnapshotDto> restoreSnapshot() {
+        Optional<Path> file = snapshotFile().filter(Files::isRegularFile);
+        if (file.isEmpty()) {
+            return Optional.empty();
+        }
+        if (frameworkBulkRepository.count() > 0) {
+            log.warn("Snapshot {} not restored, the catalog is not empty", file.get());
+            return Optional.empty();
+        }
+        long start = System.nanoTime();
+        Date createdAt;
+        long count = 0;
+        long maxId = 0;
+        try (FileChannel channel = FileChannel.open(file.get(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("snapshot larger than 2 GB");
+            }
+            // read straight from the page cache, nothing is copied into the heap but the frameworks of one chunk
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getShort() != FORMAT_VERSION) {
+                throw new IOException("not a snapshot of format version " + FORMAT_VERSION);
+            }
+            createdAt = new Date(buffer.getLong());
+            int chunkSize = properties.getBulkImport().getChunkSize();
+            List<JavaScriptFrameworkDto> chunk = new ArrayList<>(chunkSize);
+            while (buffer.get() == FRAMEWORK) {
+                JavaScriptFrameworkDto framework = readFramework(buffer);
+                chunk.add(framework);
+                maxId = Math.max(maxId, framework.getId());
+                if (chunk.size() == chunkSize) {
+                    frameworkBulkRepository.insertAll(chunk);
+                    count += chunk.size();
+                    chunk.clear();
+                }
+            }
+            frameworkBulkRepository.insertAll(chunk);
+            count += chunk.size();
+            if (buffer.getLong() != count) {
+                throw new IOException("number of frameworks does not match the trailer");
+            }
+        } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            // transaction is rolled back, delete the file to start without it
+            throw new IllegalStateException("Snapshot " + file.get() + " is not readable", e);
+        }
+        frameworkBulkRepository.restartIdSequence(maxId);
+        cacheStatisticsService.evictAll();
+        changed = false;
+        FrameworkSnapshotDto snapshot = snapshot(file.get(), count, createdAt, start);
+        log.info("Snapshot of {} frameworks from {} restored in {} ms, {} bytes mapped", count, file.get(), snapshot.getDurationMs(), snapshot.getBytes());
+        return Optional.of(snapshot);
+    }
+
+    @Scheduled(fixedDelayString = "#{@frameworkProperties.snapshot.writeIntervalMs}",
+            initialDelayString = "#{@frameworkProperties.snapshot.writeIntervalMs}")
+    public void writeChangedSnapshot() {
+        if (bootstrapped && changed) {
+            writeSnapshot();
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void onShutdown() {
+        if (bootstrapped && changed && properties.getSnapshot().isWriteOnShutdown()) {
+            writeSnapshot();
+        }
+    }
+
+    @EventListener(CatalogBootstrappedEvent.class)
+    public void onCatalogBootstrapped() {
+        bootstrapped = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFrameworkChanged(FrameworkChangedEvent event) {
+        changed = true;
+    }
+
+    private Optional<Path> snapshotFile() {
+        String file = properties.getSnapshot().getFile();
+        return file == null || file.isBlank() ? Optional.empty() : Optional.of(Paths.get(file));
+    }
+
+    private static FrameworkSnapshotDto snapshot(Path file, long count, Date createdAt, long start) {
+        try {
+            return FrameworkSnapshotDto.builder()
+                    .file(file.toString())
+                    .frameworks(count)
+                    .bytes(Files.size(file))
+                    .createdAt(createdAt)
+                    .durationMs((System.nanoTime() - start) / 1_000_000)
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeFramework(DataOutputStream output, JavaScriptFrameworkDto framework) throws IOException {
+        output.writeByte(FRAMEWORK);
+        output.writeLong(framework.getId());
+        output.writeLong(framework.getRevision());
+        writeString(output, framework.getName());
+        writeString(output, framework.getLatestVersion());
+        output.writeLong(framework.getDeprecationDate() == null ? NO_DATE : framework.getDeprecationDate().getTime());
+        writeString(output, framework.getHypeLevel().name());
+        output.writeInt(framework.getVersions().size());
+        for (String version : framework.getVersions()) {
+            writeString(output, version);
+        }
+    }
+
+    private static JavaScriptFrameworkDto readFramework(ByteBuffer buffer) {
+        JavaScriptFrameworkDto.JavaScriptFrameworkDtoBuilder framework = JavaScriptFrameworkDto.builder()
+                .id(buffer.getLong())
+                .revision(buffer.getLong())
+                .name(readString(buffer))
+                .latestVersion(readString(buffer));
+        long deprecationDate = buffer.getLong();
+        framework.deprecationDate(deprecationDate == NO_DATE ? null : new Date(deprecationDate))
+                .hypeLevel(HypeLevelEnum.valueOf(readString(buffer)));
+        int versionCount = buffer.getInt();
+        // every version takes at least its length, a damaged count must not size the set
+        Set<String> versions = new HashSet<>(Math.max(0, Math.min(versionCount, buffer.remaining() / 2)) * 2);
+        for (int i = 0; i < versionCount; i++) {
+            versions.add(readString(buffer));
+        }
+        return framework.versions(versions).build();
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeShort(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= Short.MAX_VALUE) {
+            throw new IOException("value too long for snapshot: " + value.substring(0, 30) + "...");
+        }
+        output.writeShort(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,159 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.domain.HypeLevelEnum;
+import com.etnetera.hr.dto.FrameworkStatisticsDto;
+import com.etnetera.hr.dto.FrameworkSummaryDto;
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.etnetera.hr.event.CatalogBootstrappedEvent;
+import com.etnetera.hr.event.ChangeTypeEnum;
+import com.etnetera.hr.event.FrameworkChangedEvent;
+import com.etnetera.hr.event.FrameworkDeprecatedEvent;
+import com.etnetera.hr.repository.FrameworkQueryRepository;
+import com.etnetera.hr.service.FrameworkStatisticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+/**
+ * Service implementation keeping aggregate counts of the catalog in memory. Every committed write
+ * moves its framework between the counters, and after every change an immutable snapshot is published,
+ * so a request only reads one volatile reference. Each framework remembers how it was counted,
+ * deprecation scheduler moves it to deprecated when its date is reached, and reconciliation recounts
+ * everything from the database in case some write went around the service.
+ *
+ * @author Marketa Halikova
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class FrameworkStatisticsServiceImpl implements FrameworkStatisticsService {
+
+    private final FrameworkQueryRepository frameworkQueryRepository;
+
+    private Counters counters = new Counters();
+    private volatile FrameworkStatisticsDto statistics = counters.snapshot(null);
+    private Date reconciledAt;
+
+    @Override
+    public FrameworkStatisticsDto getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @EventListener(CatalogBootstrappedEvent.class)
+    @Scheduled(fixedDelayString = "#{@frameworkProperties.statistics.reconcileIntervalMs}",
+            initialDelayString = "#{@frameworkProperties.statistics.reconcileIntervalMs}")
+    public synchronized void reconcile() {
+        // writes committed meanwhile wait for the lock and are counted on top of the recount
+        Counters recounted = new Counters();
+        long now = System.currentTimeMillis();
+        for (FrameworkSummaryDto summary : frameworkQueryRepository.findAllSummaries()) {
+            recounted.add(summary.getId(), new Counted(summary.getHypeLevel(), summary.getDeprecationDate(),
+                    summary.getVersionCount(), isDeprecated(summary.getDeprecationDate(), now)));
+        }
+        if (reconciledAt != null && !recounted.sameCountsAs(counters)) {
+            log.warn("Statistics counters drifted from the database, counted {}, recounted {}",
+                    counters.snapshot(null), recounted.snapshot(null));
+        }
+        counters = recounted;
+        reconciledAt = new Date(now);
+        publish();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onFrameworkChanged(FrameworkChangedEvent event) {
+        counters.remove(event.getId());
+        if (event.getType() != ChangeTypeEnum.DELETED) {
+            JavaScriptFrameworkDto framework = event.getCurrent();
+            counters.add(framework.getId(), new Counted(framework.getHypeLevel(), framework.getDeprecationDate(),
+                    framework.getVersions() == null ? 0 : framework.getVersions().size(),
+                    isDeprecated(framework.getDeprecationDate(), System.currentTimeMillis())));
+        }
+        publish();
+    }
+
+    @EventListener
+    public synchronized void onFrameworkDeprecated(FrameworkDeprecatedEvent event) {
+        Counted counted = counters.remove(event.getId());
+        if (counted != null) {
+            counters.add(event.getId(), new Counted(counted.hypeLevel, counted.deprecationDate, counted.versionCount,
+                    isDeprecated(counted.deprecationDate, System.currentTimeMillis())));
+            publish();
+        }
+    }
+
+    private void publish() {
+        statistics = counters.snapshot(reconciledAt);
+    }
+
+    private static boolean isDeprecated(Date deprecationDate, long now) {
+        return deprecationDate != null && deprecationDate.getTime() <= now;
+    }
+
+    @RequiredArgsConstructor
+    private static class Counted {
+        private final HypeLevelEnum hypeLevel;
+        private final Date deprecationDate;
+        private final int versionCount;
+        private final boolean deprecated;
+    }
+
+    /**
+     * Counters with the way every framework was counted, not thread safe
+     */
+    private static class Counters {
+        private final Map<Long, Counted> frameworks = new HashMap<>();
+        private final Map<HypeLevelEnum, Long> hypeLevels = new EnumMap<>(HypeLevelEnum.class);
+        private final Map<Integer, Long> versionCounts = new TreeMap<>();
+        private long deprecated;
+
+        Counters() {
+            for (HypeLevelEnum hypeLevel : HypeLevelEnum.values()) {
+                hypeLevels.put(hypeLevel, 0L);
+            }
+        }
+
+        void add(Long id, Counted counted) {
+            frameworks.put(id, counted);
+            hypeLevels.merge(counted.hypeLevel, 1L, Long::sum);
+            versionCounts.merge(counted.versionCount, 1L, Long::sum);
+            deprecated += counted.deprecated ? 1 : 0;
+        }
+
+        Counted remove(Long id) {
+            Counted counted = frameworks.remove(id);
+            if (counted != null) {
+                hypeLevels.merge(counted.hypeLevel, -1L, Long::sum);
+                // drop the entry when the last framework with this number of versions leaves
+                versionCounts.merge(counted.versionCount, -1L, (count, delta) -> count + delta == 0 ? null : count + delta);
+                deprecated -= counted.deprecated ? 1 : 0;
+            }
+            return counted;
+        }
+
+        boolean sameCountsAs(Counters other) {
+            return frameworks.size() == other.frameworks.size()
+                    && deprecated == other.deprecated
+                    && hypeLevels.equals(other.hypeLevels)
+                    && versionCounts.equals(other.versionCounts);
+        }
+
+        FrameworkStatisticsDto snapshot(Date reconciledAt) {
+            return FrameworkStatisticsDto.builder()
+                    .total(frameworks.size())
+                    .hypeLevels(Collections.unmodifiableMap(new EnumMap<>(hypeLevels)))
+                    .deprecated(deprecated)
+                    .notDeprecated(frameworks.size() - deprecated)
+                    .versionCounts(Collections.unmodifiableMap(new TreeMap<>(versionCounts)))
+                    .reconciledAt(reconciledAt)
+                    .build();
+        }
+    }
+}
@@ -1,18 +1,42 @@
 package com.etnetera.hr.service.impl;
 
+import com.etnetera.hr.config.FrameworkProperties;
+import com.etnetera.hr.domain.FrameworkSortEnum;
 import com.etnetera.hr.domain.HypeLevelEnum;
 import com.etnetera.hr.domain.JavaScriptFramework;
+import com.etnetera.hr.dto.BatchItemResultDto;
+import com.etnetera.hr.dto.BatchItemStatusEnum;
 import com.etnetera.hr.dto.CreateJavaScriptFrameworkDto;
+import com.etnetera.hr.dto.FrameworkFieldEnum;
+import com.etnetera.hr.dto.FrameworkPageDto;
+import com.etnetera.hr.dto.FrameworkPatchDto;
 import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.etnetera.hr.event.FrameworkChangedEvent;
 import com.etnetera.hr.mapper.FrameworkMapper;
+import com.etnetera.hr.repository.FrameworkQueryRepository;
 import com.etnetera.hr.repository.JavaScriptFrameworkRepository;
+import com.etnetera.hr.service.FrameworkNameService;
 import com.etnetera.hr.service.JavaScriptFrameworkService;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Optional;
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for JavaScript Framework operations
@@ -24,16 +48,106 @@ import java.util.stream.StreamSupport;
 public class JavaScriptFrameworkServiceImpl implements JavaScriptFrameworkService {
 
     private final JavaScriptFrameworkRepository javaScriptFrameworkRepository;
+    private final FrameworkQueryRepository frameworkQueryRepository;
     private final FrameworkMapper mapper;
+    private final FrameworkProperties properties;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final FrameworkNameService frameworkNameService;
 
     @Override
+    @Transactional(readOnly = true)
     public Iterable<JavaScriptFrameworkDto> getAllFrameworks() {
-        return StreamSupport.stream(javaScriptFrameworkRepository.findAll().spliterator(), false)
-                .map(mapper::entityToDto)
-                .collect(Collectors.toList());
+        return frameworkQueryRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public long exportFrameworks(Consumer<JavaScriptFrameworkDto> consumer) {
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        // whole catalog would evict frequently read frameworks from the second level cache, query hint
+        // is not enough, it covers only opening of the cursor and entities are loaded while it is read
+        session.setCacheMode(CacheMode.IGNORE);
+        long count = 0;
+        try (Stream<JavaScriptFramework> frameworks = javaScriptFrameworkRepository.streamAllOrderById()) {
+            for (Iterator<JavaScriptFramework> iterator = frameworks.iterator(); iterator.hasNext(); count++) {
+                JavaScriptFramework framework = iterator.next();
+                consumer.accept(mapper.entityToDto(framework));
+                // persistence context stays empty, memory does not grow with the catalog
+                entityManager.detach(framework);
+            }
+        } finally {
+            session.setCacheMode(cacheMode);
+        }
+        return count;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<FrameworkPageDto> getFrameworksPage(String sort, String cursor, Integer limit, Set<FrameworkFieldEnum> fields) {
+        Optional<FrameworkSortEnum> sortBy = FrameworkSortEnum.fromParameter(sort);
+        if (sortBy.isEmpty() || (limit != null && limit < 1)) {
+            return Optional.empty();
+        }
+        Optional<FrameworkCursor> after = Optional.empty();
+        if (cursor != null) {
+            after = FrameworkCursor.decode(cursor).filter(c -> c.getSort() == sortBy.get());
+            if (after.isEmpty()) {
+                return Optional.empty();
+            }
+        }
+        FrameworkProperties.Pagination pagination = properties.getPagination();
+        int pageSize = Math.min(limit == null ? pagination.getDefaultPageSize() : limit, pagination.getMaxPageSize());
+        // one extra row tells whether there is a next page without a count query
+        List<JavaScriptFrameworkDto> frameworks = findPage(sortBy.get(), after.orElse(null), pageSize + 1, pageFields(sortBy.get(), fields));
+        String nextCursor = null;
+        if (frameworks.size() > pageSize) {
+            frameworks = frameworks.subList(0, pageSize);
+            nextCursor = FrameworkCursor.after(sortBy.get(), frameworks.get(pageSize - 1)).encode();
+        }
+        return Optional.of(FrameworkPageDto.builder()
+                .frameworks(frameworks)
+                .nextCursor(nextCursor)
+                .build());
+    }
+
+    /**
+     * Keyset query of the page following the cursor. Every page is an index range scan
+     * of the same size, no matter how deep the client pages.
+     */
+    private List<JavaScriptFrameworkDto> findPage(FrameworkSortEnum sort, FrameworkCursor after, int size, Set<FrameworkFieldEnum> fields) {
+        switch (sort) {
+            case NAME:
+                return frameworkQueryRepository.findPageByName(after == null ? null : after.getName(), size, fields);
+            case DEPRECATION_DATE:
+                return frameworkQueryRepository.findPageByDeprecationDate(after == null ? null : after.getDeprecationDate(),
+                        after == null ? null : after.getId(), size, fields);
+            default:
+                return frameworkQueryRepository.findPageById(after == null ? null : after.getId(), size, fields);
+        }
+    }
+
+    /**
+     * Requested fields with the sort key, the cursor of the next page is built from it
+     */
+    private static Set<FrameworkFieldEnum> pageFields(FrameworkSortEnum sort, Set<FrameworkFieldEnum> fields) {
+        if (fields == null) {
+            return EnumSet.allOf(FrameworkFieldEnum.class);
+        }
+        Set<FrameworkFieldEnum> pageFields = EnumSet.copyOf(fields);
+        if (sort == FrameworkSortEnum.NAME) {
+            pageFields.add(FrameworkFieldEnum.NAME);
+        } else if (sort == FrameworkSortEnum.DEPRECATION_DATE) {
+            pageFields.add(FrameworkFieldEnum.DEPRECATION_DATE);
+        }
+        return pageFields;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<JavaScriptFrameworkDto> findFrameworkById(Long id) {
         Optional<JavaScriptFramework> framework = javaScriptFrameworkRepository.findById(id);
         if (framework.isPresent()) {
@@ -43,21 +157,101 @@ public class JavaScriptFrameworkServiceImpl implements JavaScriptFrameworkServic
         }
     }
 
+    @Override
+    public Optional<JavaScriptFrameworkDto> findFrameworkByName(String name) {
+        // no transaction of its own, an unknown name does not even take a connection; a known one
+        // is usually found in the second level cache without any query
+        return frameworkNameService.findIdByName(name).flatMap(this::findFrameworkById);
+    }
+
     @Override
     public Optional<JavaScriptFrameworkDto> saveFramework(CreateJavaScriptFrameworkDto createFrameworkDto) {
-        Optional<JavaScriptFramework> framework = javaScriptFrameworkRepository.findByName(createFrameworkDto.getName());
-        if (framework.isEmpty()) {
-            return Optional.of(mapper.entityToDto(javaScriptFrameworkRepository.save(mapper.createDtoToEntity(createFrameworkDto))));
-        } else {
+        // known names are rejected in memory, the unique constraint rejects the rest at flush, even when two creates race
+        if (frameworkNameService.findIdByName(createFrameworkDto.getName()).isPresent()) {
             return Optional.empty();
         }
+        return write(false, () -> {
+            JavaScriptFrameworkDto saved = mapper.entityToDto(javaScriptFrameworkRepository.saveAndFlush(mapper.createDtoToEntity(createFrameworkDto)));
+            eventPublisher.publishEvent(FrameworkChangedEvent.created(saved));
+            return Optional.of(saved);
+        });
+    }
+
+    @Override
+    public List<BatchItemResultDto> saveFrameworks(List<CreateJavaScriptFrameworkDto> createFrameworkDtos) {
+        // a name created meanwhile by someone else fails the whole transaction on the unique constraint at commit,
+        // the batch is written again and the name is then reported as taken by its item
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> insertFrameworks(createFrameworkDtos));
+            } catch (DataIntegrityViolationException e) {
+                if (!isNameTaken(e) || attempt >= properties.getWrite().getMaxAttempts()) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private List<BatchItemResultDto> insertFrameworks(List<CreateJavaScriptFrameworkDto> createFrameworkDtos) {
+        Set<String> names = createFrameworkDtos.stream()
+                .filter(Objects::nonNull)
+                .map(CreateJavaScriptFrameworkDto::getName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        // one set based query instead of findByName for every item
+        Set<String> takenNames = names.isEmpty() ? new HashSet<>() : new HashSet<>(javaScriptFrameworkRepository.findExistingNames(names));
+
+        BatchItemResultDto[] results = new BatchItemResultDto[createFrameworkDtos.size()];
+        Map<Integer, JavaScriptFramework> frameworks = new LinkedHashMap<>();
+        for (int i = 0; i < createFrameworkDtos.size(); i++) {
+            CreateJavaScriptFrameworkDto dto = createFrameworkDtos.get(i);
+            if (dto == null) {
+                results[i] = failedItem(i, null, "framework must not be null");
+                continue;
+            }
+            Set<ConstraintViolation<CreateJavaScriptFrameworkDto>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                results[i] = failedItem(i, dto, violations.stream()
+                        .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            } else if (!takenNames.add(dto.getName())) {
+                results[i] = failedItem(i, dto, "Framework with this name already exists");
+            } else {
+                frameworks.put(i, mapper.createDtoToEntity(dto));
+            }
+        }
+        // inserts of frameworks and their versions are sent in JDBC batches on flush
+        javaScriptFrameworkRepository.saveAll(frameworks.values());
+        frameworks.forEach((index, framework) -> {
+            eventPublisher.publishEvent(FrameworkChangedEvent.created(mapper.entityToDto(framework)));
+            results[index] = BatchItemResultDto.builder()
+                    .index(index)
+                    .name(framework.getName())
+                    .status(BatchItemStatusEnum.CREATED)
+                    .id(framework.getId())
+                    .build();
+        });
+        return Arrays.asList(results);
+    }
+
+    private BatchItemResultDto failedItem(int index, CreateJavaScriptFrameworkDto dto, String error) {
+        return BatchItemResultDto.builder()
+                .index(index)
+                .name(dto == null ? null : dto.getName())
+                .status(BatchItemStatusEnum.FAILED)
+                .error(error)
+                .build();
     }
 
     @Override
+    @Transactional
     public boolean deleteFramework(Long id) {
         Optional<JavaScriptFramework> framework = javaScriptFrameworkRepository.findById(id);
         if (framework.isPresent()) {
+            JavaScriptFrameworkDto previous = mapper.entityToDto(framework.get());
             javaScriptFrameworkRepository.delete(framework.get());
+            eventPublisher.publishEvent(FrameworkChangedEvent.deleted(previous));
             return true;
         } else {
             return false;
@@ -66,29 +260,108 @@ public class JavaScriptFrameworkServiceImpl implements JavaScriptFrameworkServic
 
     @Override
     public Optional<JavaScriptFrameworkDto> updateFramework(JavaScriptFrameworkDto frameworkDto) {
-        Optional<JavaScriptFramework> frameworkById = javaScriptFrameworkRepository.findById(frameworkDto.getId());
-        Optional<JavaScriptFramework> frameworkByName = javaScriptFrameworkRepository.findByName(frameworkDto.getName());
-        if (frameworkById.isPresent() && frameworkByName.isEmpty()) {
-            mapper.updateFrameworkFromDto(frameworkDto, frameworkById.get());
-            return Optional.of(mapper.entityToDto(javaScriptFrameworkRepository.save(frameworkById.get())));
-        } else {
+        // name is checked by the unique constraint at flush, concurrent update by revision; an update
+        // without revision does not depend on what it overwrites and is applied again on top of the winner
+        if (frameworkNameService.findIdByName(frameworkDto.getName()).filter(id -> !id.equals(frameworkDto.getId())).isPresent()) {
             return Optional.empty();
         }
+        return write(frameworkDto.getRevision() == null, () -> {
+            Optional<JavaScriptFramework> frameworkById = javaScriptFrameworkRepository.findById(frameworkDto.getId());
+            if (frameworkById.isEmpty()) {
+                return Optional.empty();
+            }
+            JavaScriptFramework framework = frameworkById.get();
+            if (frameworkDto.getRevision() != null && frameworkDto.getRevision() != framework.getRevision()) {
+                throw new ObjectOptimisticLockingFailureException(JavaScriptFramework.class, framework.getId());
+            }
+            JavaScriptFrameworkDto previous = mapper.entityToDto(framework);
+            mapper.updateFrameworkFromDto(frameworkDto, framework);
+            // flush increments revision, so the returned framework carries the new one
+            JavaScriptFrameworkDto updated = mapper.entityToDto(javaScriptFrameworkRepository.saveAndFlush(framework));
+            eventPublisher.publishEvent(FrameworkChangedEvent.updated(previous, updated));
+            return Optional.of(updated);
+        });
     }
 
     @Override
-    public Iterable<JavaScriptFrameworkDto> getFrameworksByHype(String hypeLevel) {
-        return StreamSupport.stream(javaScriptFrameworkRepository.findAllByHypeLevel(fromStringToEnum(hypeLevel)).spliterator(), false)
-                .map(mapper::entityToDto)
-                .collect(Collectors.toList());
+    public Optional<JavaScriptFrameworkDto> patchFramework(Long id, FrameworkPatchDto patch, Long revision) {
+        if (patch.hasName() && frameworkNameService.findIdByName(patch.getName()).filter(other -> !other.equals(id)).isPresent()) {
+            return Optional.empty();
+        }
+        return write(revision == null, () -> {
+            Optional<JavaScriptFramework> frameworkById = javaScriptFrameworkRepository.findById(id);
+            if (frameworkById.isEmpty()) {
+                return Optional.empty();
+            }
+            JavaScriptFramework framework = frameworkById.get();
+            if (revision != null && revision != framework.getRevision()) {
+                throw new ObjectOptimisticLockingFailureException(JavaScriptFramework.class, framework.getId());
+            }
+            JavaScriptFrameworkDto previous = mapper.entityToDto(framework);
+            mapper.patchFramework(patch, framework);
+            JavaScriptFrameworkDto patched = mapper.entityToDto(javaScriptFrameworkRepository.saveAndFlush(framework));
+            // a patch changing nothing is not written, the revision stays
+            if (!patched.getRevision().equals(previous.getRevision())) {
+                eventPublisher.publishEvent(FrameworkChangedEvent.updated(previous, patched));
+            }
+            return Optional.of(patched);
+        });
     }
 
-    private HypeLevelEnum fromStringToEnum(String text) {
-        for (HypeLevelEnum e : HypeLevelEnum.values()) {
-            if (e.name().equalsIgnoreCase(text)) {
-                return e;
+    /**
+     * Run the write in its own transaction, violated unique constraint of names gives empty Optional, any other
+     * violation is thrown. Concurrency failure is retried up to frameworks.write.max-attempts times when
+     * retryable, otherwise it is thrown. Retries need a new transaction, so the write must not be called inside another one.
+     */
+    private Optional<JavaScriptFrameworkDto> write(boolean retryable, Supplier<Optional<JavaScriptFrameworkDto>> write) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> write.get());
+            } catch (DataIntegrityViolationException e) {
+                if (!isNameTaken(e)) {
+                    throw e;
+                }
+                return Optional.empty();
+            } catch (ConcurrencyFailureException e) {
+                if (!retryable || attempt >= properties.getWrite().getMaxAttempts()) {
+                    throw e;
+                }
             }
         }
-        return null;
+    }
+
+    /**
+     * Whether the write failed on the unique constraint of names, e.g. a too long value fails on the database as well
+     */
+    static boolean isNameTaken(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                String constraint = ((ConstraintViolationException) cause).getConstraintName();
+                // H2 prefixes the constraint name with the schema and appends an index suffix, e.g.
+                // "PUBLIC.UK_FRAMEWORK_NAME_INDEX_1 ON PUBLIC.JAVA_SCRIPT_FRAMEWORK(NAME) VALUES ..."
+                return constraint != null && constraint.toLowerCase().contains(JavaScriptFramework.NAME_CONSTRAINT);
+            }
+        }
+        return false;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Iterable<JavaScriptFrameworkDto> getFrameworksByHype(String hypeLevel, Set<FrameworkFieldEnum> fields) {
+        Optional<HypeLevelEnum> hype = HypeLevelEnum.fromParameter(hypeLevel);
+        if (hype.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return frameworkQueryRepository.findAllByHypeLevel(hype.get(), fields == null ? EnumSet.allOf(FrameworkFieldEnum.class) : fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<List<JavaScriptFrameworkDto>> getFrameworksDeprecating(Date from, Date to, Set<FrameworkFieldEnum> fields) {
+        if (from != null && to != null && from.after(to)) {
+            return Optional.empty();
+        }
+        return Optional.of(frameworkQueryRepository.findAllByDeprecationDate(from, to,
+                fields == null ? EnumSet.allOf(FrameworkFieldEnum.class) : fields));
     }
 }
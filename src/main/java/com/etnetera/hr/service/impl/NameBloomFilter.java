@@ -0,0 +1,83 @@
+package com.etnetera.hr.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of framework names. It answers "surely not there" for most names which are not,
+ * from a bit array of about 10 bits per name, without touching the name map. Names cannot be removed,
+ * the owner builds a new filter when too many removed names are still set in it.
+ * Bits are set atomically, so adding and reading from many threads at once is safe.
+ *
+ * @author Marketa Halikova
+ */
+class NameBloomFilter {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final int capacity;
+
+    /**
+     * @param capacity          number of names the filter is sized for
+     * @param falsePositiveRate rate of "maybe there" for names which are not, with capacity names added
+     */
+    NameBloomFilter(int capacity, double falsePositiveRate) {
+        this.capacity = capacity;
+        long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray((int) Math.max(1, (optimalBits + Long.SIZE - 1) / Long.SIZE));
+        this.bits = (long) words.length() * Long.SIZE;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    void add(String name) {
+        long hash = hash(name);
+        long first = hash >>> 32;
+        long second = hash & 0xffffffffL;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(first + i * second, bits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long value = words.get(word);
+            while ((value & mask) == 0 && !words.compareAndSet(word, value, value | mask)) {
+                value = words.get(word);
+            }
+        }
+    }
+
+    boolean mightContain(String name) {
+        long hash = hash(name);
+        long first = hash >>> 32;
+        long second = hash & 0xffffffffL;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(first + i * second, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 64 bit FNV-1a of UTF-8 bytes, its halves are the two hashes every probe is combined from
+     */
+    private static long hash(String name) {
+        long hash = FNV_OFFSET;
+        for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        // FNV mixes the low bits well, the high half needs one more round
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,94 @@
+package com.etnetera.hr.service.impl;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Set of index slots for one indexed value of FrameworkSearchIndex. A bitmap costs one bit per slot
+ * of the whole catalog no matter how many slots are set, which is fine for hype levels but not for
+ * thousands of name n-grams, versions and dates that point to a few frameworks each. So the set starts
+ * as a sorted array and turns into a bitmap only when the array would be the bigger one.
+ * Not thread safe.
+ *
+ * @author Marketa Halikova
+ */
+class SlotSet {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] sorted = new int[INITIAL_CAPACITY];
+    private int size;
+    private BitSet bits;
+
+    void add(int slot) {
+        if (bits != null) {
+            bits.set(slot);
+            return;
+        }
+        int position = Arrays.binarySearch(sorted, 0, size, slot);
+        if (position >= 0) {
+            return;
+        }
+        position = -position - 1;
+        if (size == sorted.length) {
+            // an int takes 32 bits, a bitmap up to the highest slot is smaller from here on
+            int highest = Math.max(slot, sorted[size - 1]);
+            if (size * Integer.SIZE > highest) {
+                bits = new BitSet(highest + 1);
+                for (int i = 0; i < size; i++) {
+                    bits.set(sorted[i]);
+                }
+                bits.set(slot);
+                sorted = null;
+                size = 0;
+                return;
+            }
+            sorted = Arrays.copyOf(sorted, size * 2);
+        }
+        System.arraycopy(sorted, position, sorted, position + 1, size - position);
+        sorted[position] = slot;
+        size++;
+    }
+
+    void remove(int slot) {
+        if (bits != null) {
+            bits.clear(slot);
+            return;
+        }
+        int position = Arrays.binarySearch(sorted, 0, size, slot);
+        if (position >= 0) {
+            System.arraycopy(sorted, position + 1, sorted, position, size - position - 1);
+            size--;
+        }
+    }
+
+    boolean isEmpty() {
+        return bits == null ? size == 0 : bits.isEmpty();
+    }
+
+    /**
+     * Keep only the slots of this set in the target
+     */
+    void andInto(BitSet target) {
+        if (bits != null) {
+            target.and(bits);
+            return;
+        }
+        BitSet mine = new BitSet(size == 0 ? 0 : sorted[size - 1] + 1);
+        orInto(mine);
+        target.and(mine);
+    }
+
+    /**
+     * Add the slots of this set to the target
+     */
+    void orInto(BitSet target) {
+        if (bits != null) {
+            target.or(bits);
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            target.set(sorted[i]);
+        }
+    }
+}
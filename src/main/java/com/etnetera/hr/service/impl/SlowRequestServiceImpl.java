@@ -0,0 +1,51 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.config.FrameworkProperties;
+import com.etnetera.hr.dto.SlowRequestDto;
+import com.etnetera.hr.service.SlowRequestService;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Service implementation keeping slow requests in a ring buffer of fixed capacity,
+ * so the memory stays bounded no matter how many requests are slow.
+ *
+ * @author Marketa Halikova
+ */
+@Service
+public class SlowRequestServiceImpl implements SlowRequestService {
+
+    private final SlowRequestDto[] buffer;
+    private long recorded;
+
+    public SlowRequestServiceImpl(FrameworkProperties properties) {
+        this.buffer = new SlowRequestDto[properties.getServerTiming().getSlowRequestCapacity()];
+    }
+
+    @Override
+    public synchronized void record(SlowRequestDto request) {
+        buffer[(int) (recorded++ % buffer.length)] = request;
+    }
+
+    @Override
+    public List<SlowRequestDto> getSlowRequests() {
+        List<SlowRequestDto> requests;
+        synchronized (this) {
+            requests = new ArrayList<>(Arrays.asList(buffer));
+        }
+        requests.removeIf(Objects::isNull);
+        requests.sort(Comparator.comparingDouble(SlowRequestDto::getDurationMs).reversed());
+        return requests;
+    }
+
+    @Override
+    public synchronized void clear() {
+        Arrays.fill(buffer, null);
+        recorded = 0;
+    }
+}
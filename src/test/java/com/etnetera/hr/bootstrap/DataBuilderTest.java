@@ -0,0 +1,112 @@
+package com.etnetera.hr.bootstrap;
+
+import com.etnetera.hr.config.FrameworkProperties;
+import com.etnetera.hr.domain.FrameworkImportFormatEnum;
+import com.etnetera.hr.dto.FrameworkSnapshotDto;
+import com.etnetera.hr.event.CatalogBootstrappedEvent;
+import com.etnetera.hr.service.FrameworkImportService;
+import com.etnetera.hr.service.FrameworkSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class DataBuilderTest {
+
+    @InjectMocks
+    private DataBuilder dataBuilder;
+    @Mock
+    private FrameworkImportService importService;
+    @Mock
+    private FrameworkSnapshotService snapshotService;
+    @Spy
+    private FrameworkProperties properties = new FrameworkProperties();
+    @Mock
+    private ResourceLoader resourceLoader;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private CatalogBootstrapHealthIndicator healthIndicator;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        properties.getBootstrap().setAsync(false);
+        properties.getBulkImport().setFile("classpath:data/frameworks.ndjson");
+        properties.getSnapshot().setFile("build/frameworks.snapshot");
+        Mockito.when(resourceLoader.getResource(any())).thenReturn(new ByteArrayResource(new byte[0]));
+        healthIndicator = new CatalogBootstrapHealthIndicator(dataBuilder, importService);
+    }
+
+    @Test
+    @DisplayName("Bootstrapping with a snapshot. Should restore it, skip the import and be ready after views are built")
+    void testBootstrap_restored() {
+        // given
+        Mockito.when(snapshotService.restoreSnapshot()).thenReturn(Optional.of(FrameworkSnapshotDto.builder().build()));
+        doAnswer(invocation -> {
+            assertThat(healthIndicator.health().getDetails()).containsEntry("phase", BootstrapPhaseEnum.WARMING_UP);
+            return null;
+        }).when(eventPublisher).publishEvent(any(CatalogBootstrappedEvent.class));
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        // when
+        dataBuilder.onApplicationEvent(mock(ApplicationReadyEvent.class));
+
+        // then
+        verify(importService, never()).importFrameworks(any(), any(), anyLong());
+        verify(eventPublisher).publishEvent(any(CatalogBootstrappedEvent.class));
+        assertThat(dataBuilder.getPhase()).isEqualTo(BootstrapPhaseEnum.READY);
+        assertThat(dataBuilder.getDurations()).containsOnlyKeys(BootstrapPhaseEnum.RESTORING, BootstrapPhaseEnum.WARMING_UP);
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    @DisplayName("Bootstrapping without a snapshot, the ready event coming twice. Should import the file once")
+    void testBootstrap_imported() {
+        // given
+        Mockito.when(snapshotService.restoreSnapshot()).thenReturn(Optional.empty());
+
+        // when
+        dataBuilder.onApplicationEvent(mock(ApplicationReadyEvent.class));
+        dataBuilder.onApplicationEvent(mock(ApplicationReadyEvent.class));
+
+        // then
+        verify(importService).importFrameworks(any(), eq(FrameworkImportFormatEnum.NDJSON), eq(1L));
+        verify(eventPublisher, times(1)).publishEvent(any(CatalogBootstrappedEvent.class));
+        assertThat(dataBuilder.getDurations()).containsOnlyKeys(BootstrapPhaseEnum.RESTORING, BootstrapPhaseEnum.IMPORTING,
+                BootstrapPhaseEnum.WARMING_UP);
+    }
+
+    @Test
+    @DisplayName("Bootstrapping with unreadable snapshot. Should fail and report the application down")
+    void testBootstrap_failed() {
+        // given
+        Mockito.when(snapshotService.restoreSnapshot()).thenThrow(new IllegalStateException("Snapshot is not readable"));
+
+        // then
+        assertThatThrownBy(() -> dataBuilder.onApplicationEvent(mock(ApplicationReadyEvent.class)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(dataBuilder.getPhase()).isEqualTo(BootstrapPhaseEnum.FAILED);
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.DOWN);
+        assertThat(healthIndicator.health().getDetails()).containsEntry("failure", "Snapshot is not readable");
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
@@ -0,0 +1,61 @@
+package com.etnetera.hr.bootstrap;
+
+import com.etnetera.hr.domain.HypeLevelEnum;
+import com.etnetera.hr.dto.CreateJavaScriptFrameworkDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SyntheticFrameworkGeneratorTest {
+
+    private static final int COUNT = 20_000;
+
+    @Test
+    @DisplayName("Generating frameworks twice with the same seed. Should generate the same frameworks")
+    void testDeterministic() {
+        List<CreateJavaScriptFrameworkDto> first = generate(7, 1_000);
+        List<CreateJavaScriptFrameworkDto> second = generate(7, 1_000);
+        List<CreateJavaScriptFrameworkDto> other = generate(8, 1_000);
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first).isNotEqualTo(other);
+    }
+
+    @Test
+    @DisplayName("Generating many frameworks. Should generate valid frameworks with unique names and skewed distributions")
+    void testDistributions() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        Set<String> names = new HashSet<>();
+        Map<HypeLevelEnum, Integer> hypeLevels = new EnumMap<>(HypeLevelEnum.class);
+        int deprecated = 0;
+        int maxVersions = 0;
+        long versions = 0;
+
+        for (CreateJavaScriptFrameworkDto framework : generate(42, COUNT)) {
+            assertThat(validator.validate(framework)).isEmpty();
+            names.add(framework.getName());
+            hypeLevels.merge(framework.getHypeLevel(), 1, Integer::sum);
+            deprecated += framework.getDeprecationDate() == null ? 0 : 1;
+            maxVersions = Math.max(maxVersions, framework.getVersions().size());
+            versions += framework.getVersions().size();
+        }
+
+        assertThat(names).hasSize(COUNT);
+        assertThat(hypeLevels.get(HypeLevelEnum.SOLID)).isGreaterThan(hypeLevels.get(HypeLevelEnum.GREAT));
+        assertThat(hypeLevels.get(HypeLevelEnum.GREAT)).isGreaterThan(hypeLevels.get(HypeLevelEnum.SENSATIONAL));
+        assertThat(deprecated).isBetween(COUNT / 5, COUNT * 3 / 10);
+        assertThat(versions / (double) COUNT).isBetween(4.0, 7.0);
+        assertThat(maxVersions).isGreaterThan(20);
+    }
+
+    private static List<CreateJavaScriptFrameworkDto> generate(long seed, int count) {
+        List<CreateJavaScriptFrameworkDto> frameworks = new ArrayList<>(count);
+        new SyntheticFrameworkGenerator(seed, count).forEachRemaining(frameworks::add);
+        return frameworks;
+    }
+}
@@ -0,0 +1,46 @@
+package com.etnetera.hr.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.FilterChain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeferredFlushFilterTest {
+
+    private final DeferredFlushFilter filter = new DeferredFlushFilter();
+    private final FilterChain writeAndFlush = (request, response) -> {
+        response.getOutputStream().write("[]".getBytes());
+        response.getOutputStream().flush();
+        response.flushBuffer();
+    };
+
+    @Test
+    @DisplayName("Flushing a response body while it is written. Should not commit the response")
+    void testFlushDeferred() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/frameworks"), response, writeAndFlush);
+
+        assertThat(response.isCommitted()).isFalse();
+        assertThat(response.getContentAsString()).isEqualTo("[]");
+    }
+
+    @Test
+    @DisplayName("Flushing a response body of a handler streaming it. Should commit the response")
+    void testFlushStreaming() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // what Spring MVC does for StreamingResponseBody and SseEmitter before writing anything
+        filter.doFilter(new MockHttpServletRequest("GET", "/frameworks/any"), response, (request, streamed) -> {
+            ShallowEtagHeaderFilter.disableContentCaching(request);
+            writeAndFlush.doFilter(request, streamed);
+        });
+
+        assertThat(response.isCommitted()).isTrue();
+    }
+}
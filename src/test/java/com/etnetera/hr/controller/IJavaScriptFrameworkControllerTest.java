@@ -1,66 +1,263 @@
 package com.etnetera.hr.controller;
 
+import com.etnetera.hr.config.FrameworkProperties;
+import com.etnetera.hr.config.ResponseFormatConfig;
 import com.etnetera.hr.dto.CreateJavaScriptFrameworkDto;
+import com.etnetera.hr.dto.FrameworkFieldEnum;
+import com.etnetera.hr.dto.FrameworkPageDto;
+import com.etnetera.hr.dto.FrameworkPatchDto;
 import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.etnetera.hr.dto.FrameworkSearchCriteriaDto;
+import com.etnetera.hr.event.CatalogBootstrappedEvent;
+import com.etnetera.hr.service.CatalogVersionService;
+import com.etnetera.hr.service.FrameworkSearchService;
+import com.etnetera.hr.service.FrameworkStatisticsService;
+import com.etnetera.hr.dto.FrameworkStatisticsDto;
 import com.etnetera.hr.service.JavaScriptFrameworkService;
+import com.etnetera.hr.service.impl.CatalogVersionServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.never;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(JavaScriptFrameworkController.class)
+@Import({FrameworkProperties.class, CatalogVersionServiceImpl.class, ResponseFormatConfig.class})
+@TestPropertySource(properties = "frameworks.batch.max-size=2")
 public class IJavaScriptFrameworkControllerTest {
 
     public static final String HYPE_LEVEL = "SOLID";
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
     @MockBean
     private JavaScriptFrameworkService javaScriptFrameworkService;
+    @MockBean
+    private FrameworkSearchService frameworkSearchService;
+    @MockBean
+    private FrameworkStatisticsService frameworkStatisticsService;
+    @Autowired
+    private CatalogVersionService catalogVersionService;
     @Autowired
     private MockMvc mvc;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     public static final String DTO_VALID = "{\"id\":2,\"name\":\"NewFramework\",\"versions\":[\"2.0.0\",\"1.0.0\"],\"deprecationDate\":\"2012-03-21T13:00:00.000+0000\",\"hypeLevel\":\"GREAT\"}";
     public static final String DTO_NON_VALID = "{\"versions\":[\"2.0.0\",\"1.0.0\"],\"deprecationDate\":\"2012-03-21T13:00:00.000+0000\",\"hypeLevel\":\"GREAT\"}";
 
     @Test
-    @DisplayName("Getting all frameworks. Should return request OK")
+    @DisplayName("Getting first page of frameworks. Should return request OK")
     void testGetAllFrameworks() throws Exception {
-        Iterable<JavaScriptFrameworkDto> frameworks = new ArrayList<>();
-        Mockito.when(javaScriptFrameworkService.getAllFrameworks()).thenReturn(frameworks);
+        FrameworkPageDto page = FrameworkPageDto.builder().frameworks(new ArrayList<>()).build();
+        Mockito.when(javaScriptFrameworkService.getFrameworksPage("id", null, null, null)).thenReturn(Optional.of(page));
         mvc.perform(get("/frameworks"))
                 .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(JavaScriptFrameworkController.NEXT_CURSOR_HEADER));
+        verify(javaScriptFrameworkService, times(1)).getFrameworksPage("id", null, null, null);
+    }
+
+    @Test
+    @DisplayName("Getting page of frameworks with next page. Should return request OK with continuation token")
+    void testGetAllFrameworks_nextPage() throws Exception {
+        FrameworkPageDto page = FrameworkPageDto.builder().frameworks(new ArrayList<>()).nextCursor("token2").build();
+        Mockito.when(javaScriptFrameworkService.getFrameworksPage("name", "token1", 10, null)).thenReturn(Optional.of(page));
+        mvc.perform(get("/frameworks")
+                        .param("sort", "name")
+                        .param("cursor", "token1")
+                        .param("limit", "10"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(JavaScriptFrameworkController.NEXT_CURSOR_HEADER, "token2"));
+        verify(javaScriptFrameworkService, times(1)).getFrameworksPage("name", "token1", 10, null);
+    }
+
+    @Test
+    @DisplayName("Getting page of frameworks with some fields. Should return request OK with only those fields")
+    void testGetAllFrameworks_fields() throws Exception {
+        JavaScriptFrameworkDto framework = JavaScriptFrameworkDto.builder().id(1L).name("React").build();
+        FrameworkPageDto page = FrameworkPageDto.builder().frameworks(List.of(framework)).build();
+        Mockito.when(javaScriptFrameworkService.getFrameworksPage("id", null, null, EnumSet.of(FrameworkFieldEnum.ID, FrameworkFieldEnum.NAME)))
+                .thenReturn(Optional.of(page));
+        mvc.perform(get("/frameworks")
+                        .param("fields", "id,name"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"id\":1,\"name\":\"React\"}]", true));
+    }
+
+    @Test
+    @DisplayName("Getting frameworks by hype level with unknown field. Should return bad request without reading frameworks")
+    void testGetFrameworksByHype_unknownField() throws Exception {
+        mvc.perform(get("/frameworks/hype")
+                        .param("hypeLevel", HYPE_LEVEL)
+                        .param("fields", "id,popularity"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        verify(javaScriptFrameworkService, never()).getFrameworksByHype(any(), any());
+    }
+
+    @Test
+    @DisplayName("Getting page of frameworks with invalid continuation token. Should return bad request")
+    void testGetAllFrameworks_invalidCursor() throws Exception {
+        Mockito.when(javaScriptFrameworkService.getFrameworksPage(any(), any(), isNull(), isNull())).thenReturn(Optional.empty());
+        mvc.perform(get("/frameworks")
+                        .param("cursor", "invalid"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        verify(javaScriptFrameworkService, times(1)).getFrameworksPage("id", "invalid", null, null);
+    }
+
+    @Test
+    @DisplayName("Getting unchanged page of frameworks with its entity tag. Should return not modified without reading frameworks")
+    void testGetAllFrameworks_notModified() throws Exception {
+        mvc.perform(get("/frameworks")
+                        .header(HttpHeaders.IF_NONE_MATCH, catalogVersionService.getCatalogETag(MediaType.APPLICATION_JSON)))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+        verify(javaScriptFrameworkService, never()).getFrameworksPage(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Getting frameworks with entity tag taken before the catalog was bootstrapped. Should return request OK")
+    void testGetAllFrameworks_taggedBeforeBootstrap() throws Exception {
+        // given
+        String eTag = catalogVersionService.getCatalogETag(MediaType.APPLICATION_JSON);
+        FrameworkPageDto page = FrameworkPageDto.builder().frameworks(new ArrayList<>()).build();
+        Mockito.when(javaScriptFrameworkService.getFrameworksPage("id", null, null, null)).thenReturn(Optional.of(page));
+
+        // when
+        eventPublisher.publishEvent(new CatalogBootstrappedEvent(0));
+
+        // then
+        mvc.perform(get("/frameworks")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(print())
                 .andExpect(status().isOk());
-        verify(javaScriptFrameworkService, times(1)).getAllFrameworks();
+        verify(javaScriptFrameworkService, times(1)).getFrameworksPage("id", null, null, null);
     }
 
     @Test
     @DisplayName("Getting framework by id. Should return request OK")
     void testGetFrameworkById() throws Exception {
         Long id = 1L;
-        Mockito.when(javaScriptFrameworkService.findFrameworkById(id)).thenReturn(Optional.of(JavaScriptFrameworkDto.builder().build()));
+        Mockito.when(javaScriptFrameworkService.findFrameworkById(id)).thenReturn(Optional.of(JavaScriptFrameworkDto.builder().id(id).revision(0L).build()));
         mvc.perform(get("/frameworks/{id}", id))
                 .andDo(print())
                 .andExpect(status().isOk());
         verify(javaScriptFrameworkService, times(1)).findFrameworkById(id);
     }
 
+    @Test
+    @DisplayName("Getting framework by id accepting CBOR. Should return CBOR with the same dates as JSON")
+    void testGetFrameworkById_cbor() throws Exception {
+        Long id = 21L;
+        Mockito.when(javaScriptFrameworkService.findFrameworkById(id)).thenReturn(Optional.of(JavaScriptFrameworkDto.builder()
+                .id(id).name("React").deprecationDate(new Date(0)).revision(0L).build()));
+        MvcResult result = mvc.perform(get("/frameworks/{id}", id)
+                        .accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, catalogVersionService.getFrameworkETag(id, 0L, CBOR)))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn();
+
+        JsonNode framework = new ObjectMapper(new CBORFactory()).readTree(result.getResponse().getContentAsByteArray());
+        assertThat(framework.get("name").asText()).isEqualTo("React");
+        assertThat(framework.get("deprecationDate").asText()).isEqualTo("1970-01-01T00:00:00.000+0000");
+    }
+
+    @Test
+    @DisplayName("Getting frameworks by hype level accepting Smile. Should return Smile")
+    void testGetFrameworksByHype_smile() throws Exception {
+        when(javaScriptFrameworkService.getFrameworksByHype(HYPE_LEVEL, null)).thenReturn(List.of(JavaScriptFrameworkDto.builder().id(1L).name("React").build()));
+        MvcResult result = mvc.perform(get("/frameworks/hype")
+                        .param("hypeLevel", HYPE_LEVEL)
+                        .accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andExpect(header().string(HttpHeaders.ETAG, catalogVersionService.getCatalogETag(SMILE)))
+                .andReturn();
+
+        JsonNode frameworks = new ObjectMapper(new SmileFactory()).readTree(result.getResponse().getContentAsByteArray());
+        assertThat(frameworks.get(0).get("name").asText()).isEqualTo("React");
+    }
+
+    @Test
+    @DisplayName("Getting unchanged framework by id with its entity tag. Should return not modified without reading framework")
+    void testGetFrameworkById_notModified() throws Exception {
+        Long id = 1L;
+        catalogVersionService.recordRevision(id, 3L);
+        mvc.perform(get("/frameworks/{id}", id)
+                        .header(HttpHeaders.IF_NONE_MATCH, catalogVersionService.getFrameworkETag(id, 3L, MediaType.APPLICATION_JSON)))
+                .andDo(print())
+                .andExpect(status().isNotModified());
+        verify(javaScriptFrameworkService, never()).findFrameworkById(id);
+    }
+
+    @Test
+    @DisplayName("Getting framework as CBOR with entity tag of its JSON. Should return the CBOR instead of not modified")
+    void testGetFrameworkById_otherFormat() throws Exception {
+        Long id = 1L;
+        catalogVersionService.recordRevision(id, 3L);
+        Mockito.when(javaScriptFrameworkService.findFrameworkById(id)).thenReturn(Optional.of(JavaScriptFrameworkDto.builder().id(id).revision(3L).build()));
+        mvc.perform(get("/frameworks/{id}", id)
+                        .accept(CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, catalogVersionService.getFrameworkETag(id, 3L, MediaType.APPLICATION_JSON)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, catalogVersionService.getFrameworkETag(id, 3L, CBOR)));
+    }
+
     @Test
     @DisplayName("Getting framework with non existing id. Should return not found request")
     void testGetFrameworkById_noFrameworkFound() throws Exception {
@@ -72,6 +269,26 @@ public class IJavaScriptFrameworkControllerTest {
         verify(javaScriptFrameworkService, times(1)).findFrameworkById(id);
     }
 
+    @Test
+    @DisplayName("Getting framework by name. Should return request OK with entity tag")
+    void testGetFrameworkByName() throws Exception {
+        Mockito.when(javaScriptFrameworkService.findFrameworkByName("Vue Js")).thenReturn(Optional.of(JavaScriptFrameworkDto.builder().id(1L).name("Vue Js").revision(2L).build()));
+        mvc.perform(get("/frameworks/by-name/{name}", "Vue Js"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, catalogVersionService.getFrameworkETag(1L, 2L, MediaType.APPLICATION_JSON)));
+        verify(javaScriptFrameworkService, times(1)).findFrameworkByName("Vue Js");
+    }
+
+    @Test
+    @DisplayName("Getting framework with unknown name. Should return not found request")
+    void testGetFrameworkByName_noFrameworkFound() throws Exception {
+        Mockito.when(javaScriptFrameworkService.findFrameworkByName("Vue")).thenReturn(Optional.empty());
+        mvc.perform(get("/frameworks/by-name/{name}", "Vue"))
+                .andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("Getting framework with invalid id. Should return bad request")
     void testGetFrameworkById_invalidParam() throws Exception {
@@ -119,6 +336,47 @@ public class IJavaScriptFrameworkControllerTest {
         verify(javaScriptFrameworkService, never()).saveFramework(any(CreateJavaScriptFrameworkDto.class));
     }
 
+    @Test
+    @DisplayName("Saving new framework with version longer than its column. Should return bad request")
+    void testSaveFramework_versionTooLong() throws Exception {
+        mvc.perform(post("/frameworks")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(DTO_VALID.replace("2.0.0", "2.0.0-" + "a".repeat(250)))
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isBadRequest());
+        mvc.perform(patch("/frameworks/2")
+                        .contentType(JavaScriptFrameworkController.MERGE_PATCH_JSON_VALUE)
+                        .content("{\"versions\":{\"add\":[\"2.0.0-" + "a".repeat(250) + "\"]}}"))
+                .andExpect(status().isBadRequest());
+
+        verify(javaScriptFrameworkService, never()).saveFramework(any(CreateJavaScriptFrameworkDto.class));
+        verify(javaScriptFrameworkService, never()).patchFramework(anyLong(), any(FrameworkPatchDto.class), any());
+    }
+
+    @Test
+    @DisplayName("Saving batch of frameworks. Should return request OK")
+    void testSaveFrameworks() throws Exception {
+        Mockito.when(javaScriptFrameworkService.saveFrameworks(anyList())).thenReturn(new ArrayList<>());
+        mvc.perform(post("/frameworks/batch")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content("[" + DTO_VALID + "," + DTO_NON_VALID + "]")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk());
+
+        verify(javaScriptFrameworkService, times(1)).saveFrameworks(anyList());
+    }
+
+    @Test
+    @DisplayName("Saving batch of frameworks larger than allowed. Should return bad request")
+    void testSaveFrameworks_tooLarge() throws Exception {
+        mvc.perform(post("/frameworks/batch")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content("[" + DTO_VALID + "," + DTO_VALID + "," + DTO_VALID + "]")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isBadRequest());
+
+        verify(javaScriptFrameworkService, never()).saveFrameworks(anyList());
+    }
 
     @Test
     @DisplayName("Deleting existing framework. Should return request OK")
@@ -177,6 +435,34 @@ public class IJavaScriptFrameworkControllerTest {
         verify(javaScriptFrameworkService, times(1)).updateFramework(any(JavaScriptFrameworkDto.class));
     }
 
+    @Test
+    @DisplayName("Updating framework changed since the revision in If-Match. Should return precondition failed")
+    void testUpdateFramework_changedMeanwhile() throws Exception {
+        Mockito.when(javaScriptFrameworkService.updateFramework(any(JavaScriptFrameworkDto.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(JavaScriptFrameworkDto.class, 2L));
+        mvc.perform(put("/frameworks")
+                        .header(HttpHeaders.IF_MATCH, catalogVersionService.getFrameworkETag(2L, 1L, MediaType.APPLICATION_JSON))
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(DTO_VALID)
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(javaScriptFrameworkService, times(1)).updateFramework(Mockito.argThat(dto -> dto.getRevision() == 1L));
+    }
+
+    @Test
+    @DisplayName("Updating framework with If-Match of another framework. Should return precondition failed")
+    void testUpdateFramework_foreignETag() throws Exception {
+        mvc.perform(put("/frameworks")
+                        .header(HttpHeaders.IF_MATCH, catalogVersionService.getFrameworkETag(3L, 1L, MediaType.APPLICATION_JSON))
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(DTO_VALID)
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(javaScriptFrameworkService, never()).updateFramework(any(JavaScriptFrameworkDto.class));
+    }
+
     @Test
     @DisplayName("Updating existing framework with invalid framework. Should return bad request")
     void testUpdateFramework_invalidBody() throws Exception {
@@ -189,16 +475,80 @@ public class IJavaScriptFrameworkControllerTest {
         verify(javaScriptFrameworkService, never()).updateFramework(any(JavaScriptFrameworkDto.class));
     }
 
+    @Test
+    @DisplayName("Updating framework to name longer than its column. Should return bad request")
+    void testUpdateFramework_nameTooLong() throws Exception {
+        mvc.perform(put("/frameworks")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(DTO_VALID.replace("NewFramework", "N".repeat(31)))
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isBadRequest());
+
+        verify(javaScriptFrameworkService, never()).updateFramework(any(JavaScriptFrameworkDto.class));
+    }
+
+    @Test
+    @DisplayName("Patching versions of existing framework by merge patch. Should return request OK")
+    void testPatchFramework() throws Exception {
+        Mockito.when(javaScriptFrameworkService.patchFramework(eq(2L), any(FrameworkPatchDto.class), isNull()))
+                .thenReturn(Optional.of(JavaScriptFrameworkDto.builder().id(2L).revision(1L).build()));
+        mvc.perform(patch("/frameworks/2")
+                        .contentType(JavaScriptFrameworkController.MERGE_PATCH_JSON_VALUE)
+                        .content("{\"versions\":{\"add\":[\"3.1.0\"],\"remove\":[\"1.0.0\"]},\"deprecationDate\":null}")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, catalogVersionService.getFrameworkETag(2L, 1L, MediaType.APPLICATION_JSON)));
+
+        verify(javaScriptFrameworkService, times(1)).patchFramework(eq(2L), Mockito.argThat(patch ->
+                !patch.hasName() && !patch.hasHypeLevel() && patch.hasDeprecationDate() && patch.getDeprecationDate() == null
+                        && patch.getVersions().getAdd().equals(Set.of("3.1.0"))
+                        && patch.getVersions().getRemove().equals(Set.of("1.0.0"))), isNull());
+    }
+
+    @Test
+    @DisplayName("Patching framework with If-Match. Should pass the revision to the service")
+    void testPatchFramework_ifMatch() throws Exception {
+        Mockito.when(javaScriptFrameworkService.patchFramework(eq(2L), any(FrameworkPatchDto.class), eq(1L)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(JavaScriptFrameworkDto.class, 2L));
+        mvc.perform(patch("/frameworks/2")
+                        .header(HttpHeaders.IF_MATCH, catalogVersionService.getFrameworkETag(2L, 1L, MediaType.APPLICATION_JSON))
+                        .contentType(JavaScriptFrameworkController.MERGE_PATCH_JSON_VALUE)
+                        .content("{\"hypeLevel\":\"GREAT\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mvc.perform(patch("/frameworks/2")
+                        .header(HttpHeaders.IF_MATCH, catalogVersionService.getFrameworkETag(3L, 1L, MediaType.APPLICATION_JSON))
+                        .contentType(JavaScriptFrameworkController.MERGE_PATCH_JSON_VALUE)
+                        .content("{\"hypeLevel\":\"GREAT\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(javaScriptFrameworkService, times(1)).patchFramework(eq(2L), any(FrameworkPatchDto.class), any());
+    }
+
+    @Test
+    @DisplayName("Patching framework by invalid patch. Should return bad request")
+    void testPatchFramework_invalidBody() throws Exception {
+        for (String content : List.of("{\"name\":null}", "{\"name\":\" \"}", "{\"versions\":null}",
+                "{\"versions\":{\"replace\":[\"1.0.0\"]}}", "{\"versions\":\"1.0.0\"}")) {
+            mvc.perform(patch("/frameworks/2")
+                            .contentType(JavaScriptFrameworkController.MERGE_PATCH_JSON_VALUE)
+                            .content(content))
+                    .andExpect(status().isBadRequest());
+        }
+
+        verify(javaScriptFrameworkService, never()).patchFramework(anyLong(), any(FrameworkPatchDto.class), any());
+    }
+
     @Test
     @DisplayName("Getting all frameworks by hype level. Should return request OK")
     void testGetFrameworksByHype() throws Exception {
         Iterable<JavaScriptFrameworkDto> frameworks = new ArrayList<>();
-        when(javaScriptFrameworkService.getFrameworksByHype(HYPE_LEVEL)).thenReturn(frameworks);
+        when(javaScriptFrameworkService.getFrameworksByHype(HYPE_LEVEL, null)).thenReturn(frameworks);
         mvc.perform(get("/frameworks/hype")
                         .param("hypeLevel", HYPE_LEVEL))
                 .andDo(print())
                 .andExpect(status().isOk());
-        verify(javaScriptFrameworkService, times(1)).getFrameworksByHype(HYPE_LEVEL);
+        verify(javaScriptFrameworkService, times(1)).getFrameworksByHype(HYPE_LEVEL, null);
     }
 
     @Test
@@ -207,6 +557,157 @@ public class IJavaScriptFrameworkControllerTest {
         mvc.perform(get("/frameworks/hype"))
                 .andDo(print())
                 .andExpect(status().isBadRequest());
-        verify(javaScriptFrameworkService, never()).getFrameworksByHype(HYPE_LEVEL);
+        verify(javaScriptFrameworkService, never()).getFrameworksByHype(HYPE_LEVEL, null);
+    }
+
+    @Test
+    @DisplayName("Searching frameworks by all criteria. Should return request OK")
+    void testSearchFrameworks() throws Exception {
+        Mockito.when(frameworkSearchService.searchFrameworks(any())).thenReturn(Optional.of(new ArrayList<>()));
+        mvc.perform(get("/frameworks/search")
+                        .param("name", "vue")
+                        .param("version", "3.2.0")
+                        .param("hypeLevel", "GREAT,SENSATIONAL")
+                        .param("deprecatedFrom", "2020-01-01")
+                        .param("deprecatedTo", "2020-12-31"))
+                .andDo(print())
+                .andExpect(status().isOk());
+        verify(frameworkSearchService, times(1)).searchFrameworks(Mockito.<FrameworkSearchCriteriaDto>argThat(criteria ->
+                criteria.getName().equals("vue")
+                        && criteria.getVersion().equals("3.2.0")
+                        && criteria.getHypeLevels().size() == 2
+                        && criteria.getDeprecatedFrom().before(criteria.getDeprecatedTo())));
+    }
+
+    @Test
+    @DisplayName("Searching frameworks by unknown hype level. Should return request BAD_REQUEST")
+    void testSearchFrameworks_unknownHypeLevel() throws Exception {
+        Mockito.when(frameworkSearchService.searchFrameworks(any())).thenReturn(Optional.empty());
+        mvc.perform(get("/frameworks/search")
+                        .param("hypeLevel", "HYPED"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Getting frameworks by semantic version range. Should return request OK with a page from the version index")
+    void testGetAllFrameworks_versionRange() throws Exception {
+        FrameworkPageDto page = FrameworkPageDto.builder().frameworks(new ArrayList<>()).nextCursor("token2").build();
+        Mockito.when(frameworkSearchService.searchFrameworksPage(any(), any(), any())).thenReturn(Optional.of(page));
+        mvc.perform(get("/frameworks")
+                        .param("version", ">=3.2.0 <4")
+                        .param("cursor", "token1")
+                        .param("limit", "10"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(JavaScriptFrameworkController.NEXT_CURSOR_HEADER, "token2"));
+        verify(frameworkSearchService, times(1)).searchFrameworksPage(Mockito.<FrameworkSearchCriteriaDto>argThat(criteria ->
+                criteria.getVersionRange().equals(">=3.2.0 <4")), eq("token1"), eq(10));
+        verify(javaScriptFrameworkService, never()).getFrameworksPage(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Getting frameworks by malformed version range. Should return request BAD_REQUEST")
+    void testGetAllFrameworks_malformedVersionRange() throws Exception {
+        Mockito.when(frameworkSearchService.searchFrameworksPage(any(), any(), any())).thenReturn(Optional.empty());
+        mvc.perform(get("/frameworks")
+                        .param("version", ".2.1"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Getting frameworks by semantic version range sorted by name. Should return request BAD_REQUEST")
+    void testGetAllFrameworks_versionRangeSortedByName() throws Exception {
+        mvc.perform(get("/frameworks")
+                        .param("version", ">=3.2.0 <4")
+                        .param("sort", "name"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        verify(frameworkSearchService, never()).searchFrameworksPage(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Getting frameworks deprecating in date range. Should return request OK")
+    void testGetFrameworksDeprecating() throws Exception {
+        Mockito.when(javaScriptFrameworkService.getFrameworksDeprecating(any(), any(), any())).thenReturn(Optional.of(new ArrayList<>()));
+        mvc.perform(get("/frameworks/deprecating")
+                        .param("from", "2020-01-01")
+                        .param("to", "2020-12-31"))
+                .andDo(print())
+                .andExpect(status().isOk());
+        verify(javaScriptFrameworkService, times(1)).getFrameworksDeprecating(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Getting frameworks deprecating in inverted date range. Should return request BAD_REQUEST")
+    void testGetFrameworksDeprecating_invertedRange() throws Exception {
+        Mockito.when(javaScriptFrameworkService.getFrameworksDeprecating(any(), any(), any())).thenReturn(Optional.empty());
+        mvc.perform(get("/frameworks/deprecating")
+                        .param("from", "2021-01-01")
+                        .param("to", "2020-01-01"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Getting statistics of frameworks. Should return request OK with counters")
+    void testGetStatistics() throws Exception {
+        Mockito.when(frameworkStatisticsService.getStatistics()).thenReturn(FrameworkStatisticsDto.builder().total(4).deprecated(1).notDeprecated(3).build());
+        mvc.perform(get("/frameworks/stats"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(4))
+                .andExpect(jsonPath("$.deprecated").value(1));
+        verify(javaScriptFrameworkService, never()).getAllFrameworks();
+    }
+
+    @Test
+    @DisplayName("Exporting frameworks. Should stream one JSON object per line")
+    void testExportFrameworks() throws Exception {
+        mockExport();
+        MvcResult result = mvc.perform(get("/frameworks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, JavaScriptFrameworkController.NDJSON.toString()))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsString();
+        assertExportedLines(body);
+    }
+
+    @Test
+    @DisplayName("Exporting frameworks accepting gzip. Should stream gzipped lines")
+    void testExportFrameworks_gzip() throws Exception {
+        mockExport();
+        MvcResult result = mvc.perform(get("/frameworks/export").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] body = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertExportedLines(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private void assertExportedLines(String body) throws IOException {
+        assertThat(body).endsWith("\n");
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], JavaScriptFrameworkDto.class).getName()).isEqualTo("Angular");
+        assertThat(objectMapper.readValue(lines[1], JavaScriptFrameworkDto.class).getName()).isEqualTo("React");
+    }
+
+    private void mockExport() {
+        Mockito.when(javaScriptFrameworkService.exportFrameworks(any())).thenAnswer(invocation -> {
+            Consumer<JavaScriptFrameworkDto> consumer = invocation.getArgument(0);
+            consumer.accept(JavaScriptFrameworkDto.builder().id(1L).name("Angular").build());
+            consumer.accept(JavaScriptFrameworkDto.builder().id(2L).name("React").build());
+            return 2L;
+        });
     }
 }
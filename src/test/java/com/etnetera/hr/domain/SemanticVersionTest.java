@@ -0,0 +1,60 @@
+package com.etnetera.hr.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SemanticVersionTest {
+
+    @Test
+    @DisplayName("Sorting versions. Should follow semantic version precedence, not text order")
+    void testCompareTo() {
+        List<String> sorted = Arrays.asList("10.0.0", "2.0.0", "2.0.0-rc.1", "2.0.0-alpha", "2.0.0-alpha.1", "2.0.0-alpha.beta", "v1.9", "2.0.0-rc.11").stream()
+                .map(version -> SemanticVersion.parse(version).get())
+                .sorted()
+                .map(SemanticVersion::getText)
+                .collect(Collectors.toList());
+
+        assertThat(sorted).containsExactly("v1.9", "2.0.0-alpha", "2.0.0-alpha.1", "2.0.0-alpha.beta", "2.0.0-rc.1", "2.0.0-rc.11", "2.0.0", "10.0.0");
+    }
+
+    @Test
+    @DisplayName("Parsing malformed versions. Should return empty Optional")
+    void testParse_malformed() {
+        assertThat(SemanticVersion.parse(".2.1")).isEmpty();
+        assertThat(SemanticVersion.parse("\"3.2.0")).isEmpty();
+        assertThat(SemanticVersion.parse("1.2.3.4")).isEmpty();
+        assertThat(SemanticVersion.parse("")).isEmpty();
+        assertThat(SemanticVersion.parse(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Finding latest version. Should skip malformed versions and prefer the same text for equal versions")
+    void testLatest() {
+        assertThat(SemanticVersion.latest(Set.of("3.2.0", "3.10.0", "4.0.0-beta", "\"5.0.0"))).contains("4.0.0-beta");
+        assertThat(SemanticVersion.latest(Set.of("3.2", "3.2.0"))).contains("3.2.0");
+        assertThat(SemanticVersion.latest(Set.of(".2.1", "\"3.2.0"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Parsing version ranges. Should intersect comparators and reject malformed ones")
+    void testVersionRange() {
+        VersionRange range = VersionRange.parse(">=3.2.0 <4 >3").get();
+
+        assertThat(range.getLower().getText()).isEqualTo("3.2.0");
+        assertThat(range.isLowerInclusive()).isTrue();
+        assertThat(range.getUpper().getText()).isEqualTo("4");
+        assertThat(range.isUpperInclusive()).isFalse();
+        assertThat(VersionRange.parse("3.2.1").get().isEmpty()).isFalse();
+        assertThat(VersionRange.parse(">=4 <4").get().isEmpty()).isTrue();
+        assertThat(VersionRange.parse(">=.2.1")).isEmpty();
+        assertThat(VersionRange.parse("~3")).isEmpty();
+        assertThat(VersionRange.parse(" ")).isEmpty();
+    }
+}
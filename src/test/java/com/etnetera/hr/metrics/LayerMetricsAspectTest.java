@@ -0,0 +1,82 @@
+package com.etnetera.hr.metrics;
+
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.etnetera.hr.service.CacheStatisticsService;
+import com.etnetera.hr.service.JavaScriptFrameworkService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest()
+@Sql(scripts = "/db/create_data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/db/delete_data.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class LayerMetricsAspectTest {
+
+    @Autowired
+    private JavaScriptFrameworkService frameworkService;
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+    @Autowired
+    private MeterRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        cacheStatisticsService.evictAll();
+    }
+
+    @Test
+    @DisplayName("Listing all frameworks. Should time service and repository calls and record result size")
+    void testSuccessfulCall() {
+        // given
+        long serviceCalls = count("service", "JavaScriptFrameworkServiceImpl", "getAllFrameworks");
+        long repositoryCalls = count("repository", "FrameworkQueryRepository", "findAll");
+
+        // when
+        frameworkService.getAllFrameworks();
+        frameworkService.findFrameworkById(1L);
+
+        // then
+        assertThat(count("service", "JavaScriptFrameworkServiceImpl", "getAllFrameworks")).isEqualTo(serviceCalls + 1);
+        assertThat(count("repository", "FrameworkQueryRepository", "findAll")).isEqualTo(repositoryCalls + 1);
+        assertThat(registry.find(LayerMetricsAspect.CALLS).tags("layer", "repository", "class", "JavaScriptFrameworkRepository", "method", "findById").timer())
+                .isNotNull();
+        DistributionSummary size = registry.find(LayerMetricsAspect.RESULT_SIZE).tags("layer", "service", "method", "getAllFrameworks").summary();
+        assertThat(size).isNotNull();
+        assertThat(size.max()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Updating framework from stale revision. Should count the error by exception")
+    void testFailedCall() {
+        // given
+        JavaScriptFrameworkDto framework = frameworkService.findFrameworkById(2L).get();
+        framework.setRevision(framework.getRevision() - 1);
+
+        // when
+        assertThatThrownBy(() -> frameworkService.updateFramework(framework)).isInstanceOf(OptimisticLockingFailureException.class);
+
+        // then
+        assertThat(registry.find(LayerMetricsAspect.ERRORS)
+                .tags("layer", "service", "method", "updateFramework", "exception", "ObjectOptimisticLockingFailureException")
+                .counter().count()).isGreaterThanOrEqualTo(1);
+        assertThat(registry.find(LayerMetricsAspect.CALLS).tags("method", "updateFramework", "outcome", "error").timer()).isNotNull();
+    }
+
+    private long count(String layer, String type, String method) {
+        Timer timer = registry.find(LayerMetricsAspect.CALLS).tags("layer", layer, "class", type, "method", method, "outcome", "success").timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
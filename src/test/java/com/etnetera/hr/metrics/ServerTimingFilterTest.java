@@ -0,0 +1,92 @@
+package com.etnetera.hr.metrics;
+
+import com.etnetera.hr.service.CacheStatisticsService;
+import com.etnetera.hr.service.SlowRequestService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "frameworks.server-timing.slow-request-threshold-ms=0")
+@AutoConfigureMockMvc
+@Sql(scripts = "/db/create_data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/db/delete_data.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class ServerTimingFilterTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private SlowRequestService slowRequestService;
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @BeforeEach
+    public void setUp() {
+        cacheStatisticsService.evictAll();
+        slowRequestService.clear();
+    }
+
+    @Test
+    @DisplayName("Getting framework with X-Server-Timing header. Should return Server-Timing breakdown with statement count")
+    void testServerTimingRequested() throws Exception {
+        String serverTiming = mvc.perform(get("/frameworks/1").header(ServerTimingFilter.REQUEST_HEADER, "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Angular"))
+                .andReturn().getResponse().getHeader(ServerTimingFilter.SERVER_TIMING_HEADER);
+
+        assertThat(serverTiming).matches("controller;dur=[\\d.]+, mapper;dur=[\\d.]+, repository;dur=[\\d.]+, "
+                + "sql;dur=[\\d.]+;desc=\"[1-9]\\d* statements\", json;dur=[\\d.]+, total;dur=[\\d.]+");
+    }
+
+    @Test
+    @DisplayName("Getting frameworks without asking for timing. Should not return Server-Timing header")
+    void testServerTimingNotRequested() throws Exception {
+        mvc.perform(get("/frameworks"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ServerTimingFilter.SERVER_TIMING_HEADER));
+    }
+
+    @Test
+    @DisplayName("Getting frameworks over the slow request threshold. Should be listed by admin endpoint")
+    void testSlowRequests() throws Exception {
+        mvc.perform(get("/frameworks").param(ServerTimingFilter.REQUEST_PARAMETER, "true"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/admin/slow-requests"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].uri", containsString("/frameworks")))
+                .andExpect(jsonPath("$[0].timings.controller").isNumber())
+                .andExpect(jsonPath("$[0].statements").isNumber());
+    }
+
+    @Test
+    @DisplayName("Exporting frameworks with X-Server-Timing header. Should stream the body without Server-Timing")
+    void testServerTimingStreamed() throws Exception {
+        MvcResult result = mvc.perform(get("/frameworks/export").header(ServerTimingFilter.REQUEST_HEADER, "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ServerTimingFilter.SERVER_TIMING_HEADER))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body).contains("\"name\":\"Angular\"");
+    }
+}
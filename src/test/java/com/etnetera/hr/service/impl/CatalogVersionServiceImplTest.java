@@ -0,0 +1,68 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.config.FrameworkProperties;
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.etnetera.hr.event.FrameworkChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CatalogVersionServiceImplTest {
+
+    private FrameworkProperties properties;
+    private CatalogVersionServiceImpl catalogVersionService;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new FrameworkProperties();
+        catalogVersionService = new CatalogVersionServiceImpl(properties);
+    }
+
+    @Test
+    @DisplayName("Parsing entity tag of framework. Should accept only tags of this run and this framework, in any format")
+    void testParseFrameworkETag() {
+        String eTag = catalogVersionService.getFrameworkETag(2L, 7L, MediaType.APPLICATION_JSON);
+        String cborETag = catalogVersionService.getFrameworkETag(2L, 7L, MediaType.parseMediaType("application/cbor"));
+
+        assertThat(cborETag).isNotEqualTo(eTag);
+        assertThat(catalogVersionService.parseFrameworkETag(2L, eTag)).contains(7L);
+        assertThat(catalogVersionService.parseFrameworkETag(2L, cborETag)).contains(7L);
+        assertThat(catalogVersionService.parseFrameworkETag(3L, eTag)).isEmpty();
+        assertThat(catalogVersionService.parseFrameworkETag(2L, "W/" + eTag)).isEmpty();
+        // tag without start time of the run, e.g. of a run before a restart
+        assertThat(catalogVersionService.parseFrameworkETag(2L, "\"2-7\"")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Recording revision of framework read before its delete. Should not remember the deleted framework")
+    void testRecordRevision_afterDelete() {
+        catalogVersionService.recordRevision(2L, 1L);
+
+        catalogVersionService.onFrameworkChanged(FrameworkChangedEvent.deleted(framework(2L, 1L)));
+        catalogVersionService.recordRevision(2L, 1L);
+
+        assertThat(catalogVersionService.findKnownRevision(2L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Recording revisions of more frameworks than known-revisions. Should keep updating known ones and skip the rest")
+    void testRecordRevision_bounded() {
+        properties.getConditionalRequests().setKnownRevisions(2);
+
+        catalogVersionService.recordRevision(1L, 1L);
+        catalogVersionService.recordRevision(2L, 1L);
+        catalogVersionService.recordRevision(3L, 1L);
+        catalogVersionService.onFrameworkChanged(FrameworkChangedEvent.updated(framework(1L, 1L), framework(1L, 2L)));
+
+        assertThat(catalogVersionService.findKnownRevision(1L)).contains(2L);
+        assertThat(catalogVersionService.findKnownRevision(2L)).contains(1L);
+        assertThat(catalogVersionService.findKnownRevision(3L)).isEmpty();
+    }
+
+    private static JavaScriptFrameworkDto framework(Long id, Long revision) {
+        return JavaScriptFrameworkDto.builder().id(id).name("Framework " + id).revision(revision).build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.domain.HypeLevelEnum;
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.etnetera.hr.event.FrameworkChangedEvent;
+import com.etnetera.hr.event.FrameworkDeprecatedEvent;
+import com.etnetera.hr.repository.FrameworkQueryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class DeprecationSchedulerServiceImplTest {
+
+    @InjectMocks
+    private DeprecationSchedulerServiceImpl schedulerService;
+    @Mock
+    private FrameworkQueryRepository frameworkQueryRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        schedulerService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Creating framework with deprecation date in near future. Should fire deprecated event at that time")
+    void testCreated_firesEvent() {
+        schedulerService.onFrameworkChanged(FrameworkChangedEvent.created(framework(1L, "jQuery", 100)));
+
+        assertThat(schedulerService.getScheduledCount()).isEqualTo(1);
+        verify(eventPublisher, timeout(2000)).publishEvent(Mockito.<FrameworkDeprecatedEvent>argThat(event ->
+                event.getId() == 1L && event.getName().equals("jQuery")));
+        assertThat(schedulerService.getScheduledCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Postponing deprecation and deleting framework. Should cancel their scheduled events")
+    void testUpdatedAndDeleted_cancelEvents() {
+        JavaScriptFrameworkDto jQuery = framework(1L, "jQuery", 100);
+        JavaScriptFrameworkDto react = framework(2L, "React", 100);
+        schedulerService.onFrameworkChanged(FrameworkChangedEvent.created(jQuery));
+        schedulerService.onFrameworkChanged(FrameworkChangedEvent.created(react));
+
+        schedulerService.onFrameworkChanged(FrameworkChangedEvent.updated(jQuery, framework(1L, "jQuery", 3_600_000)));
+        schedulerService.onFrameworkChanged(FrameworkChangedEvent.deleted(react));
+
+        verify(eventPublisher, after(500).never()).publishEvent(any(FrameworkDeprecatedEvent.class));
+        assertThat(schedulerService.getScheduledCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Saving framework deprecated in the past or without deprecation date. Should not schedule anything")
+    void testPastOrMissingDate_notScheduled() {
+        schedulerService.onFrameworkChanged(FrameworkChangedEvent.created(framework(1L, "jQuery", -1000)));
+        JavaScriptFrameworkDto undated = framework(2L, "React", 0);
+        undated.setDeprecationDate(null);
+        schedulerService.onFrameworkChanged(FrameworkChangedEvent.created(undated));
+
+        assertThat(schedulerService.getScheduledCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Rescheduling from the database. Should read only future deprecations and replace scheduled ones")
+    void testReschedule() {
+        schedulerService.onFrameworkChanged(FrameworkChangedEvent.created(framework(1L, "jQuery", 3_600_000)));
+        Mockito.when(frameworkQueryRepository.findAllByDeprecationDate(any(Date.class), isNull(), any()))
+                .thenReturn(List.of(framework(2L, "React", 3_600_000), framework(3L, "Backbone", 7_200_000)));
+
+        schedulerService.reschedule();
+
+        assertThat(schedulerService.getScheduledCount()).isEqualTo(2);
+        verify(frameworkQueryRepository, times(1)).findAllByDeprecationDate(any(Date.class), isNull(), any());
+    }
+
+    private static JavaScriptFrameworkDto framework(Long id, String name, long deprecatedInMillis) {
+        return JavaScriptFrameworkDto.builder()
+                .id(id)
+                .name(name)
+                .hypeLevel(HypeLevelEnum.SOLID)
+                .versions(Set.of("1.0.0"))
+                .deprecationDate(new Date(System.currentTimeMillis() + deprecatedInMillis))
+                .build();
+    }
+}
@@ -0,0 +1,229 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.config.FrameworkProperties;
+import com.etnetera.hr.domain.HypeLevelEnum;
+import com.etnetera.hr.dto.FrameworkChangeDto;
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.etnetera.hr.event.ChangeTypeEnum;
+import com.etnetera.hr.event.FrameworkChangedEvent;
+import com.etnetera.hr.service.FrameworkChangeSubscriber;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class FrameworkChangeFeedServiceImplTest {
+
+    private FrameworkProperties properties;
+    private FrameworkChangeFeedServiceImpl changeFeedService;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new FrameworkProperties();
+        properties.getChangeFeed().setBufferSize(4);
+        properties.getChangeFeed().setMaxSubscribers(2);
+        changeFeedService = new FrameworkChangeFeedServiceImpl(properties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        changeFeedService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Subscribing and committing changes. Should send every change once in sequence order")
+    void testSubscribe() throws InterruptedException {
+        // given
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        changeFeedService.subscribe(null, subscriber);
+
+        // when
+        changeFeedService.onFrameworkChanged(FrameworkChangedEvent.created(framework(1L, "Angular")));
+        changeFeedService.onFrameworkChanged(FrameworkChangedEvent.updated(framework(1L, "Angular"), framework(1L, "AngularJS")));
+        changeFeedService.onFrameworkChanged(FrameworkChangedEvent.deleted(framework(1L, "AngularJS")));
+
+        // then
+        assertThat(subscriber.take(3)).extracting(FrameworkChangeDto::getSequence, FrameworkChangeDto::getType)
+                .containsExactly(tuple(1L, ChangeTypeEnum.CREATED),
+                        tuple(2L, ChangeTypeEnum.UPDATED),
+                        tuple(3L, ChangeTypeEnum.DELETED));
+    }
+
+    @Test
+    @DisplayName("Subscribing after a sequence still in the buffer. Should send only the changes after it")
+    void testSubscribe_resume() throws InterruptedException {
+        // given
+        for (long id = 1; id <= 3; id++) {
+            changeFeedService.onFrameworkChanged(FrameworkChangedEvent.created(framework(id, "Framework" + id)));
+        }
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        // when
+        changeFeedService.subscribe(changeFeedService.eventId(1), subscriber);
+
+        // then
+        assertThat(subscriber.take(2)).extracting(FrameworkChangeDto::getSequence, FrameworkChangeDto::getEventId)
+                .containsExactly(tuple(2L, changeFeedService.eventId(2)), tuple(3L, changeFeedService.eventId(3)));
+    }
+
+    @Test
+    @DisplayName("Subscribing after a sequence no longer in the buffer. Should ask for resync and drop the subscriber")
+    void testSubscribe_resync() throws InterruptedException {
+        // given
+        for (long id = 1; id <= 6; id++) {
+            changeFeedService.onFrameworkChanged(FrameworkChangedEvent.created(framework(id, "Framework" + id)));
+        }
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        // when
+        changeFeedService.subscribe(changeFeedService.eventId(1), subscriber);
+
+        // then
+        assertThat(subscriber.resync.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.changes).isEmpty();
+        assertThat(changeFeedService.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Subscribing after an event id of a previous run or a malformed one. Should ask for resync")
+    void testSubscribe_previousRun() throws InterruptedException {
+        // given
+        changeFeedService.onFrameworkChanged(FrameworkChangedEvent.created(framework(1L, "Angular")));
+        changeFeedService.onFrameworkChanged(FrameworkChangedEvent.created(framework(2L, "React")));
+        RecordingSubscriber previousRun = new RecordingSubscriber();
+        RecordingSubscriber malformed = new RecordingSubscriber();
+
+        // when
+        changeFeedService.subscribe("0-1", previousRun);
+        changeFeedService.subscribe("1", malformed);
+
+        // then
+        assertThat(previousRun.resync.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(malformed.resync.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(previousRun.lastEventId).isEqualTo(changeFeedService.eventId(2));
+        assertThat(previousRun.changes).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Committing changes while a subscriber is blocked. Should not block the writer and drop the subscriber behind")
+    void testSlowSubscriber() throws InterruptedException {
+        // given
+        CountDownLatch unblock = new CountDownLatch(1);
+        RecordingSubscriber slow = new RecordingSubscriber() {
+            @Override
+            public void onChange(FrameworkChangeDto change) throws IOException {
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                super.onChange(change);
+            }
+        };
+        changeFeedService.subscribe(null, slow);
+
+        // when
+        for (long id = 1; id <= 10; id++) {
+            changeFeedService.onFrameworkChanged(FrameworkChangedEvent.created(framework(id, "Framework" + id)));
+        }
+        unblock.countDown();
+
+        // then
+        assertThat(slow.resync.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(changeFeedService.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Sending to a subscriber that takes nothing. Should drop it after send timeout and keep sending to others on the same thread")
+    void testStuckSubscriber() throws InterruptedException {
+        // given
+        changeFeedService.shutdown();
+        properties.getChangeFeed().setSendThreads(1);
+        properties.getChangeFeed().setSendTimeoutMs(100);
+        changeFeedService = new FrameworkChangeFeedServiceImpl(properties);
+        CountDownLatch unblock = new CountDownLatch(1);
+        RecordingSubscriber stuck = new RecordingSubscriber() {
+            @Override
+            public void onChange(FrameworkChangeDto change) throws IOException {
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+        };
+        RecordingSubscriber other = new RecordingSubscriber();
+        changeFeedService.subscribe(null, stuck);
+        changeFeedService.subscribe(null, other);
+
+        // when
+        for (long id = 1; id <= 3; id++) {
+            changeFeedService.onFrameworkChanged(FrameworkChangedEvent.created(framework(id, "Framework" + id)));
+        }
+
+        // then
+        assertThat(other.take(3)).extracting(FrameworkChangeDto::getSequence).containsExactly(1L, 2L, 3L);
+        assertThat(changeFeedService.getSubscriberCount()).isEqualTo(1);
+        unblock.countDown();
+    }
+
+    @Test
+    @DisplayName("Subscribing more than maximum subscribers. Should reject the subscriber")
+    void testSubscribe_tooMany() {
+        // when
+        boolean first = changeFeedService.subscribe(null, new RecordingSubscriber());
+        boolean second = changeFeedService.subscribe(null, new RecordingSubscriber());
+        boolean third = changeFeedService.subscribe(null, new RecordingSubscriber());
+
+        // then
+        assertThat(List.of(first, second, third)).containsExactly(true, true, false);
+    }
+
+    private static JavaScriptFrameworkDto framework(Long id, String name) {
+        return JavaScriptFrameworkDto.builder().id(id).name(name).versions(Set.of("1.0.0"))
+                .hypeLevel(HypeLevelEnum.SOLID).revision(0L).build();
+    }
+
+    private static class RecordingSubscriber implements FrameworkChangeSubscriber {
+        final BlockingQueue<FrameworkChangeDto> changes = new LinkedBlockingQueue<>();
+        final CountDownLatch resync = new CountDownLatch(1);
+        volatile String lastEventId;
+
+        @Override
+        public void onChange(FrameworkChangeDto change) throws IOException {
+            changes.add(change);
+        }
+
+        @Override
+        public void onResync(String lastEventId) {
+            this.lastEventId = lastEventId;
+            resync.countDown();
+        }
+
+        @Override
+        public void onHeartbeat() {
+        }
+
+        List<FrameworkChangeDto> take(int count) throws InterruptedException {
+            List<FrameworkChangeDto> taken = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                FrameworkChangeDto change = changes.poll(5, TimeUnit.SECONDS);
+                assertThat(change).isNotNull();
+                taken.add(change);
+            }
+            return taken;
+        }
+    }
+}
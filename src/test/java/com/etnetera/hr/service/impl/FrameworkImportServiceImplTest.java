@@ -0,0 +1,185 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.config.FrameworkProperties;
+import com.etnetera.hr.domain.FrameworkImportFormatEnum;
+import com.etnetera.hr.domain.HypeLevelEnum;
+import com.etnetera.hr.dto.BatchItemResultDto;
+import com.etnetera.hr.dto.BatchItemStatusEnum;
+import com.etnetera.hr.dto.CreateJavaScriptFrameworkDto;
+import com.etnetera.hr.dto.FrameworkImportResultDto;
+import com.etnetera.hr.dto.FrameworkImportStatusEnum;
+import com.etnetera.hr.service.JavaScriptFrameworkService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class FrameworkImportServiceImplTest {
+
+    @InjectMocks
+    private FrameworkImportServiceImpl importService;
+    @Mock
+    private JavaScriptFrameworkService frameworkService;
+    @Spy
+    private FrameworkProperties properties = new FrameworkProperties();
+    @Spy
+    private ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new ParameterNamesModule()).build();
+    @Mock
+    private EntityManager entityManager;
+    @Captor
+    private ArgumentCaptor<List<CreateJavaScriptFrameworkDto>> chunkCaptor;
+
+    private final List<List<CreateJavaScriptFrameworkDto>> chunks = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        properties.getBulkImport().setChunkSize(2);
+        // every framework is created unless its name is taken
+        Mockito.when(frameworkService.saveFrameworks(anyList())).thenAnswer(invocation -> {
+            List<CreateJavaScriptFrameworkDto> chunk = new ArrayList<>(invocation.getArgument(0));
+            chunks.add(chunk);
+            return IntStream.range(0, chunk.size())
+                    .mapToObj(i -> BatchItemResultDto.builder()
+                            .index(i)
+                            .name(chunk.get(i).getName())
+                            .status("Taken".equals(chunk.get(i).getName()) ? BatchItemStatusEnum.FAILED : BatchItemStatusEnum.CREATED)
+                            .error("Taken".equals(chunk.get(i).getName()) ? "Framework with this name already exists" : null)
+                            .build())
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @Test
+    @DisplayName("Importing NDJSON. Should save frameworks in chunks and report failed lines by number")
+    void testImportNdjson() {
+        // given
+        String ndjson = "{\"name\":\"jQuery\",\"versions\":[\"3.6.0\"],\"hypeLevel\":\"LETDOWN\"}\n"
+                + "{\"name\":\n"
+                + "\n"
+                + "{\"name\":\"Taken\",\"versions\":[],\"hypeLevel\":\"SOLID\"}\n"
+                + "{\"name\":\"React\",\"versions\":[\"18.2.0\"],\"hypeLevel\":\"SENSATIONAL\"}\n";
+
+        // when
+        FrameworkImportResultDto result = importService.importFrameworks(input(ndjson), FrameworkImportFormatEnum.NDJSON, 1).get();
+
+        // then
+        assertThat(result.getStatus()).isEqualTo(FrameworkImportStatusEnum.COMPLETED);
+        assertThat(result.getLastLine()).isEqualTo(5);
+        assertThat(result.getCheckpointLine()).isEqualTo(5);
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(BatchItemResultDto::getIndex).containsExactly(2, 4);
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(0)).extracting(CreateJavaScriptFrameworkDto::getName).containsExactly("jQuery", "Taken");
+        assertThat(chunks.get(1)).extracting(CreateJavaScriptFrameworkDto::getName).containsExactly("React");
+        verify(entityManager, times(2)).clear();
+        assertThat(importService.getLastImport()).contains(result);
+    }
+
+    @Test
+    @DisplayName("Importing CSV from line 3. Should read header, skip earlier lines and parse quoted fields")
+    void testImportCsv_fromLine() {
+        // given
+        String csv = "hypeLevel,name,versions,deprecationDate\n"
+                + "LETDOWN,jQuery,3.6.0,\n"
+                + "solid,\"Backbone, the old one\",1.4.1|1.3.3,2021-03-21\n"
+                + "GREAT,Svelte,3.0.0,yesterday\n";
+
+        // when
+        FrameworkImportResultDto result = importService.importFrameworks(input(csv), FrameworkImportFormatEnum.CSV, 3).get();
+
+        // then
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(BatchItemResultDto::getIndex, BatchItemResultDto::getName)
+                .containsExactly(org.assertj.core.groups.Tuple.tuple(4, "Svelte"));
+        CreateJavaScriptFrameworkDto backbone = chunks.get(0).get(0);
+        assertThat(backbone.getName()).isEqualTo("Backbone, the old one");
+        assertThat(backbone.getHypeLevel()).isEqualTo(HypeLevelEnum.SOLID);
+        assertThat(backbone.getVersions()).containsOnly("1.4.1", "1.3.3");
+        assertThat(backbone.getDeprecationDate()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Importing when a chunk fails to commit. Should stop and report checkpoint of the last committed chunk")
+    void testImport_chunkFailed() {
+        // given
+        Mockito.when(frameworkService.saveFrameworks(chunkCaptor.capture()))
+                .thenReturn(List.of(created(0), created(1)))
+                .thenThrow(new DataIntegrityViolationException("Unique index violated"));
+        String ndjson = IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> "{\"name\":\"Framework" + i + "\",\"versions\":[],\"hypeLevel\":\"SOLID\"}\n")
+                .collect(Collectors.joining());
+
+        // when
+        FrameworkImportResultDto result = importService.importFrameworks(input(ndjson), FrameworkImportFormatEnum.NDJSON, 1).get();
+
+        // then
+        assertThat(result.getStatus()).isEqualTo(FrameworkImportStatusEnum.FAILED);
+        assertThat(result.getCheckpointLine()).isEqualTo(2);
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getFailure()).isEqualTo("Unique index violated");
+    }
+
+    @Test
+    @DisplayName("Importing CSV without required columns. Should fail before saving anything")
+    void testImportCsv_malformedHeader() {
+        FrameworkImportResultDto result = importService.importFrameworks(input("name,versions\njQuery,3.6.0\n"), FrameworkImportFormatEnum.CSV, 1).get();
+
+        assertThat(result.getStatus()).isEqualTo(FrameworkImportStatusEnum.FAILED);
+        assertThat(result.getCheckpointLine()).isZero();
+        verify(frameworkService, times(0)).saveFrameworks(anyList());
+    }
+
+    @Test
+    @DisplayName("Importing generated frameworks. Should save them in chunks numbered by position")
+    void testImportIterator() {
+        // given
+        List<CreateJavaScriptFrameworkDto> frameworks = List.of(
+                CreateJavaScriptFrameworkDto.builder().name("jQuery").build(),
+                CreateJavaScriptFrameworkDto.builder().name("Taken").build(),
+                CreateJavaScriptFrameworkDto.builder().name("React").build());
+
+        // when
+        FrameworkImportResultDto result = importService.importFrameworks(frameworks.iterator()).get();
+
+        // then
+        assertThat(result.getStatus()).isEqualTo(FrameworkImportStatusEnum.COMPLETED);
+        assertThat(result.getFormat()).isNull();
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(BatchItemResultDto::getIndex).containsExactly(2);
+        assertThat(chunks).hasSize(2);
+    }
+
+    private static BatchItemResultDto created(int index) {
+        return BatchItemResultDto.builder().index(index).status(BatchItemStatusEnum.CREATED).build();
+    }
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
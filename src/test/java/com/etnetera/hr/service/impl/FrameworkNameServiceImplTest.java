@@ -0,0 +1,111 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.domain.HypeLevelEnum;
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.etnetera.hr.event.FrameworkChangedEvent;
+import com.etnetera.hr.repository.FrameworkQueryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class FrameworkNameServiceImplTest {
+
+    @InjectMocks
+    private FrameworkNameServiceImpl nameService;
+    @Mock
+    private FrameworkQueryRepository frameworkQueryRepository;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        Mockito.when(frameworkQueryRepository.findAllIdsByName()).thenReturn(Map.of("jQuery", 1L, "React", 2L));
+        nameService.rebuildIndex();
+    }
+
+    @Test
+    @DisplayName("Finding ids of loaded names. Should find exact names only")
+    void testFindIdByName() {
+        assertThat(nameService.findIdByName("jQuery")).contains(1L);
+        assertThat(nameService.findIdByName("React")).contains(2L);
+        assertThat(nameService.findIdByName("react")).isEmpty();
+        assertThat(nameService.findIdByName("Vue")).isEmpty();
+        assertThat(nameService.findIdByName(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Following created, renamed and deleted frameworks. Should find only current names")
+    void testFollowsWrites() {
+        // given
+        JavaScriptFrameworkDto vue = framework(3L, "Vue");
+        JavaScriptFrameworkDto react = framework(2L, "React");
+
+        // when
+        nameService.onFrameworkChanged(FrameworkChangedEvent.created(vue));
+        nameService.onFrameworkChanged(FrameworkChangedEvent.updated(vue, framework(3L, "VueJs")));
+        nameService.onFrameworkChanged(FrameworkChangedEvent.deleted(react));
+
+        // then
+        assertThat(nameService.findIdByName("VueJs")).contains(3L);
+        assertThat(nameService.findIdByName("Vue")).isEmpty();
+        assertThat(nameService.findIdByName("React")).isEmpty();
+        assertThat(nameService.findIdByName("jQuery")).contains(1L);
+    }
+
+    @Test
+    @DisplayName("Creating and deleting many more frameworks than the filter was built for. Should grow and keep finding them")
+    void testGrows() {
+        // when
+        IntStream.range(0, 5000).forEach(i -> nameService.onFrameworkChanged(FrameworkChangedEvent.created(framework(10L + i, "Framework-" + i))));
+        IntStream.range(0, 2500).forEach(i -> nameService.onFrameworkChanged(FrameworkChangedEvent.deleted(framework(10L + i, "Framework-" + i))));
+
+        // then
+        assertThat(IntStream.range(2500, 5000).allMatch(i -> nameService.findIdByName("Framework-" + i).isPresent())).isTrue();
+        assertThat(IntStream.range(0, 2500).noneMatch(i -> nameService.findIdByName("Framework-" + i).isPresent())).isTrue();
+        assertThat(nameService.findIdByName("jQuery")).contains(1L);
+    }
+
+    @Test
+    @DisplayName("Finding id of a name the filter lets through but the map does not have. Should ask the database")
+    void testFindIdByName_notInMap() {
+        // given
+        nameService.onFrameworkChanged(FrameworkChangedEvent.deleted(framework(2L, "React")));
+        Mockito.when(frameworkQueryRepository.findIdByName("React")).thenReturn(Optional.of(5L));
+
+        // then
+        assertThat(nameService.findIdByName("React")).contains(5L);
+        assertThat(nameService.findIdByName("Vue")).isEmpty();
+        verify(frameworkQueryRepository, never()).findIdByName("Vue");
+    }
+
+    @Test
+    @DisplayName("Finding id before the index is built. Should ask the database")
+    void testFindIdByName_notBuilt() {
+        // given
+        FrameworkNameServiceImpl notBuilt = new FrameworkNameServiceImpl(frameworkQueryRepository);
+        Mockito.when(frameworkQueryRepository.findIdByName("Vue")).thenReturn(Optional.of(3L));
+
+        // when
+        notBuilt.onFrameworkChanged(FrameworkChangedEvent.created(framework(4L, "Svelte")));
+
+        // then
+        assertThat(notBuilt.findIdByName("Vue")).contains(3L);
+        assertThat(notBuilt.findIdByName("Svelte")).isEmpty();
+        verify(frameworkQueryRepository).findIdByName("Svelte");
+    }
+
+    private JavaScriptFrameworkDto framework(Long id, String name) {
+        return JavaScriptFrameworkDto.builder().id(id).name(name).hypeLevel(HypeLevelEnum.SOLID).build();
+    }
+}
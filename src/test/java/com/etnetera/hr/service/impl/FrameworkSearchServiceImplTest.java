@@ -0,0 +1,217 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.config.FrameworkProperties;
+import com.etnetera.hr.domain.HypeLevelEnum;
+import com.etnetera.hr.dto.FrameworkPageDto;
+import com.etnetera.hr.dto.FrameworkSearchCriteriaDto;
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.etnetera.hr.event.FrameworkChangedEvent;
+import com.etnetera.hr.repository.FrameworkQueryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class FrameworkSearchServiceImplTest {
+
+    @InjectMocks
+    private FrameworkSearchServiceImpl searchService;
+    @Mock
+    private FrameworkQueryRepository frameworkQueryRepository;
+    @Spy
+    private FrameworkProperties properties = new FrameworkProperties();
+
+    private JavaScriptFrameworkDto jQuery;
+    private JavaScriptFrameworkDto react;
+    private JavaScriptFrameworkDto backbone;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+
+        jQuery = JavaScriptFrameworkDto.builder()
+                .id(1L)
+                .name("jQuery")
+                .deprecationDate(date(2020, 2, 21))
+                .hypeLevel(HypeLevelEnum.LETDOWN)
+                .versions(Set.of("3.6.0", "3.5.0"))
+                .build();
+        react = JavaScriptFrameworkDto.builder()
+                .id(2L)
+                .name("React")
+                .deprecationDate(date(2021, 2, 21))
+                .hypeLevel(HypeLevelEnum.SENSATIONAL)
+                .versions(Set.of("3.6.0"))
+                .build();
+        backbone = JavaScriptFrameworkDto.builder()
+                .id(3L)
+                .name("Backbone")
+                .hypeLevel(HypeLevelEnum.SOLID)
+                .versions(Set.of("1.4.1"))
+                .build();
+        Mockito.when(frameworkQueryRepository.findAll()).thenReturn(Arrays.asList(jQuery, react, backbone));
+        searchService.rebuildIndex();
+    }
+
+    @Test
+    @DisplayName("Searching without criteria. Should return all frameworks ordered by id")
+    void testSearch_noCriteria() {
+        Optional<List<JavaScriptFrameworkDto>> result = searchService.searchFrameworks(FrameworkSearchCriteriaDto.builder().build());
+
+        assertThat(result).isPresent();
+        assertThat(result.get()).containsExactly(jQuery, react, backbone);
+    }
+
+    @Test
+    @DisplayName("Searching by short and long name substring. Should ignore case and match only adjacent letters")
+    void testSearch_name() {
+        assertThat(search(FrameworkSearchCriteriaDto.builder().name("c").build())).containsExactly(react, backbone);
+        assertThat(search(FrameworkSearchCriteriaDto.builder().name("QUERY").build())).containsExactly(jQuery);
+        assertThat(search(FrameworkSearchCriteriaDto.builder().name("ackbo").build())).containsExactly(backbone);
+        assertThat(search(FrameworkSearchCriteriaDto.builder().name("reactjs").build())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Searching by name whose every n-gram occurs in a framework, but not adjacent. Should not return it")
+    void testSearch_nameGramsNotAdjacent() {
+        JavaScriptFrameworkDto abab = JavaScriptFrameworkDto.builder().id(4L).name("Abab").build();
+        searchService.onFrameworkChanged(FrameworkChangedEvent.created(abab));
+
+        assertThat(search(FrameworkSearchCriteriaDto.builder().name("abab").build())).containsExactly(abab);
+        assertThat(search(FrameworkSearchCriteriaDto.builder().name("ababa").build())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Searching by version, hype levels and deprecation date range. Should return frameworks matching all criteria")
+    void testSearch_combined() {
+        FrameworkSearchCriteriaDto criteria = FrameworkSearchCriteriaDto.builder()
+                .version("3.6.0")
+                .hypeLevels(Arrays.asList("letdown", "SENSATIONAL"))
+                .deprecatedFrom(date(2021, 0, 1))
+                .deprecatedTo(date(2021, 2, 21))
+                .build();
+
+        assertThat(search(criteria)).containsExactly(react);
+    }
+
+    @Test
+    @DisplayName("Searching by semantic version range. Should return frameworks with a version in the range and skip malformed versions")
+    void testSearch_versionRange() {
+        JavaScriptFrameworkDto malformed = JavaScriptFrameworkDto.builder()
+                .id(4L)
+                .name("Malformed")
+                .versions(Set.of(".2.1", "\"3.2.0", "3.2", "3.2.0"))
+                .build();
+        searchService.onFrameworkChanged(FrameworkChangedEvent.created(malformed));
+
+        assertThat(search(FrameworkSearchCriteriaDto.builder().versionRange(">=3.5.0 <4").build())).containsExactly(jQuery, react);
+        assertThat(search(FrameworkSearchCriteriaDto.builder().versionRange(">3.5.0").build())).containsExactly(jQuery, react);
+        assertThat(search(FrameworkSearchCriteriaDto.builder().versionRange("<=1.4.1").build())).containsExactly(backbone);
+        assertThat(search(FrameworkSearchCriteriaDto.builder().versionRange("3.2.0").build())).containsExactly(malformed);
+        assertThat(search(FrameworkSearchCriteriaDto.builder().versionRange(">=4 <3").build())).isEmpty();
+        assertThat(searchService.searchFrameworks(FrameworkSearchCriteriaDto.builder().versionRange(".2.1").build())).isEmpty();
+
+        searchService.onFrameworkChanged(FrameworkChangedEvent.deleted(malformed));
+        assertThat(search(FrameworkSearchCriteriaDto.builder().versionRange("3.2").build())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Searching by unknown hype level or inverted date range. Should return empty Optional")
+    void testSearch_invalidCriteria() {
+        assertThat(searchService.searchFrameworks(FrameworkSearchCriteriaDto.builder().hypeLevels(List.of("HYPED")).build())).isEmpty();
+        assertThat(searchService.searchFrameworks(FrameworkSearchCriteriaDto.builder()
+                .deprecatedFrom(date(2021, 0, 1))
+                .deprecatedTo(date(2020, 0, 1))
+                .build())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Searching after frameworks were changed. Should reflect created, updated and deleted frameworks")
+    void testSearch_followsChanges() {
+        JavaScriptFrameworkDto vue = JavaScriptFrameworkDto.builder()
+                .id(4L)
+                .name("VueJs")
+                .hypeLevel(HypeLevelEnum.GREAT)
+                .versions(Set.of("3.2.0"))
+                .build();
+        JavaScriptFrameworkDto renamed = JavaScriptFrameworkDto.builder()
+                .id(3L)
+                .name("Marionette")
+                .hypeLevel(HypeLevelEnum.SOLID)
+                .versions(Set.of("1.4.1"))
+                .build();
+
+        searchService.onFrameworkChanged(FrameworkChangedEvent.deleted(jQuery));
+        searchService.onFrameworkChanged(FrameworkChangedEvent.created(vue));
+        searchService.onFrameworkChanged(FrameworkChangedEvent.updated(backbone, renamed));
+
+        assertThat(search(FrameworkSearchCriteriaDto.builder().build())).containsExactly(react, renamed, vue);
+        assertThat(search(FrameworkSearchCriteriaDto.builder().name("back").build())).isEmpty();
+        assertThat(search(FrameworkSearchCriteriaDto.builder().version("3.5.0").build())).isEmpty();
+        assertThat(search(FrameworkSearchCriteriaDto.builder().hypeLevels(List.of("GREAT")).build())).containsExactly(vue);
+    }
+
+    @Test
+    @DisplayName("Searching page by semantic version range. Should continue after the cursor and cap the page size")
+    void testSearchPage() {
+        FrameworkSearchCriteriaDto criteria = FrameworkSearchCriteriaDto.builder().versionRange(">=1 <4").build();
+        properties.getPagination().setMaxPageSize(2);
+
+        FrameworkPageDto first = searchService.searchFrameworksPage(criteria, null, 10).orElseThrow();
+        assertThat(first.getFrameworks()).containsExactly(jQuery, react);
+        assertThat(first.getNextCursor()).isNotNull();
+
+        FrameworkPageDto second = searchService.searchFrameworksPage(criteria, first.getNextCursor(), 10).orElseThrow();
+        assertThat(second.getFrameworks()).containsExactly(backbone);
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Searching page after frameworks were created out of id order. Should return pages ordered by id")
+    void testSearchPage_createdOutOfOrder() {
+        JavaScriptFrameworkDto vue = JavaScriptFrameworkDto.builder().id(10L).name("VueJs").versions(Set.of("2.6.0")).build();
+        JavaScriptFrameworkDto ember = JavaScriptFrameworkDto.builder().id(5L).name("Ember").versions(Set.of("3.1.0")).build();
+        JavaScriptFrameworkDto angular = JavaScriptFrameworkDto.builder().id(6L).name("Angular").versions(Set.of("1.8.0")).build();
+        FrameworkSearchCriteriaDto criteria = FrameworkSearchCriteriaDto.builder().versionRange(">=1 <4").build();
+        properties.getPagination().setMaxPageSize(2);
+
+        searchService.onFrameworkChanged(FrameworkChangedEvent.created(vue));
+        searchService.onFrameworkChanged(FrameworkChangedEvent.created(ember));
+        searchService.onFrameworkChanged(FrameworkChangedEvent.deleted(react));
+        searchService.onFrameworkChanged(FrameworkChangedEvent.created(angular));
+
+        FrameworkPageDto first = searchService.searchFrameworksPage(criteria, null, 2).orElseThrow();
+        FrameworkPageDto second = searchService.searchFrameworksPage(criteria, first.getNextCursor(), 2).orElseThrow();
+        FrameworkPageDto third = searchService.searchFrameworksPage(criteria, second.getNextCursor(), 2).orElseThrow();
+        assertThat(first.getFrameworks()).containsExactly(jQuery, backbone);
+        assertThat(second.getFrameworks()).containsExactly(ember, angular);
+        assertThat(third.getFrameworks()).containsExactly(vue);
+        assertThat(third.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Searching page with invalid page size or continuation token. Should return empty Optional")
+    void testSearchPage_invalidPage() {
+        FrameworkSearchCriteriaDto criteria = FrameworkSearchCriteriaDto.builder().versionRange(">=1").build();
+
+        assertThat(searchService.searchFrameworksPage(criteria, null, 0)).isEmpty();
+        assertThat(searchService.searchFrameworksPage(criteria, "not a token", null)).isEmpty();
+        assertThat(searchService.searchFrameworksPage(FrameworkSearchCriteriaDto.builder().versionRange(".2.1").build(), null, null)).isEmpty();
+    }
+
+    private List<JavaScriptFrameworkDto> search(FrameworkSearchCriteriaDto criteria) {
+        return searchService.searchFrameworks(criteria).orElseThrow();
+    }
+
+    private static Date date(int year, int month, int day) {
+        return new Calendar.Builder().setDate(year, month, day).build().getTime();
+    }
+}
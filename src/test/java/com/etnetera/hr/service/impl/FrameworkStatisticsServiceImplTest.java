@@ -0,0 +1,120 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.domain.HypeLevelEnum;
+import com.etnetera.hr.dto.FrameworkStatisticsDto;
+import com.etnetera.hr.dto.FrameworkSummaryDto;
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.etnetera.hr.event.FrameworkChangedEvent;
+import com.etnetera.hr.event.FrameworkDeprecatedEvent;
+import com.etnetera.hr.repository.FrameworkQueryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class FrameworkStatisticsServiceImplTest {
+
+    @InjectMocks
+    private FrameworkStatisticsServiceImpl statisticsService;
+    @Mock
+    private FrameworkQueryRepository frameworkQueryRepository;
+
+    private JavaScriptFrameworkDto jQuery;
+    private JavaScriptFrameworkDto react;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+
+        jQuery = JavaScriptFrameworkDto.builder()
+                .id(1L)
+                .name("jQuery")
+                .hypeLevel(HypeLevelEnum.LETDOWN)
+                .deprecationDate(new Date(System.currentTimeMillis() - 1000))
+                .versions(Set.of("3.6.0", "3.5.0"))
+                .build();
+        react = JavaScriptFrameworkDto.builder()
+                .id(2L)
+                .name("React")
+                .hypeLevel(HypeLevelEnum.SENSATIONAL)
+                .deprecationDate(new Date(System.currentTimeMillis() + 3_600_000))
+                .versions(Set.of("18.2.0"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Creating, updating and deleting frameworks. Should move frameworks between counters")
+    void testCountersFollowChanges() {
+        JavaScriptFrameworkDto solidReact = JavaScriptFrameworkDto.builder()
+                .id(2L)
+                .name("React")
+                .hypeLevel(HypeLevelEnum.SOLID)
+                .versions(Set.of("18.2.0", "18.1.0"))
+                .build();
+
+        statisticsService.onFrameworkChanged(FrameworkChangedEvent.created(jQuery));
+        statisticsService.onFrameworkChanged(FrameworkChangedEvent.created(react));
+        FrameworkStatisticsDto created = statisticsService.getStatistics();
+        statisticsService.onFrameworkChanged(FrameworkChangedEvent.updated(react, solidReact));
+        statisticsService.onFrameworkChanged(FrameworkChangedEvent.deleted(jQuery));
+        FrameworkStatisticsDto changed = statisticsService.getStatistics();
+
+        assertThat(created.getTotal()).isEqualTo(2);
+        assertThat(created.getDeprecated()).isEqualTo(1);
+        assertThat(created.getNotDeprecated()).isEqualTo(1);
+        assertThat(created.getHypeLevels()).containsEntry(HypeLevelEnum.LETDOWN, 1L).containsEntry(HypeLevelEnum.SENSATIONAL, 1L);
+        assertThat(created.getVersionCounts()).isEqualTo(Map.of(1, 1L, 2, 1L));
+        assertThat(changed.getTotal()).isEqualTo(1);
+        assertThat(changed.getDeprecated()).isZero();
+        assertThat(changed.getHypeLevels()).containsEntry(HypeLevelEnum.SOLID, 1L).containsEntry(HypeLevelEnum.LETDOWN, 0L);
+        assertThat(changed.getVersionCounts()).isEqualTo(Map.of(2, 1L));
+    }
+
+    @Test
+    @DisplayName("Reaching deprecation date of counted framework. Should move it to deprecated")
+    void testFrameworkDeprecated() throws InterruptedException {
+        react.setDeprecationDate(new Date(System.currentTimeMillis() + 50));
+        statisticsService.onFrameworkChanged(FrameworkChangedEvent.created(react));
+        Thread.sleep(100);
+
+        long deprecatedBefore = statisticsService.getStatistics().getDeprecated();
+        statisticsService.onFrameworkDeprecated(new FrameworkDeprecatedEvent(2L, "React", react.getDeprecationDate()));
+        statisticsService.onFrameworkDeprecated(new FrameworkDeprecatedEvent(3L, "Unknown", react.getDeprecationDate()));
+
+        assertThat(deprecatedBefore).isZero();
+        assertThat(statisticsService.getStatistics().getDeprecated()).isEqualTo(1);
+        assertThat(statisticsService.getStatistics().getNotDeprecated()).isZero();
+    }
+
+    @Test
+    @DisplayName("Reconciling with the database. Should replace counters by the recount")
+    void testReconcile() {
+        statisticsService.onFrameworkChanged(FrameworkChangedEvent.created(jQuery));
+        Mockito.when(frameworkQueryRepository.findAllSummaries()).thenReturn(List.of(
+                FrameworkSummaryDto.builder().id(2L).hypeLevel(HypeLevelEnum.GREAT).versionCount(0).build(),
+                FrameworkSummaryDto.builder().id(3L).hypeLevel(HypeLevelEnum.GREAT).versionCount(3)
+                        .deprecationDate(new Date(System.currentTimeMillis() - 1000)).build()));
+
+        statisticsService.reconcile();
+        FrameworkStatisticsDto statistics = statisticsService.getStatistics();
+
+        verify(frameworkQueryRepository, times(1)).findAllSummaries();
+        assertThat(statistics.getTotal()).isEqualTo(2);
+        assertThat(statistics.getHypeLevels()).containsEntry(HypeLevelEnum.GREAT, 2L).containsEntry(HypeLevelEnum.LETDOWN, 0L);
+        assertThat(statistics.getDeprecated()).isEqualTo(1);
+        assertThat(statistics.getVersionCounts()).isEqualTo(Map.of(0, 1L, 3, 1L));
+        assertThat(statistics.getReconciledAt()).isNotNull();
+    }
+}
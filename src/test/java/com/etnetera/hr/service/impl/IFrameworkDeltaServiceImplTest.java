@@ -0,0 +1,131 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.config.FrameworkProperties;
+import com.etnetera.hr.domain.HypeLevelEnum;
+import com.etnetera.hr.dto.CreateJavaScriptFrameworkDto;
+import com.etnetera.hr.dto.FrameworkDeltaDto;
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.etnetera.hr.service.CacheStatisticsService;
+import com.etnetera.hr.service.FrameworkNameService;
+import com.etnetera.hr.service.JavaScriptFrameworkService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest()
+@Sql(scripts = "/db/create_data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/db/delete_data.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class IFrameworkDeltaServiceImplTest {
+
+    @Autowired
+    private FrameworkDeltaServiceImpl deltaService;
+    @Autowired
+    private JavaScriptFrameworkService frameworkService;
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+    @Autowired
+    private FrameworkNameService nameService;
+    @Autowired
+    private FrameworkProperties properties;
+
+    @BeforeEach
+    public void setUp() {
+        cacheStatisticsService.evictAll();
+        nameService.rebuildIndex();
+        // test data are written by plain SQL like a restored snapshot
+        deltaService.recordUnchanged();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        properties.getDelta().setTombstoneRetentionMs(604_800_000);
+    }
+
+    @Test
+    @DisplayName("Getting delta since a token after creating, updating and deleting frameworks. Should return only the changed ones and the deleted id")
+    void testGetDelta_sinceToken() {
+        // given
+        FrameworkDeltaDto full = deltaService.getDelta(null, null).get();
+        JavaScriptFrameworkDto angular = frameworkService.findFrameworkById(1L).get();
+        angular.setVersions(Set.of("1.0.0", "1.2.0", "1.3.0"));
+        frameworkService.updateFramework(angular);
+        frameworkService.saveFramework(CreateJavaScriptFrameworkDto.builder()
+                .name("VueJs")
+                .hypeLevel(HypeLevelEnum.SENSATIONAL)
+                .versions(Set.of("3.2.0"))
+                .build());
+        frameworkService.deleteFramework(3L);
+
+        // when
+        FrameworkDeltaDto delta = deltaService.getDelta(full.getToken(), null).get();
+        FrameworkDeltaDto next = deltaService.getDelta(delta.getToken(), null).get();
+
+        // then
+        assertThat(full.getFrameworks()).extracting(JavaScriptFrameworkDto::getId).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        assertThat(full.isMore()).isFalse();
+        assertThat(full.isReset()).isFalse();
+        assertThat(delta.getFrameworks()).extracting(JavaScriptFrameworkDto::getName).containsExactly("Angular", "VueJs");
+        assertThat(delta.getFrameworks().get(0).getLatestVersion()).isEqualTo("1.3.0");
+        assertThat(delta.getDeleted()).containsExactly(3L);
+        assertThat(next.getFrameworks()).isEmpty();
+        assertThat(next.getDeleted()).isEmpty();
+        assertThat(next.getToken()).isEqualTo(delta.getToken());
+    }
+
+    @Test
+    @DisplayName("Getting delta with limit smaller than the changes. Should return them in more deltas")
+    void testGetDelta_limited() {
+        // when
+        FrameworkDeltaDto first = deltaService.getDelta(null, 3).get();
+        FrameworkDeltaDto second = deltaService.getDelta(first.getToken(), 3).get();
+
+        // then
+        assertThat(first.getFrameworks()).hasSize(3);
+        assertThat(first.isMore()).isTrue();
+        assertThat(second.getFrameworks()).hasSize(1);
+        assertThat(second.isMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Getting delta since a token older than removed tombstones. Should return the whole catalog with reset")
+    void testGetDelta_compacted() {
+        // given
+        String token = deltaService.getDelta(null, null).get().getToken();
+        frameworkService.deleteFramework(3L);
+        properties.getDelta().setTombstoneRetentionMs(-60_000);
+
+        // when
+        int removed = deltaService.compact();
+        FrameworkDeltaDto delta = deltaService.getDelta(token, null).get();
+
+        // then
+        assertThat(removed).isEqualTo(1);
+        assertThat(delta.isReset()).isTrue();
+        assertThat(delta.getFrameworks()).extracting(JavaScriptFrameworkDto::getId).containsExactlyInAnyOrder(1L, 2L, 4L);
+        assertThat(delta.getDeleted()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Getting delta with token from another run or malformed token. Should reset or return empty Optional")
+    void testGetDelta_foreignToken() {
+        // when
+        FrameworkDeltaDto delta = deltaService.getDelta(new FrameworkDeltaToken(1L, 2L).encode(), null).get();
+
+        // then
+        assertThat(delta.isReset()).isTrue();
+        assertThat(delta.getFrameworks()).hasSize(4);
+        assertThat(deltaService.getDelta("not a token", null)).isEmpty();
+        assertThat(deltaService.getDelta(null, 0)).isEmpty();
+    }
+}
@@ -0,0 +1,146 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.config.FrameworkProperties;
+import com.etnetera.hr.dto.FrameworkSnapshotDto;
+import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.etnetera.hr.service.CacheStatisticsService;
+import com.etnetera.hr.service.FrameworkSnapshotService;
+import com.etnetera.hr.service.JavaScriptFrameworkService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest()
+@Sql(scripts = "/db/create_data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/db/delete_data.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class IFrameworkSnapshotServiceImplTest {
+
+    @Autowired
+    private FrameworkSnapshotService snapshotService;
+    @Autowired
+    private JavaScriptFrameworkService frameworkService;
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+    @Autowired
+    private FrameworkProperties properties;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        cacheStatisticsService.evictAll();
+        file = Files.createTempFile("frameworks", ".snapshot");
+        properties.getSnapshot().setFile(file.toString());
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        properties.getSnapshot().setFile(null);
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    @DisplayName("Writing snapshot and restoring it into empty catalog. Should restore the same frameworks and move id sequence past them")
+    void testWriteAndRestore() {
+        // given
+        List<JavaScriptFrameworkDto> frameworks = allFrameworks();
+        FrameworkSnapshotDto written = snapshotService.writeSnapshot().get();
+        deleteAll();
+
+        // when
+        FrameworkSnapshotDto restored = snapshotService.restoreSnapshot().get();
+
+        // then
+        assertThat(written.getFrameworks()).isEqualTo(4);
+        assertThat(restored.getFrameworks()).isEqualTo(4);
+        assertThat(restored.getBytes()).isEqualTo(written.getBytes());
+        assertThat(restored.getCreatedAt()).isEqualTo(written.getCreatedAt());
+        assertThat(allFrameworks()).isEqualTo(frameworks);
+        assertThat(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR FRAMEWORK_SEQ", Long.class)).isEqualTo(4 + 50);
+    }
+
+    @Test
+    @DisplayName("Restoring snapshot into catalog with frameworks. Should return empty Optional")
+    void testRestore_catalogNotEmpty() {
+        // given
+        snapshotService.writeSnapshot();
+
+        // when
+        boolean restored = snapshotService.restoreSnapshot().isPresent();
+
+        // then
+        assertThat(restored).isFalse();
+        assertThat(allFrameworks()).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Restoring truncated snapshot. Should throw exception and leave the catalog empty")
+    void testRestore_truncated() throws IOException {
+        // given
+        snapshotService.writeSnapshot();
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 20));
+        deleteAll();
+
+        // then
+        assertThatThrownBy(() -> snapshotService.restoreSnapshot()).isInstanceOf(IllegalStateException.class);
+        assertThat(allFrameworks()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Restoring snapshot with hype level unknown to this version. Should throw exception and leave the catalog empty")
+    void testRestore_unknownHypeLevel() throws IOException {
+        // given
+        snapshotService.writeSnapshot();
+        String bytes = new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+        Files.write(file, bytes.replace("SOLID", "SOLIX").getBytes(StandardCharsets.ISO_8859_1));
+        deleteAll();
+
+        // then
+        assertThatThrownBy(() -> snapshotService.restoreSnapshot()).isInstanceOf(IllegalStateException.class);
+        assertThat(allFrameworks()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Writing snapshot without configured file. Should return empty Optional")
+    void testWrite_notConfigured() {
+        // given
+        properties.getSnapshot().setFile("");
+
+        // then
+        assertThat(snapshotService.writeSnapshot()).isEmpty();
+        assertThat(snapshotService.restoreSnapshot()).isEmpty();
+    }
+
+    private List<JavaScriptFrameworkDto> allFrameworks() {
+        List<JavaScriptFrameworkDto> frameworks = new ArrayList<>();
+        frameworkService.getAllFrameworks().forEach(frameworks::add);
+        return frameworks;
+    }
+
+    private void deleteAll() {
+        jdbcTemplate.execute("DELETE FROM JAVA_SCRIPT_FRAMEWORK_VERSIONS");
+        jdbcTemplate.execute("DELETE FROM JAVA_SCRIPT_FRAMEWORK");
+    }
+}
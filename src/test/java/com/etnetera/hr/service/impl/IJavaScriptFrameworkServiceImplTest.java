@@ -1,10 +1,32 @@
 package com.etnetera.hr.service.impl;
 
+import com.etnetera.hr.domain.FrameworkImportFormatEnum;
 import com.etnetera.hr.domain.HypeLevelEnum;
+import com.etnetera.hr.dto.FrameworkImportResultDto;
+import com.etnetera.hr.dto.FrameworkImportStatusEnum;
+import com.etnetera.hr.dto.BatchItemResultDto;
+import com.etnetera.hr.dto.BatchItemStatusEnum;
+import com.etnetera.hr.dto.CacheStatisticsDto;
+import com.etnetera.hr.dto.FrameworkPatchDto;
 import com.etnetera.hr.domain.JavaScriptFramework;
 import com.etnetera.hr.dto.CreateJavaScriptFrameworkDto;
+import com.etnetera.hr.dto.FrameworkFieldEnum;
+import com.etnetera.hr.dto.FrameworkPageDto;
 import com.etnetera.hr.dto.JavaScriptFrameworkDto;
 import com.etnetera.hr.repository.JavaScriptFrameworkRepository;
+import com.etnetera.hr.dto.FrameworkSearchCriteriaDto;
+import com.etnetera.hr.service.CacheStatisticsService;
+import com.etnetera.hr.service.FrameworkNameService;
+import com.etnetera.hr.service.FrameworkImportService;
+import com.etnetera.hr.service.FrameworkSearchService;
+import com.etnetera.hr.service.FrameworkStatisticsService;
+import com.etnetera.hr.dto.FrameworkStatisticsDto;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,10 +35,27 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import javax.persistence.EntityManagerFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.HashSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest()
@@ -28,6 +67,27 @@ public class IJavaScriptFrameworkServiceImplTest {
     private JavaScriptFrameworkServiceImpl frameworkService;
     @Autowired
     private JavaScriptFrameworkRepository frameworkRepository;
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+    @Autowired
+    private FrameworkNameService nameService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private FrameworkSearchService searchService;
+    @Autowired
+    private FrameworkStatisticsService statisticsService;
+    @Autowired
+    private FrameworkImportService importService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        // test data are written by plain SQL, which second level cache and name index do not see
+        cacheStatisticsService.evictAll();
+        nameService.rebuildIndex();
+    }
 
     @Test
     @DisplayName("Returning all frameworks. Should return all JavaScript frameworks dtos")
@@ -40,6 +100,77 @@ public class IJavaScriptFrameworkServiceImplTest {
         assertThat(frameworks).hasSize(4);
     }
 
+    @Test
+    @DisplayName("Returning all frameworks, page or frameworks by HypeLevel. Should run exactly one SQL statement per list")
+    void testListFrameworks_oneStatement() {
+        // given
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // when
+        statistics.clear();
+        Iterable<JavaScriptFrameworkDto> all = frameworkService.getAllFrameworks();
+        long allStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+        Optional<FrameworkPageDto> page = frameworkService.getFrameworksPage("deprecationDate", null, 3, null);
+        long pageStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+        Iterable<JavaScriptFrameworkDto> sensational = frameworkService.getFrameworksByHype("SENSATIONAL", null);
+        long hypeStatements = statistics.getPrepareStatementCount();
+
+        // then
+        assertThat(all).hasSize(4);
+        assertThat(all).filteredOn(framework -> framework.getName().equals("Angular"))
+                .flatExtracting(JavaScriptFrameworkDto::getVersions).containsOnly("1.0.0", "1.2.0");
+        assertThat(page.get().getFrameworks()).hasSize(3);
+        assertThat(sensational).hasSize(2);
+        assertThat(allStatements).isEqualTo(1);
+        assertThat(pageStatements).isEqualTo(1);
+        assertThat(hypeStatements).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Exporting all frameworks. Should stream frameworks with versions by one statement, ordered by id")
+    void testExportFrameworks() {
+        // given
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<JavaScriptFrameworkDto> exported = new ArrayList<>();
+
+        // when
+        statistics.clear();
+        long count = frameworkService.exportFrameworks(exported::add);
+
+        // then
+        assertThat(count).isEqualTo(4);
+        assertThat(exported).extracting(JavaScriptFrameworkDto::getId).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(exported.get(0).getVersions()).containsOnly("1.0.0", "1.2.0");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCachePutCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Importing CSV. Should insert valid lines in chunks and report lines with taken name or invalid content")
+    void testImportFrameworks() {
+        // given
+        String csv = "name,versions,deprecationDate,hypeLevel\n"
+                + "Svelte,3.0.0|3.1.0,,GREAT\n"
+                + "Angular,2.0.0,,SOLID\n"
+                + ",1.0.0,,SOLID\n"
+                + "Ember,4.0.0,2022-01-01,LETDOWN\n";
+
+        // when
+        FrameworkImportResultDto result = importService.importFrameworks(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                FrameworkImportFormatEnum.CSV, 1).get();
+
+        // then
+        assertThat(result.getStatus()).isEqualTo(FrameworkImportStatusEnum.COMPLETED);
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(BatchItemResultDto::getIndex).containsExactly(3, 4);
+        assertThat(frameworkService.getAllFrameworks()).extracting(JavaScriptFrameworkDto::getName)
+                .contains("Svelte", "Ember").hasSize(6);
+        assertThat(frameworkService.findFrameworkByName("Svelte").get().getLatestVersion()).isEqualTo("3.1.0");
+    }
+
     @Test
     @DisplayName("Trying to return all frameworks when there are none present. Should return empty Iterable")
     @Sql(scripts = "/db/delete_data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
@@ -52,6 +183,70 @@ public class IJavaScriptFrameworkServiceImplTest {
         assertThat(frameworks).isEmpty();
     }
 
+    @Test
+    @DisplayName("Paging frameworks by name. Should return every framework once in name order")
+    void testGetFrameworksPage_byName() {
+        // when
+        List<String> names = pageThrough("name").stream().map(JavaScriptFrameworkDto::getName).collect(Collectors.toList());
+
+        // then
+        assertThat(names).containsExactly("Angular", "Backbone", "React", "jQuery");
+    }
+
+    @Test
+    @DisplayName("Paging frameworks by deprecation date. Should return dated frameworks first, then the rest by id")
+    @Sql(scripts = "/db/create_data.sql", statements = {
+            "UPDATE JAVA_SCRIPT_FRAMEWORK SET DEPRECATION_DATE = '2021-01-01' WHERE ID IN (2, 4)",
+            "UPDATE JAVA_SCRIPT_FRAMEWORK SET DEPRECATION_DATE = '2020-01-01' WHERE ID = 3"})
+    @Sql(scripts = "/db/delete_data.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void testGetFrameworksPage_byDeprecationDate() {
+        // when
+        List<Long> ids = pageThrough("deprecationDate").stream().map(JavaScriptFrameworkDto::getId).collect(Collectors.toList());
+
+        // then
+        assertThat(ids).containsExactly(3L, 2L, 4L, 1L);
+    }
+
+    @Test
+    @DisplayName("Paging through frameworks by name and finding them by HypeLevel with some fields. Should read only those fields and the sort key")
+    void testListFrameworks_fields() {
+        // when
+        Set<FrameworkFieldEnum> fields = EnumSet.of(FrameworkFieldEnum.ID, FrameworkFieldEnum.HYPE_LEVEL);
+        List<JavaScriptFrameworkDto> frameworks = new ArrayList<>();
+        String cursor = null;
+        do {
+            Optional<FrameworkPageDto> page = frameworkService.getFrameworksPage("name", cursor, 3, fields);
+            frameworks.addAll(page.get().getFrameworks());
+            cursor = page.get().getNextCursor();
+        } while (cursor != null);
+        Iterable<JavaScriptFrameworkDto> sensational = frameworkService.getFrameworksByHype("SENSATIONAL", EnumSet.of(FrameworkFieldEnum.ID));
+
+        // then
+        assertThat(frameworks).extracting(JavaScriptFrameworkDto::getName).containsExactly("Angular", "Backbone", "React", "jQuery");
+        assertThat(frameworks).allSatisfy(framework -> {
+            assertThat(framework.getHypeLevel()).isNotNull();
+            assertThat(framework.getVersions()).isNull();
+            assertThat(framework.getRevision()).isNull();
+        });
+        assertThat(sensational).hasSize(2).allSatisfy(framework -> {
+            assertThat(framework.getId()).isNotNull();
+            assertThat(framework.getName()).isNull();
+            assertThat(framework.getVersions()).isNull();
+        });
+    }
+
+    private List<JavaScriptFrameworkDto> pageThrough(String sort) {
+        List<JavaScriptFrameworkDto> frameworks = new ArrayList<>();
+        String cursor = null;
+        do {
+            Optional<FrameworkPageDto> page = frameworkService.getFrameworksPage(sort, cursor, 1, null);
+            assertThat(page).isPresent();
+            frameworks.addAll(page.get().getFrameworks());
+            cursor = page.get().getNextCursor();
+        } while (cursor != null);
+        return frameworks;
+    }
+
     @Test
     @DisplayName("Finding framework by id. Should return correct JavaScriptFrameworkDto")
     void testFindFrameworkById() {
@@ -115,6 +310,96 @@ public class IJavaScriptFrameworkServiceImplTest {
         assertThat(frameworks).hasSize(4);
     }
 
+    @Test
+    @DisplayName("Saving framework with name written meanwhile past the name index. Should return empty Optional by the unique constraint")
+    void testSaveFramework_nameTakenAtFlush() {
+        // given
+        jdbcTemplate.update("INSERT INTO JAVA_SCRIPT_FRAMEWORK (ID, HYPE_LEVEL, NAME, REVISION) VALUES (1000, 'SOLID', 'Ember', 0)");
+        CreateJavaScriptFrameworkDto createFrameworkDto = CreateJavaScriptFrameworkDto.builder()
+                .name("Ember")
+                .hypeLevel(HypeLevelEnum.SENSATIONAL)
+                .versions(Set.of("3.2.0"))
+                .build();
+
+        // when
+        Optional<JavaScriptFrameworkDto> result = frameworkService.saveFramework(createFrameworkDto);
+
+        // then
+        assertThat(result).isEmpty();
+        assertThat(frameworkRepository.count()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Saving framework with long pre-release version. Should store it as the latest version")
+    void testSaveFramework_longLatestVersion() {
+        // given
+        String version = "2.0.0-" + "rc".repeat(60);
+        CreateJavaScriptFrameworkDto createFrameworkDto = CreateJavaScriptFrameworkDto.builder()
+                .name("Ember")
+                .hypeLevel(HypeLevelEnum.SENSATIONAL)
+                .versions(Set.of("1.0.0", version))
+                .build();
+
+        // when
+        Optional<JavaScriptFrameworkDto> result = frameworkService.saveFramework(createFrameworkDto);
+
+        // then
+        assertThat(result).isPresent();
+        assertThat(result.get().getLatestVersion()).isEqualTo(version);
+    }
+
+    @Test
+    @DisplayName("Saving framework with version longer than its column. Should throw the violation, the name is not taken")
+    void testSaveFramework_valueTooLong() {
+        // given
+        CreateJavaScriptFrameworkDto createFrameworkDto = CreateJavaScriptFrameworkDto.builder()
+                .name("Ember")
+                .hypeLevel(HypeLevelEnum.SENSATIONAL)
+                .versions(Set.of("1.0.0-" + "a".repeat(300)))
+                .build();
+
+        // when, then
+        assertThatThrownBy(() -> frameworkService.saveFramework(createFrameworkDto))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(frameworkRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Saving batch of frameworks. Should save valid frameworks with unique names and report the rest")
+    void testSaveFrameworks() {
+        // given
+        CreateJavaScriptFrameworkDto vue = CreateJavaScriptFrameworkDto.builder()
+                .name("VueJs")
+                .hypeLevel(HypeLevelEnum.SENSATIONAL)
+                .versions(Set.of("3.2.0", "3.2.1"))
+                .build();
+        CreateJavaScriptFrameworkDto ember = CreateJavaScriptFrameworkDto.builder()
+                .name("Ember")
+                .hypeLevel(HypeLevelEnum.SOLID)
+                .versions(Set.of("4.0.0"))
+                .build();
+        CreateJavaScriptFrameworkDto existing = CreateJavaScriptFrameworkDto.builder()
+                .name("React")
+                .hypeLevel(HypeLevelEnum.SENSATIONAL)
+                .versions(Set.of("3.2.0"))
+                .build();
+        CreateJavaScriptFrameworkDto invalid = CreateJavaScriptFrameworkDto.builder()
+                .name("Svelte")
+                .build();
+
+        // when
+        List<BatchItemResultDto> result = frameworkService.saveFrameworks(Arrays.asList(vue, existing, ember, invalid));
+        Iterable<JavaScriptFramework> frameworks = frameworkRepository.findAll();
+
+        // then
+        assertThat(result).extracting(BatchItemResultDto::getStatus).containsExactly(
+                BatchItemStatusEnum.CREATED, BatchItemStatusEnum.FAILED, BatchItemStatusEnum.CREATED, BatchItemStatusEnum.FAILED);
+        assertThat(result.get(0).getId()).isNotNull();
+        assertThat(result.get(3).getError()).contains("hypeLevel", "versions");
+        assertThat(frameworks).hasSize(6);
+        assertThat(frameworkService.findFrameworkById(result.get(0).getId()).get().getVersions()).containsOnly("3.2.0", "3.2.1");
+    }
+
     @Test
     @DisplayName("Deleting existing framework. Should return boolean true")
     void testDeleteFramework() {
@@ -163,6 +448,26 @@ public class IJavaScriptFrameworkServiceImplTest {
         assertThat(framework.get().getName()).isEqualTo(frameworkDto.getName());
     }
 
+    @Test
+    @DisplayName("Updating framework twice from the same revision. Should increment revision and reject the stale update")
+    void testUpdateFramework_staleRevision() {
+        // given
+        JavaScriptFrameworkDto frameworkDto = frameworkService.findFrameworkById(4L).get();
+        frameworkDto.setVersions(Set.of("3.1.0"));
+
+        // when
+        Optional<JavaScriptFrameworkDto> result = frameworkService.updateFramework(frameworkDto);
+        frameworkDto.setVersions(Set.of("3.2.0"));
+
+        // then
+        assertThat(result).isPresent();
+        assertThat(result.get().getRevision()).isEqualTo(frameworkDto.getRevision() + 1);
+        assertThat(result.get().getLatestVersion()).isEqualTo("3.1.0");
+        assertThatThrownBy(() -> frameworkService.updateFramework(frameworkDto))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(frameworkService.findFrameworkById(4L).get().getVersions()).containsOnly("3.1.0");
+    }
+
     @Test
     @DisplayName("Trying to update non existing framework. Should return empty Optional")
     void testUpdateFramework_frameworkNotFound() {
@@ -208,11 +513,76 @@ public class IJavaScriptFrameworkServiceImplTest {
         assertThat(framework.get().getName()).isNotEqualTo(frameworkDto.getName());
     }
 
+    @Test
+    @DisplayName("Patching versions of cached framework. Should write changed columns and changed version rows only")
+    void testPatchFramework_versions() {
+        // given
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        frameworkService.findFrameworkById(1L);
+        FrameworkPatchDto patch = new FrameworkPatchDto();
+        patch.setVersions(FrameworkPatchDto.VersionsPatch.change(Set.of("1.3.0"), Set.of("1.0.0")));
+
+        // when
+        statistics.clear();
+        Optional<JavaScriptFrameworkDto> result = frameworkService.patchFramework(1L, patch, null);
+        long statements = statistics.getPrepareStatementCount();
+
+        // then
+        assertThat(result).isPresent();
+        assertThat(result.get().getVersions()).containsOnly("1.2.0", "1.3.0");
+        assertThat(result.get().getLatestVersion()).isEqualTo("1.3.0");
+        assertThat(result.get().getName()).isEqualTo("Angular");
+        assertThat(result.get().getRevision()).isEqualTo(1L);
+        // update of latest version and revision, delete of 1.0.0, insert of 1.3.0
+        assertThat(statements).isEqualTo(3);
+        assertThat(frameworkService.findFrameworkById(1L).get().getVersions()).containsOnly("1.2.0", "1.3.0");
+    }
+
+    @Test
+    @DisplayName("Patching deprecation date and removing it again. Should keep properties missing in the patch")
+    void testPatchFramework_deprecationDate() {
+        // given
+        FrameworkPatchDto deprecate = new FrameworkPatchDto();
+        deprecate.setDeprecationDate(new Date(0));
+        FrameworkPatchDto undeprecate = new FrameworkPatchDto();
+        undeprecate.setDeprecationDate(null);
+
+        // when
+        Optional<JavaScriptFrameworkDto> deprecated = frameworkService.patchFramework(4L, deprecate, null);
+        Optional<JavaScriptFrameworkDto> undeprecated = frameworkService.patchFramework(4L, undeprecate, deprecated.get().getRevision());
+        Optional<JavaScriptFrameworkDto> unchanged = frameworkService.patchFramework(4L, new FrameworkPatchDto(), null);
+
+        // then
+        assertThat(deprecated.get().getDeprecationDate()).isEqualTo(new Date(0));
+        assertThat(undeprecated.get().getDeprecationDate()).isNull();
+        assertThat(undeprecated.get().getName()).isEqualTo("Backbone");
+        assertThat(undeprecated.get().getVersions()).containsOnly("3.0.0");
+        assertThat(undeprecated.get().getHypeLevel()).isEqualTo(HypeLevelEnum.SENSATIONAL);
+        assertThat(unchanged.get().getRevision()).isEqualTo(undeprecated.get().getRevision());
+        assertThatThrownBy(() -> frameworkService.patchFramework(4L, deprecate, deprecated.get().getRevision()))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    @DisplayName("Patching framework to name of another framework. Should return empty Optional")
+    void testPatchFramework_frameworkNameAlreadyExists() {
+        // given
+        FrameworkPatchDto patch = new FrameworkPatchDto();
+        patch.setName("React");
+
+        // when
+        Optional<JavaScriptFrameworkDto> result = frameworkService.patchFramework(4L, patch, null);
+
+        // then
+        assertThat(result).isEmpty();
+        assertThat(frameworkService.findFrameworkById(4L).get().getName()).isEqualTo("Backbone");
+    }
+
     @Test
     @DisplayName("Finding frameworks by HypeLevel. Should return correct collection of JavaScriptFrameworkDtos")
     void testGetFrameworksByHype() {
         // when
-        Iterable<JavaScriptFrameworkDto> frameworks = frameworkService.getFrameworksByHype("SENSATIONAL");
+        Iterable<JavaScriptFrameworkDto> frameworks = frameworkService.getFrameworksByHype("SENSATIONAL", null);
 
         // then
         assertThat(frameworks).isNotNull();
@@ -223,10 +593,264 @@ public class IJavaScriptFrameworkServiceImplTest {
     @DisplayName("Trying to find frameworks by HypeLevel when there are none. Should return empty Iterable")
     void testGetFrameworksByHype_NoFrameworksFound() {
         // when
-        Iterable<JavaScriptFrameworkDto> frameworks = frameworkService.getFrameworksByHype("GOOD");
+        Iterable<JavaScriptFrameworkDto> frameworks = frameworkService.getFrameworksByHype("GOOD", null);
 
         // then
         assertThat(frameworks).isNotNull();
         assertThat(frameworks).isEmpty();
     }
+
+    @Test
+    @DisplayName("Finding framework by id repeatedly. Should be served from second level cache")
+    void testFindFrameworkById_cached() {
+        // given
+        frameworkService.findFrameworkById(3L);
+        CacheStatisticsDto before = cacheStatisticsService.getStatistics();
+
+        // when
+        Optional<JavaScriptFrameworkDto> framework = frameworkService.findFrameworkById(3L);
+        CacheStatisticsDto after = cacheStatisticsService.getStatistics();
+
+        // then
+        assertThat(framework).isPresent();
+        assertThat(after.getHitCount()).isGreaterThan(before.getHitCount());
+    }
+
+    @Test
+    @DisplayName("Finding framework by deleted name written again around the service. Should find it in the database")
+    void testFindFrameworkByName_writtenAroundIndex() {
+        // given
+        frameworkService.deleteFramework(2L);
+        jdbcTemplate.update("INSERT INTO JAVA_SCRIPT_FRAMEWORK (ID, HYPE_LEVEL, NAME, REVISION) VALUES (1000, 'SOLID', 'React', 0)");
+
+        // when
+        Optional<JavaScriptFrameworkDto> react = frameworkService.findFrameworkByName("React");
+
+        // then
+        assertThat(react).isPresent();
+        assertThat(react.get().getId()).isEqualTo(1000L);
+    }
+
+    @Test
+    @DisplayName("Finding frameworks by name and saving a taken name with cached framework. Should not run any statement")
+    void testFindFrameworkByName() {
+        // given
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        frameworkService.findFrameworkById(2L);
+
+        // when
+        statistics.clear();
+        Optional<JavaScriptFrameworkDto> react = frameworkService.findFrameworkByName("React");
+        Optional<JavaScriptFrameworkDto> unknown = frameworkService.findFrameworkByName("react");
+        Optional<JavaScriptFrameworkDto> duplicate = frameworkService.saveFramework(CreateJavaScriptFrameworkDto.builder()
+                .name("React")
+                .hypeLevel(HypeLevelEnum.SENSATIONAL)
+                .versions(Set.of("3.2.0"))
+                .build());
+
+        // then
+        assertThat(react).isPresent();
+        assertThat(react.get().getId()).isEqualTo(2L);
+        assertThat(unknown).isEmpty();
+        assertThat(duplicate).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Finding frameworks by HypeLevel and cached framework by id after writes. Should not return stale results")
+    void testGetFrameworksByHype_cacheInvalidatedOnSave() {
+        // given
+        frameworkService.getFrameworksByHype("SENSATIONAL", null);
+        JavaScriptFrameworkDto react = frameworkService.findFrameworkById(2L).get();
+        react.setVersions(Set.of("3.0.0", "18.0.0"));
+
+        // when
+        frameworkService.saveFramework(CreateJavaScriptFrameworkDto.builder()
+                .name("VueJs")
+                .hypeLevel(HypeLevelEnum.SENSATIONAL)
+                .versions(Set.of("3.2.0"))
+                .build());
+        frameworkService.updateFramework(react);
+        Iterable<JavaScriptFrameworkDto> sensational = frameworkService.getFrameworksByHype("SENSATIONAL", null);
+
+        // then
+        assertThat(sensational).extracting(JavaScriptFrameworkDto::getName).containsExactlyInAnyOrder("React", "Backbone", "VueJs");
+        assertThat(frameworkService.findFrameworkById(2L).get().getLatestVersion()).isEqualTo("18.0.0");
+    }
+
+    @Test
+    @DisplayName("Searching frameworks after rebuild and writes through the service. Should find committed changes")
+    void testSearchFrameworks_followsWrites() {
+        // given
+        searchService.rebuildIndex();
+        FrameworkSearchCriteriaDto byVersion = FrameworkSearchCriteriaDto.builder().version("3.0.0").build();
+
+        // when
+        List<JavaScriptFrameworkDto> before = searchService.searchFrameworks(byVersion).get();
+        frameworkService.deleteFramework(2L);
+        frameworkService.saveFramework(CreateJavaScriptFrameworkDto.builder()
+                .name("Svelte")
+                .hypeLevel(HypeLevelEnum.GREAT)
+                .versions(Set.of("3.0.0"))
+                .build());
+        List<JavaScriptFrameworkDto> after = searchService.searchFrameworks(byVersion).get();
+
+        // then
+        assertThat(before).extracting(JavaScriptFrameworkDto::getName).containsExactly("React", "Backbone");
+        assertThat(after).extracting(JavaScriptFrameworkDto::getName).containsExactly("Backbone", "Svelte");
+    }
+
+    @Test
+    @DisplayName("Saving and updating versions of framework. Should recompute latest version on every write")
+    void testLatestVersion() {
+        // when
+        JavaScriptFrameworkDto saved = frameworkService.saveFramework(CreateJavaScriptFrameworkDto.builder()
+                .name("Svelte")
+                .hypeLevel(HypeLevelEnum.GREAT)
+                .versions(Set.of("3.9.0", "3.10.0", ".2.1"))
+                .build()).get();
+        saved.setVersions(Set.of("\"3.2.0", "4.0.0-next.1"));
+        JavaScriptFrameworkDto updated = frameworkService.updateFramework(saved).get();
+        String updatedLatestVersion = updated.getLatestVersion();
+        updated.setVersions(Set.of(".2.1"));
+        frameworkService.updateFramework(updated);
+
+        // then
+        assertThat(saved.getLatestVersion()).isEqualTo("3.10.0");
+        assertThat(updatedLatestVersion).isEqualTo("4.0.0-next.1");
+        assertThat(frameworkService.findFrameworkById(saved.getId()).get().getLatestVersion()).isNull();
+        assertThat(frameworkService.getAllFrameworks()).extracting(JavaScriptFrameworkDto::getLatestVersion)
+                .containsExactly("1.2.0", "3.0.0", null, "3.0.0", null);
+    }
+
+    @Test
+    @DisplayName("Getting frameworks deprecating in date range. Should return only frameworks in the inclusive range ordered by date")
+    void testGetFrameworksDeprecating() {
+        // given
+        for (int year = 2019; year <= 2023; year++) {
+            frameworkService.saveFramework(CreateJavaScriptFrameworkDto.builder()
+                    .name("Deprecated" + year)
+                    .hypeLevel(HypeLevelEnum.LETDOWN)
+                    .versions(Set.of("1.0.0"))
+                    .deprecationDate(new Calendar.Builder().setDate(2023 + 2019 - year, 5, 1).build().getTime())
+                    .build());
+        }
+
+        // when
+        Optional<List<JavaScriptFrameworkDto>> result = frameworkService.getFrameworksDeprecating(
+                new Calendar.Builder().setDate(2020, 5, 1).build().getTime(),
+                new Calendar.Builder().setDate(2022, 5, 1).build().getTime(), null);
+
+        // then
+        assertThat(result).isPresent();
+        assertThat(result.get()).extracting(JavaScriptFrameworkDto::getName)
+                .containsExactly("Deprecated2022", "Deprecated2021", "Deprecated2020");
+    }
+
+    @Test
+    @DisplayName("Getting statistics after reconciliation and writes through the service. Should count committed changes")
+    void testStatistics_followWrites() {
+        // given
+        statisticsService.reconcile();
+        FrameworkStatisticsDto before = statisticsService.getStatistics();
+
+        // when
+        frameworkService.deleteFramework(1L);
+        frameworkService.saveFramework(CreateJavaScriptFrameworkDto.builder()
+                .name("Svelte")
+                .hypeLevel(HypeLevelEnum.GREAT)
+                .versions(Set.of("3.0.0", "3.1.0", "3.2.0"))
+                .deprecationDate(new Calendar.Builder().setDate(2020, 0, 1).build().getTime())
+                .build());
+        FrameworkStatisticsDto after = statisticsService.getStatistics();
+        statisticsService.reconcile();
+
+        // then
+        assertThat(before.getTotal()).isEqualTo(4);
+        assertThat(before.getHypeLevels()).containsEntry(HypeLevelEnum.SENSATIONAL, 2L).containsEntry(HypeLevelEnum.SOLID, 1L);
+        assertThat(before.getVersionCounts()).isEqualTo(Map.of(1, 2L, 2, 2L));
+        assertThat(after.getTotal()).isEqualTo(4);
+        assertThat(after.getHypeLevels()).containsEntry(HypeLevelEnum.GREAT, 1L).containsEntry(HypeLevelEnum.SOLID, 0L);
+        assertThat(after.getDeprecated()).isEqualTo(1);
+        assertThat(after.getVersionCounts()).isEqualTo(Map.of(1, 2L, 2, 1L, 3, 1L));
+        FrameworkStatisticsDto reconciled = statisticsService.getStatistics();
+        assertThat(reconciled.getHypeLevels()).isEqualTo(after.getHypeLevels());
+        assertThat(reconciled.getVersionCounts()).isEqualTo(after.getVersionCounts());
+    }
+
+    @Test
+    @DisplayName("Creating the same names from many threads at once. Should create every name once and report the rest as taken")
+    void testSaveFramework_concurrent() throws Exception {
+        // given
+        int threads = 8;
+        int names = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Long>> created = new ArrayList<>();
+
+        // when
+        for (int thread = 0; thread < threads; thread++) {
+            created.add(executor.submit(() -> {
+                long count = 0;
+                for (int i = 0; i < names; i++) {
+                    count += frameworkService.saveFramework(CreateJavaScriptFrameworkDto.builder()
+                            .name("Concurrent-" + i)
+                            .hypeLevel(HypeLevelEnum.SOLID)
+                            .versions(Set.of("1.0.0"))
+                            .build()).isPresent() ? 1 : 0;
+                }
+                return count;
+            }));
+        }
+        long total = 0;
+        for (Future<Long> count : created) {
+            total += count.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(total).isEqualTo(names);
+        assertThat(frameworkRepository.count()).isEqualTo(4 + names);
+    }
+
+    @Test
+    @DisplayName("Adding versions to one framework from many threads, rereading it on conflict. Should lose no update")
+    void testUpdateFramework_concurrent() throws Exception {
+        // given
+        int threads = 8;
+        int updates = 10;
+        long revision = frameworkService.findFrameworkById(1L).get().getRevision();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> done = new ArrayList<>();
+
+        // when
+        for (int thread = 0; thread < threads; thread++) {
+            int major = thread;
+            done.add(executor.submit(() -> {
+                for (int i = 0; i < updates; i++) {
+                    while (true) {
+                        JavaScriptFrameworkDto framework = frameworkService.findFrameworkById(1L).get();
+                        Set<String> versions = new HashSet<>(framework.getVersions());
+                        versions.add((10 + major) + "." + i + ".0");
+                        framework.setVersions(versions);
+                        try {
+                            frameworkService.updateFramework(framework);
+                            break;
+                        } catch (OptimisticLockingFailureException e) {
+                            // reread and apply the change again
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : done) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        // then
+        JavaScriptFrameworkDto framework = frameworkService.findFrameworkById(1L).get();
+        assertThat(framework.getVersions()).hasSize(2 + threads * updates);
+        assertThat(framework.getRevision()).isEqualTo(revision + threads * updates);
+    }
 }
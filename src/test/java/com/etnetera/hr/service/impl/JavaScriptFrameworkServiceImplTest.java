@@ -1,21 +1,47 @@
 package com.etnetera.hr.service.impl;
 
+import com.etnetera.hr.config.FrameworkProperties;
+import com.etnetera.hr.domain.FrameworkSortEnum;
 import com.etnetera.hr.domain.HypeLevelEnum;
 import com.etnetera.hr.domain.JavaScriptFramework;
+import com.etnetera.hr.dto.BatchItemResultDto;
+import com.etnetera.hr.dto.BatchItemStatusEnum;
 import com.etnetera.hr.dto.CreateJavaScriptFrameworkDto;
+import com.etnetera.hr.dto.FrameworkFieldEnum;
+import com.etnetera.hr.dto.FrameworkPageDto;
+import com.etnetera.hr.dto.FrameworkPatchDto;
 import com.etnetera.hr.dto.JavaScriptFrameworkDto;
+import com.etnetera.hr.event.ChangeTypeEnum;
+import com.etnetera.hr.event.FrameworkChangedEvent;
 import com.etnetera.hr.mapper.FrameworkMapper;
+import com.etnetera.hr.repository.FrameworkQueryRepository;
 import com.etnetera.hr.repository.JavaScriptFrameworkRepository;
+import com.etnetera.hr.service.FrameworkNameService;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
-
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.validation.Validator;
+import java.sql.SQLException;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -27,7 +53,21 @@ public class JavaScriptFrameworkServiceImplTest {
     @Mock
     private JavaScriptFrameworkRepository frameworkRepository;
     @Mock
+    private FrameworkQueryRepository frameworkQueryRepository;
+    @Mock
     private FrameworkMapper frameworkMapper;
+    @Spy
+    private FrameworkProperties properties = new FrameworkProperties();
+    @Mock
+    private Validator validator;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private FrameworkNameService frameworkNameService;
 
     private JavaScriptFramework framework1;
     private JavaScriptFramework framework2;
@@ -37,6 +77,8 @@ public class JavaScriptFrameworkServiceImplTest {
     @BeforeEach
     public void setUp() {
         initMocks(this);
+        Mockito.when(transactionTemplate.execute(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
 
         framework1 = JavaScriptFramework.builder()
                 .name("jQuery")
@@ -67,33 +109,108 @@ public class JavaScriptFrameworkServiceImplTest {
     @Test
     @DisplayName("Returning all frameworks. Should return all JavaScript frameworks dtos")
     void testGetAllFrameworks() {
-        Iterable<JavaScriptFramework> frameworks = Arrays.asList(framework1, framework2);
-        Mockito.when(frameworkRepository.findAll()).thenReturn(frameworks);
-        Mockito.when(frameworkMapper.entityToDto(Mockito.any(JavaScriptFramework.class))).thenReturn(frameworkDto);
+        Mockito.when(frameworkQueryRepository.findAll()).thenReturn(Arrays.asList(frameworkDto, frameworkDto));
 
         Iterable<JavaScriptFrameworkDto> result = frameworkService.getAllFrameworks();
 
-        assertThat(result).hasSameSizeAs(frameworks);
         assertThat(result).hasSize(2);
         assertThat(result).contains(frameworkDto);
-        verify(frameworkMapper, times(2)).entityToDto(Mockito.any(JavaScriptFramework.class));
-        verify(frameworkRepository, times(1)).findAll();
+        verify(frameworkQueryRepository, times(1)).findAll();
+        verify(frameworkMapper, times(0)).entityToDto(Mockito.any(JavaScriptFramework.class));
+        verify(frameworkRepository, times(0)).findAll();
+    }
+
+    @Test
+    @DisplayName("Exporting all frameworks. Should pass every framework to consumer and detach it afterwards")
+    void testExportFrameworks() {
+        JavaScriptFrameworkDto frameworkDto2 = JavaScriptFrameworkDto.builder().id(2L).name("Backbone").build();
+        framework1.setId(1L);
+        framework2.setId(2L);
+        Session session = Mockito.mock(Session.class);
+        Mockito.when(entityManager.unwrap(Session.class)).thenReturn(session);
+        Mockito.when(frameworkRepository.streamAllOrderById()).thenReturn(Stream.of(framework1, framework2));
+        Mockito.when(frameworkMapper.entityToDto(framework1)).thenReturn(frameworkDto);
+        Mockito.when(frameworkMapper.entityToDto(framework2)).thenReturn(frameworkDto2);
+        List<JavaScriptFrameworkDto> exported = new ArrayList<>();
+
+        long result = frameworkService.exportFrameworks(exported::add);
+
+        assertThat(result).isEqualTo(2);
+        assertThat(exported).containsExactly(frameworkDto, frameworkDto2);
+        verify(entityManager, times(1)).detach(framework1);
+        verify(entityManager, times(1)).detach(framework2);
+        verify(session, times(1)).setCacheMode(CacheMode.IGNORE);
     }
 
     @Test
     @DisplayName("Trying to return all frameworks when there are none present. Should return empty Iterable")
     void testGetAllFrameworks_noFrameworksFound() {
-        Iterable<JavaScriptFramework> frameworks = new ArrayList<>();
-        Mockito.when(frameworkRepository.findAll()).thenReturn(frameworks);
-        Mockito.when(frameworkMapper.entityToDto(Mockito.any(JavaScriptFramework.class))).thenReturn(frameworkDto);
+        Mockito.when(frameworkQueryRepository.findAll()).thenReturn(new ArrayList<>());
 
         Iterable<JavaScriptFrameworkDto> result = frameworkService.getAllFrameworks();
 
-        assertThat(result).hasSameSizeAs(frameworks);
         assertThat(result).hasSize(0);
-        assertThat(result).doesNotContain(frameworkDto);
-        verify(frameworkMapper, times(0)).entityToDto(Mockito.any(JavaScriptFramework.class));
-        verify(frameworkRepository, times(1)).findAll();
+        verify(frameworkQueryRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Returning first page of frameworks. Should return page with continuation token")
+    void testGetFrameworksPage() {
+        JavaScriptFrameworkDto nextFrameworkDto = JavaScriptFrameworkDto.builder().id(2L).build();
+        Mockito.when(frameworkQueryRepository.findPageById(null, 2, EnumSet.allOf(FrameworkFieldEnum.class))).thenReturn(Arrays.asList(frameworkDto, nextFrameworkDto));
+
+        Optional<FrameworkPageDto> result = frameworkService.getFrameworksPage("id", null, 1, null);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getFrameworks()).containsExactly(frameworkDto);
+        assertThat(result.get().getNextCursor()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Returning page after continuation token. Should continue after the last framework of previous page")
+    void testGetFrameworksPage_afterCursor() {
+        String cursor = FrameworkCursor.after(FrameworkSortEnum.NAME, frameworkDto).encode();
+        Mockito.when(frameworkQueryRepository.findPageByName("VueJs", 51, EnumSet.allOf(FrameworkFieldEnum.class))).thenReturn(Collections.singletonList(frameworkDto));
+
+        Optional<FrameworkPageDto> result = frameworkService.getFrameworksPage("name", cursor, null, null);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getFrameworks()).hasSize(1);
+        assertThat(result.get().getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Returning page with page size over the limit. Should cap page size")
+    void testGetFrameworksPage_pageSizeCapped() {
+        frameworkService.getFrameworksPage("id", null, 100000, null);
+
+        verify(frameworkQueryRepository, times(1)).findPageById(null, 501, EnumSet.allOf(FrameworkFieldEnum.class));
+    }
+
+    @Test
+    @DisplayName("Returning page with invalid continuation token or sort key. Should return empty Optional")
+    void testGetFrameworksPage_invalidParams() {
+        String nameCursor = FrameworkCursor.after(FrameworkSortEnum.NAME, frameworkDto).encode();
+
+        assertThat(frameworkService.getFrameworksPage("id", "not a token", null, null)).isEmpty();
+        assertThat(frameworkService.getFrameworksPage("id", nameCursor, null, null)).isEmpty();
+        assertThat(frameworkService.getFrameworksPage("version", null, null, null)).isEmpty();
+        assertThat(frameworkService.getFrameworksPage("id", null, 0, null)).isEmpty();
+        Mockito.verifyZeroInteractions(frameworkQueryRepository);
+    }
+
+    @Test
+    @DisplayName("Returning page of some fields ordered by name. Should read the fields with the name for continuation token")
+    void testGetFrameworksPage_fields() {
+        JavaScriptFrameworkDto nextFrameworkDto = JavaScriptFrameworkDto.builder().id(2L).name("Wicket").build();
+        Mockito.when(frameworkQueryRepository.findPageByName(null, 2, EnumSet.of(FrameworkFieldEnum.ID, FrameworkFieldEnum.NAME)))
+                .thenReturn(Arrays.asList(frameworkDto, nextFrameworkDto));
+
+        Optional<FrameworkPageDto> result = frameworkService.getFrameworksPage("name", null, 1, EnumSet.of(FrameworkFieldEnum.ID));
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getNextCursor()).isNotNull();
+        verify(frameworkQueryRepository, times(1)).findPageByName(null, 2, EnumSet.of(FrameworkFieldEnum.ID, FrameworkFieldEnum.NAME));
     }
 
     @Test
@@ -127,16 +244,15 @@ public class JavaScriptFrameworkServiceImplTest {
     void testSaveFramework() {
         Mockito.when(frameworkMapper.createDtoToEntity(createFrameworkDto)).thenReturn(framework1);
         Mockito.when(frameworkMapper.entityToDto(framework1)).thenReturn(frameworkDto);
-        Mockito.when(frameworkRepository.save(framework1)).thenReturn(framework1);
-        Mockito.when(frameworkRepository.findByName(createFrameworkDto.getName())).thenReturn(Optional.empty());
+        Mockito.when(frameworkRepository.saveAndFlush(framework1)).thenReturn(framework1);
 
         Optional<JavaScriptFrameworkDto> result = frameworkService.saveFramework(createFrameworkDto);
 
         assertThat(result).isPresent();
         verify(frameworkMapper, times(1)).entityToDto(framework1);
         verify(frameworkMapper, times(1)).createDtoToEntity(createFrameworkDto);
-        verify(frameworkRepository, times(1)).save(framework1);
-        verify(frameworkRepository, times(1)).findByName(createFrameworkDto.getName());
+        verify(frameworkRepository, times(1)).saveAndFlush(framework1);
+        verify(eventPublisher, times(1)).publishEvent(Mockito.any(FrameworkChangedEvent.class));
     }
 
     @Test
@@ -144,28 +260,112 @@ public class JavaScriptFrameworkServiceImplTest {
     void testSaveFramework_existingName() {
         Mockito.when(frameworkMapper.createDtoToEntity(createFrameworkDto)).thenReturn(framework1);
         Mockito.when(frameworkMapper.entityToDto(framework1)).thenReturn(frameworkDto);
-        Mockito.when(frameworkRepository.save(framework1)).thenReturn(framework1);
-        Mockito.when(frameworkRepository.findByName(createFrameworkDto.getName())).thenReturn(Optional.of(framework2));
+        Mockito.when(frameworkRepository.saveAndFlush(framework1)).thenThrow(nameTaken());
 
         Optional<JavaScriptFrameworkDto> result = frameworkService.saveFramework(createFrameworkDto);
 
         assertThat(result).isEmpty();
         verify(frameworkMapper, times(0)).entityToDto(framework1);
-        verify(frameworkMapper, times(0)).createDtoToEntity(createFrameworkDto);
-        verify(frameworkRepository, times(0)).save(framework1);
-        verify(frameworkRepository, times(1)).findByName(createFrameworkDto.getName());
+        verify(frameworkRepository, times(1)).saveAndFlush(framework1);
+        verify(eventPublisher, times(0)).publishEvent(Mockito.any(FrameworkChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Saving framework violating another constraint than the unique name. Should throw the violation")
+    void testSaveFramework_otherViolation() {
+        Mockito.when(frameworkMapper.createDtoToEntity(createFrameworkDto)).thenReturn(framework1);
+        Mockito.when(frameworkRepository.saveAndFlush(framework1)).thenThrow(new DataIntegrityViolationException("Value too long for column",
+                new ConstraintViolationException("Value too long for column", new SQLException("Value too long for column", "22001"), null)));
+
+        assertThatThrownBy(() -> frameworkService.saveFramework(createFrameworkDto)).isInstanceOf(DataIntegrityViolationException.class);
+        verify(eventPublisher, times(0)).publishEvent(Mockito.any(FrameworkChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Trying to save framework with name known to the name index. Should return empty Optional without writing")
+    void testSaveFramework_nameInIndex() {
+        Mockito.when(frameworkNameService.findIdByName(createFrameworkDto.getName())).thenReturn(Optional.of(2L));
+
+        Optional<JavaScriptFrameworkDto> result = frameworkService.saveFramework(createFrameworkDto);
+
+        assertThat(result).isEmpty();
+        verify(transactionTemplate, times(0)).execute(Mockito.any());
+        verify(frameworkRepository, times(0)).saveAndFlush(Mockito.any(JavaScriptFramework.class));
+    }
+
+    @Test
+    @DisplayName("Finding framework by name. Should look up its id in the name index and return the framework")
+    void testFindFrameworkByName() {
+        Mockito.when(frameworkNameService.findIdByName("jQuery")).thenReturn(Optional.of(1L));
+        Mockito.when(frameworkRepository.findById(1L)).thenReturn(Optional.of(framework1));
+        Mockito.when(frameworkMapper.entityToDto(framework1)).thenReturn(frameworkDto);
+
+        assertThat(frameworkService.findFrameworkByName("jQuery")).contains(frameworkDto);
+        assertThat(frameworkService.findFrameworkByName("jquery")).isEmpty();
+        verify(frameworkRepository, times(1)).findById(Mockito.anyLong());
+    }
+
+    @Test
+    @DisplayName("Saving batch of frameworks. Should check names with one query and report every item")
+    void testSaveFrameworks() {
+        CreateJavaScriptFrameworkDto existing = CreateJavaScriptFrameworkDto.builder().name("Backbone").build();
+        CreateJavaScriptFrameworkDto duplicate = CreateJavaScriptFrameworkDto.builder().name("VueJs").build();
+        Mockito.when(frameworkRepository.findExistingNames(Set.of("VueJs", "Backbone"))).thenReturn(Set.of("Backbone"));
+        Mockito.when(frameworkMapper.createDtoToEntity(createFrameworkDto)).thenReturn(framework1);
+        Mockito.when(frameworkMapper.entityToDto(framework1)).thenReturn(frameworkDto);
+
+        List<BatchItemResultDto> result = frameworkService.saveFrameworks(Arrays.asList(createFrameworkDto, existing, duplicate));
+
+        assertThat(result).hasSize(3);
+        assertThat(result).extracting(BatchItemResultDto::getStatus)
+                .containsExactly(BatchItemStatusEnum.CREATED, BatchItemStatusEnum.FAILED, BatchItemStatusEnum.FAILED);
+        verify(frameworkRepository, times(1)).findExistingNames(Mockito.anyCollection());
+        verify(frameworkRepository, times(1)).saveAll(Mockito.argThat(frameworks -> frameworks.iterator().next() == framework1));
+    }
+
+    @Test
+    @DisplayName("Saving batch with null item. Should report the item as failed and save the rest")
+    void testSaveFrameworks_nullItem() {
+        Mockito.when(frameworkRepository.findExistingNames(Set.of("VueJs"))).thenReturn(Set.of());
+        Mockito.when(frameworkMapper.createDtoToEntity(createFrameworkDto)).thenReturn(framework1);
+        Mockito.when(frameworkMapper.entityToDto(framework1)).thenReturn(frameworkDto);
+
+        List<BatchItemResultDto> result = frameworkService.saveFrameworks(Arrays.asList(null, createFrameworkDto));
+
+        assertThat(result).extracting(BatchItemResultDto::getStatus)
+                .containsExactly(BatchItemStatusEnum.FAILED, BatchItemStatusEnum.CREATED);
+        assertThat(result.get(0).getError()).isEqualTo("framework must not be null");
+        verify(validator, times(1)).validate(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Saving batch while a concurrent write takes one of its names. Should write the batch again and report the name as taken")
+    void testSaveFrameworks_nameTakenAtCommit() {
+        Mockito.when(frameworkRepository.findExistingNames(Set.of("VueJs")))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of("VueJs"));
+        Mockito.when(frameworkMapper.createDtoToEntity(createFrameworkDto)).thenReturn(framework1);
+        Mockito.when(frameworkRepository.saveAll(Mockito.anyCollection())).thenThrow(nameTaken()).thenReturn(List.of());
+
+        List<BatchItemResultDto> result = frameworkService.saveFrameworks(List.of(createFrameworkDto));
+
+        assertThat(result).extracting(BatchItemResultDto::getStatus).containsExactly(BatchItemStatusEnum.FAILED);
+        verify(frameworkRepository, times(2)).findExistingNames(Mockito.anyCollection());
+        verify(transactionTemplate, times(2)).execute(Mockito.any());
     }
 
     @Test
     @DisplayName("Deleting existing framework. Should return boolean true")
     void testDeleteFramework() {
         Mockito.when(frameworkRepository.findById(1L)).thenReturn(Optional.of(framework1));
+        Mockito.when(frameworkMapper.entityToDto(framework1)).thenReturn(frameworkDto);
 
         boolean result = frameworkService.deleteFramework(1L);
 
         assertThat(result).isTrue();
         verify(frameworkRepository, times(1)).findById(1L);
         verify(frameworkRepository, times(1)).delete(framework1);
+        verify(eventPublisher, times(1)).publishEvent(Mockito.<FrameworkChangedEvent>argThat(event -> event.getType() == ChangeTypeEnum.DELETED));
     }
 
     @Test
@@ -185,77 +385,178 @@ public class JavaScriptFrameworkServiceImplTest {
     void testUpdateFramework() {
         Mockito.when(frameworkRepository.findById(frameworkDto.getId())).thenReturn(Optional.of(framework1));
         Mockito.when(frameworkMapper.entityToDto(framework1)).thenReturn(frameworkDto);
-        Mockito.when(frameworkRepository.save(framework1)).thenReturn(framework1);
-        Mockito.when(frameworkRepository.findByName(createFrameworkDto.getName())).thenReturn(Optional.empty());
+        Mockito.when(frameworkRepository.saveAndFlush(framework1)).thenReturn(framework1);
 
         Optional<JavaScriptFrameworkDto> result = frameworkService.updateFramework(frameworkDto);
 
         assertThat(result).isPresent();
         verify(frameworkRepository, times(1)).findById(frameworkDto.getId());
-        verify(frameworkRepository, times(1)).save(framework1);
-        verify(frameworkMapper, times(1)).entityToDto(framework1);
-        verify(frameworkRepository, times(1)).findByName(frameworkDto.getName());
+        verify(frameworkRepository, times(1)).saveAndFlush(framework1);
+        verify(frameworkMapper, times(2)).entityToDto(framework1);
+        verify(eventPublisher, times(1)).publishEvent(Mockito.<FrameworkChangedEvent>argThat(event -> event.getType() == ChangeTypeEnum.UPDATED));
+    }
+
+    @Test
+    @DisplayName("Trying to update framework changed since its revision. Should throw optimistic locking failure")
+    void testUpdateFramework_revisionChanged() {
+        framework1.setRevision(2L);
+        frameworkDto.setRevision(1L);
+        Mockito.when(frameworkRepository.findById(frameworkDto.getId())).thenReturn(Optional.of(framework1));
+
+        assertThatThrownBy(() -> frameworkService.updateFramework(frameworkDto))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verify(frameworkRepository, times(0)).saveAndFlush(framework1);
+        verify(eventPublisher, times(0)).publishEvent(Mockito.any(FrameworkChangedEvent.class));
     }
 
     @Test
     @DisplayName("Trying to update non existing framework. Should return empty Optional")
     void testUpdateFramework_frameworkNotFound() {
         Mockito.when(frameworkRepository.findById(frameworkDto.getId())).thenReturn(Optional.empty());
-        Mockito.when(frameworkRepository.findByName(createFrameworkDto.getName())).thenReturn(Optional.empty());
 
         Optional<JavaScriptFrameworkDto> result = frameworkService.updateFramework(frameworkDto);
 
         assertThat(result).isEmpty();
         verify(frameworkRepository, times(1)).findById(frameworkDto.getId());
-        verify(frameworkRepository, times(0)).save(framework1);
+        verify(frameworkRepository, times(0)).saveAndFlush(Mockito.any(JavaScriptFramework.class));
         verify(frameworkMapper, times(0)).entityToDto(framework1);
-        verify(frameworkRepository, times(1)).findByName(frameworkDto.getName());
     }
 
     @Test
     @DisplayName("Trying to update framework with name that already exists. Should return empty Optional")
     void testUpdateFramework_frameworkNameAlreadyExists() {
-        Mockito.when(frameworkRepository.findById(frameworkDto.getId())).thenReturn(Optional.empty());
-        Mockito.when(frameworkRepository.findByName(createFrameworkDto.getName())).thenReturn(Optional.of(framework2));
+        Mockito.when(frameworkRepository.findById(frameworkDto.getId())).thenReturn(Optional.of(framework1));
+        Mockito.when(frameworkRepository.saveAndFlush(framework1)).thenThrow(nameTaken());
 
         Optional<JavaScriptFrameworkDto> result = frameworkService.updateFramework(frameworkDto);
 
         assertThat(result).isEmpty();
-        verify(frameworkRepository, times(1)).findById(frameworkDto.getId());
-        verify(frameworkRepository, times(0)).save(framework1);
-        verify(frameworkMapper, times(0)).entityToDto(framework1);
-        verify(frameworkRepository, times(1)).findByName(frameworkDto.getName());
+        verify(frameworkRepository, times(1)).saveAndFlush(framework1);
+        verify(eventPublisher, times(0)).publishEvent(Mockito.any(FrameworkChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Trying to update framework to name of another framework known to the name index. Should return empty Optional without writing")
+    void testUpdateFramework_nameInIndex() {
+        Mockito.when(frameworkNameService.findIdByName(frameworkDto.getName())).thenReturn(Optional.of(2L));
+
+        Optional<JavaScriptFrameworkDto> result = frameworkService.updateFramework(frameworkDto);
+
+        assertThat(result).isEmpty();
+        verify(frameworkRepository, times(0)).findById(Mockito.anyLong());
+        verify(frameworkRepository, times(0)).saveAndFlush(Mockito.any(JavaScriptFramework.class));
+    }
+
+    @Test
+    @DisplayName("Updating framework without revision while concurrent writes win. Should retry up to max attempts")
+    void testUpdateFramework_concurrentWrite() {
+        Mockito.when(frameworkRepository.findById(frameworkDto.getId())).thenReturn(Optional.of(framework1));
+        Mockito.when(frameworkMapper.entityToDto(framework1)).thenReturn(frameworkDto);
+        Mockito.when(frameworkRepository.saveAndFlush(framework1))
+                .thenThrow(new ObjectOptimisticLockingFailureException(JavaScriptFramework.class, 1L))
+                .thenReturn(framework1);
+
+        Optional<JavaScriptFrameworkDto> result = frameworkService.updateFramework(frameworkDto);
+
+        assertThat(result).isPresent();
+        verify(frameworkRepository, times(2)).findById(frameworkDto.getId());
+        verify(eventPublisher, times(1)).publishEvent(Mockito.any(FrameworkChangedEvent.class));
+
+        Mockito.when(frameworkRepository.saveAndFlush(framework1)).thenThrow(new PessimisticLockingFailureException("Timeout trying to lock table"));
+        assertThatThrownBy(() -> frameworkService.updateFramework(frameworkDto)).isInstanceOf(PessimisticLockingFailureException.class);
+        verify(frameworkRepository, times(2 + properties.getWrite().getMaxAttempts())).findById(frameworkDto.getId());
+    }
+
+    @Test
+    @DisplayName("Updating framework with revision while concurrent write wins. Should throw without retry")
+    void testUpdateFramework_concurrentWriteWithRevision() {
+        frameworkDto.setRevision(0L);
+        Mockito.when(frameworkRepository.findById(frameworkDto.getId())).thenReturn(Optional.of(framework1));
+        Mockito.when(frameworkRepository.saveAndFlush(framework1)).thenThrow(new ObjectOptimisticLockingFailureException(JavaScriptFramework.class, 1L));
+
+        assertThatThrownBy(() -> frameworkService.updateFramework(frameworkDto))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verify(frameworkRepository, times(1)).saveAndFlush(framework1);
+    }
+
+    @Test
+    @DisplayName("Patching framework to name of another framework known to the name index. Should return empty Optional without writing")
+    void testPatchFramework_nameInIndex() {
+        FrameworkPatchDto patch = new FrameworkPatchDto();
+        patch.setName("React");
+        Mockito.when(frameworkNameService.findIdByName("React")).thenReturn(Optional.of(2L));
+
+        Optional<JavaScriptFrameworkDto> result = frameworkService.patchFramework(1L, patch, null);
+
+        assertThat(result).isEmpty();
+        verify(frameworkRepository, times(0)).findById(Mockito.anyLong());
+        verify(frameworkRepository, times(0)).saveAndFlush(Mockito.any(JavaScriptFramework.class));
+    }
+
+    @Test
+    @DisplayName("Trying to patch non existing framework. Should return empty Optional")
+    void testPatchFramework_frameworkNotFound() {
+        FrameworkPatchDto patch = new FrameworkPatchDto();
+        patch.setHypeLevel(HypeLevelEnum.GREAT);
+        Mockito.when(frameworkRepository.findById(9L)).thenReturn(Optional.empty());
+
+        Optional<JavaScriptFrameworkDto> result = frameworkService.patchFramework(9L, patch, null);
+
+        assertThat(result).isEmpty();
+        verify(frameworkNameService, times(0)).findIdByName(Mockito.anyString());
+        verify(frameworkRepository, times(0)).saveAndFlush(Mockito.any(JavaScriptFramework.class));
     }
 
     @Test
     @DisplayName("Finding frameworks by HypeLevel. Should return correct collection of JavaScriptFrameworkDtos")
     void testGetFrameworksByHype() {
-        Iterable<JavaScriptFramework> sensationalFrameworks = Arrays.asList(framework1, framework2);
-        Mockito.when(frameworkRepository.findAllByHypeLevel(HypeLevelEnum.SENSATIONAL)).thenReturn(sensationalFrameworks);
-        Mockito.when(frameworkMapper.entityToDto(Mockito.any(JavaScriptFramework.class))).thenReturn(frameworkDto);
+        Mockito.when(frameworkQueryRepository.findAllByHypeLevel(HypeLevelEnum.SENSATIONAL, EnumSet.allOf(FrameworkFieldEnum.class))).thenReturn(Arrays.asList(frameworkDto, frameworkDto));
 
-        Iterable<JavaScriptFrameworkDto> result = frameworkService.getFrameworksByHype("sensational");
+        Iterable<JavaScriptFrameworkDto> result = frameworkService.getFrameworksByHype("sensational", null);
 
-        assertThat(result).hasSameSizeAs(sensationalFrameworks);
         assertThat(result).hasSize(2);
         assertThat(result).contains(frameworkDto);
-        verify(frameworkMapper, times(2)).entityToDto(Mockito.any(JavaScriptFramework.class));
-        verify(frameworkRepository, times(1)).findAllByHypeLevel(HypeLevelEnum.SENSATIONAL);
+        verify(frameworkQueryRepository, times(1)).findAllByHypeLevel(HypeLevelEnum.SENSATIONAL, EnumSet.allOf(FrameworkFieldEnum.class));
     }
 
     @Test
     @DisplayName("Trying to find frameworks by HypeLevel when there are none. Should return empty Iterable")
     void testGetFrameworksByHype_NoFrameworksFound() {
-        Iterable<JavaScriptFramework> sensationalFrameworks = new ArrayList<>();
-        Mockito.when(frameworkRepository.findAllByHypeLevel(HypeLevelEnum.SENSATIONAL)).thenReturn(sensationalFrameworks);
-        Mockito.when(frameworkMapper.entityToDto(Mockito.any(JavaScriptFramework.class))).thenReturn(frameworkDto);
+        Mockito.when(frameworkQueryRepository.findAllByHypeLevel(HypeLevelEnum.SENSATIONAL, EnumSet.allOf(FrameworkFieldEnum.class))).thenReturn(new ArrayList<>());
 
-        Iterable<JavaScriptFrameworkDto> result = frameworkService.getFrameworksByHype("sensational");
+        Iterable<JavaScriptFrameworkDto> result = frameworkService.getFrameworksByHype("sensational", null);
 
-        assertThat(result).hasSameSizeAs(sensationalFrameworks);
         assertThat(result).hasSize(0);
-        assertThat(result).doesNotContain(frameworkDto);
-        verify(frameworkMapper, times(0)).entityToDto(Mockito.any(JavaScriptFramework.class));
-        verify(frameworkRepository, times(1)).findAllByHypeLevel(HypeLevelEnum.SENSATIONAL);
+        verify(frameworkQueryRepository, times(1)).findAllByHypeLevel(HypeLevelEnum.SENSATIONAL, EnumSet.allOf(FrameworkFieldEnum.class));
+    }
+
+    @Test
+    @DisplayName("Trying to find frameworks by unknown HypeLevel. Should return empty Iterable without query")
+    void testGetFrameworksByHype_unknownHypeLevel() {
+        Iterable<JavaScriptFrameworkDto> result = frameworkService.getFrameworksByHype("GOOD", null);
+
+        assertThat(result).isEmpty();
+        Mockito.verifyZeroInteractions(frameworkQueryRepository);
+    }
+
+    @Test
+    @DisplayName("Getting frameworks deprecating in range ending before it starts. Should return empty Optional without query")
+    void testGetFrameworksDeprecating_invertedRange() {
+        Date from = new Calendar.Builder().setDate(2021, 0, 1).build().getTime();
+        Date to = new Calendar.Builder().setDate(2020, 0, 1).build().getTime();
+
+        Optional<List<JavaScriptFrameworkDto>> result = frameworkService.getFrameworksDeprecating(from, to, null);
+
+        assertThat(result).isEmpty();
+        verify(frameworkQueryRepository, times(0)).findAllByDeprecationDate(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    /**
+     * Violation of the unique name constraint as H2 reports it
+     */
+    private static DataIntegrityViolationException nameTaken() {
+        return new DataIntegrityViolationException("Unique index or primary key violation",
+                new ConstraintViolationException("Unique index or primary key violation", new SQLException("Unique index or primary key violation", "23505"),
+                        "\"PUBLIC.UK_FRAMEWORK_NAME_INDEX_F ON PUBLIC.JAVA_SCRIPT_FRAMEWORK(NAME) VALUES ('React', 2)\""));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package com.etnetera.hr.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NameBloomFilterTest {
+
+    @Test
+    @DisplayName("Adding names up to capacity. Should contain all of them and few others, about the requested rate")
+    void testFalsePositiveRate() {
+        // given
+        NameBloomFilter filter = new NameBloomFilter(10_000, 0.01);
+
+        // when
+        IntStream.range(0, 10_000).forEach(i -> filter.add("Framework-" + i));
+        long falsePositives = IntStream.range(0, 100_000).filter(i -> filter.mightContain("Library-" + i)).count();
+
+        // then
+        assertThat(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("Framework-" + i))).isTrue();
+        assertThat(falsePositives).isBetween(1L, 2_000L);
+    }
+
+    @Test
+    @DisplayName("Checking names differing in case. Should tell them apart like the unique constraint does")
+    void testCaseSensitive() {
+        // given
+        NameBloomFilter filter = new NameBloomFilter(1024, 0.01);
+
+        // when
+        filter.add("jQuery");
+
+        // then
+        assertThat(filter.mightContain("jQuery")).isTrue();
+        assertThat(filter.mightContain("JQuery")).isFalse();
+        assertThat(filter.mightContain("jquery")).isFalse();
+    }
+}
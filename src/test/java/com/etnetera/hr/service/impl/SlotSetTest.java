@@ -0,0 +1,49 @@
+package com.etnetera.hr.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SlotSetTest {
+
+    @Test
+    @DisplayName("Adding and removing few scattered slots. Should keep exactly the remaining ones")
+    void testSparse() {
+        // given
+        SlotSet slots = new SlotSet();
+        IntStream.of(900_000, 7, 42, 7, 100_000, 3).forEach(slots::add);
+
+        // when
+        slots.remove(42);
+        slots.remove(5);
+        BitSet result = new BitSet();
+        slots.orInto(result);
+
+        // then
+        assertThat(result.stream()).containsExactly(3, 7, 100_000, 900_000);
+    }
+
+    @Test
+    @DisplayName("Adding dense slots and intersecting. Should give the same result as a bitmap")
+    void testDense() {
+        // given
+        SlotSet slots = new SlotSet();
+        IntStream.range(0, 1000).filter(slot -> slot % 3 == 0).forEach(slots::add);
+        BitSet target = new BitSet();
+        target.set(0, 2000);
+
+        // when
+        slots.remove(999);
+        slots.andInto(target);
+
+        // then
+        assertThat(target.cardinality()).isEqualTo(333);
+        assertThat(target.stream()).allMatch(slot -> slot % 3 == 0 && slot < 999);
+        IntStream.range(0, 1000).forEach(slots::remove);
+        assertThat(slots.isEmpty()).isTrue();
+    }
+}
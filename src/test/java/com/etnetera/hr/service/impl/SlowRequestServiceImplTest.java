@@ -0,0 +1,52 @@
+package com.etnetera.hr.service.impl;
+
+import com.etnetera.hr.config.FrameworkProperties;
+import com.etnetera.hr.dto.SlowRequestDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SlowRequestServiceImplTest {
+
+    private SlowRequestServiceImpl slowRequestService;
+
+    @BeforeEach
+    public void setUp() {
+        FrameworkProperties properties = new FrameworkProperties();
+        properties.getServerTiming().setSlowRequestCapacity(3);
+        slowRequestService = new SlowRequestServiceImpl(properties);
+    }
+
+    @Test
+    @DisplayName("Recording more slow requests than capacity. Should keep the most recent ones, the slowest first")
+    void testRingBuffer() {
+        // when
+        for (int i = 1; i <= 5; i++) {
+            slowRequestService.record(request("/frameworks/" + i, i % 2 == 0 ? 100 * i : 10 * i));
+        }
+
+        // then
+        assertThat(slowRequestService.getSlowRequests())
+                .extracting(SlowRequestDto::getUri)
+                .containsExactly("/frameworks/4", "/frameworks/5", "/frameworks/3");
+    }
+
+    @Test
+    @DisplayName("Clearing slow requests. Should forget all of them")
+    void testClear() {
+        // given
+        slowRequestService.record(request("/frameworks", 600));
+
+        // when
+        slowRequestService.clear();
+
+        // then
+        assertThat(slowRequestService.getSlowRequests()).isEmpty();
+    }
+
+    private static SlowRequestDto request(String uri, double durationMs) {
+        return SlowRequestDto.builder().method("GET").uri(uri).status(200).durationMs(durationMs).build();
+    }
+}
@@ -1,2 +1,3 @@
 DELETE FROM  JAVA_SCRIPT_FRAMEWORK_VERSIONS;
 DELETE FROM  JAVA_SCRIPT_FRAMEWORK;
+DELETE FROM  FRAMEWORK_CHANGE;